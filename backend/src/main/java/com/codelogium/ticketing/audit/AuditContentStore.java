@@ -0,0 +1,15 @@
+package com.codelogium.ticketing.audit;
+
+import java.util.Optional;
+
+import com.codelogium.ticketing.entity.AuditContent;
+
+public interface AuditContentStore {
+
+    boolean contains(String hash);
+
+    Optional<AuditContent> find(String hash);
+
+    // Stores the content unless an entry with the same hash already exists
+    void putIfAbsent(AuditContent content);
+}
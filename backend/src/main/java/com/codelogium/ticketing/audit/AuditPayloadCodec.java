@@ -0,0 +1,212 @@
+package com.codelogium.ticketing.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.codelogium.ticketing.entity.AuditContent;
+
+/*
+ * Turns long audit values into references to a deduplicated content store and
+ * back again.
+ *
+ * Values shorter than the inline threshold are kept as they are (status names,
+ * short comments). Longer values are replaced by "#h:<sha-256>". The referenced
+ * content is stored once, either as a full body (deflated when that pays off) or,
+ * for edits, as a delta against the previous text: common prefix and suffix
+ * lengths plus the replaced middle.
+ *
+ * Inline values are stored verbatim, so entries written before compaction read
+ * back unchanged. A short value that happens to look like a reference is stored
+ * as content too, and a reference-shaped value with no stored content can only
+ * be such an older entry, so it is returned as it is.
+ */
+public class AuditPayloadCodec {
+
+    static final String REFERENCE_PREFIX = "#h:";
+    private static final int HASH_LENGTH = 64;
+
+    private final AuditContentStore contentStore;
+    private final int inlineThreshold;
+    private final int compressThreshold;
+    private final int maxDeltaDepth;
+
+    public AuditPayloadCodec(AuditContentStore contentStore, int inlineThreshold, int compressThreshold,
+            int maxDeltaDepth) {
+        this.contentStore = contentStore;
+        this.inlineThreshold = Math.max(inlineThreshold, REFERENCE_PREFIX.length() + HASH_LENGTH);
+        this.compressThreshold = compressThreshold;
+        this.maxDeltaDepth = maxDeltaDepth;
+    }
+
+    // base is the text this value replaced (old comment body), used to store edits as deltas
+    public String compact(String value, String base) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        if (value.length() < inlineThreshold && !isReference(value)) {
+            return value;
+        }
+
+        String hash = hash(value);
+        if (!contentStore.contains(hash)) {
+            contentStore.putIfAbsent(encode(hash, value, base));
+        }
+        return REFERENCE_PREFIX + hash;
+    }
+
+    // resolved caches reconstructed texts by hash for the duration of one read
+    public String expand(String value, Map<String, String> resolved) {
+        if (value == null || !isReference(value)) {
+            return value;
+        }
+        String hash = value.substring(REFERENCE_PREFIX.length());
+        return resolved.containsKey(hash) || contentStore.contains(hash) ? resolve(hash, resolved) : value;
+    }
+
+    private static boolean isReference(String value) {
+        if (value.length() != REFERENCE_PREFIX.length() + HASH_LENGTH || !value.startsWith(REFERENCE_PREFIX)) {
+            return false;
+        }
+        for (int i = REFERENCE_PREFIX.length(); i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String resolve(String hash, Map<String, String> resolved) {
+        String text = resolved.get(hash);
+        if (text != null) {
+            return text;
+        }
+        AuditContent content = contentStore.find(hash)
+                .orElseThrow(() -> new IllegalStateException("Audit content " + hash + " is missing"));
+        text = content.getBaseHash() == null
+                ? decodeFull(content)
+                : applyDelta(resolve(content.getBaseHash(), resolved), content.getData());
+        resolved.put(hash, text);
+        return text;
+    }
+
+    private AuditContent encode(String hash, String value, String base) {
+        AuditContent full = encodeFull(hash, value);
+        if (base == null || base.length() < inlineThreshold) {
+            return full;
+        }
+
+        String baseHash = hash(base);
+        Optional<AuditContent> baseContent = contentStore.find(baseHash);
+        if (baseContent.isEmpty() || baseContent.get().getDepth() >= maxDeltaDepth) {
+            return full;
+        }
+
+        byte[] delta = diff(base, value);
+        return delta.length < full.getData().length
+                ? new AuditContent(hash, baseHash, baseContent.get().getDepth() + 1, false, value.length(), delta)
+                : full;
+    }
+
+    private AuditContent encodeFull(String hash, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= compressThreshold) {
+            byte[] deflated = deflate(bytes);
+            if (deflated.length < bytes.length) {
+                return new AuditContent(hash, null, 0, true, value.length(), deflated);
+            }
+        }
+        return new AuditContent(hash, null, 0, false, value.length(), bytes);
+    }
+
+    private static String decodeFull(AuditContent content) {
+        byte[] bytes = content.isCompressed() ? inflate(content.getData()) : content.getData();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Delta layout: int prefix, int suffix, UTF-8 replacement for the middle
+    static byte[] diff(String base, String value) {
+        int max = Math.min(base.length(), value.length());
+        int prefix = 0;
+        while (prefix < max && base.charAt(prefix) == value.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix > 0 && Character.isHighSurrogate(value.charAt(prefix - 1))) {
+            prefix--; // never split a surrogate pair
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && base.charAt(base.length() - 1 - suffix) == value.charAt(value.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(value.charAt(value.length() - suffix))) {
+            suffix--;
+        }
+
+        byte[] middle = value.substring(prefix, value.length() - suffix).getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(8 + middle.length).putInt(prefix).putInt(suffix).put(middle).array();
+    }
+
+    static String applyDelta(String base, byte[] delta) {
+        ByteBuffer buffer = ByteBuffer.wrap(delta);
+        int prefix = buffer.getInt();
+        int suffix = buffer.getInt();
+        String middle = new String(delta, 8, delta.length - 8, StandardCharsets.UTF_8);
+        return base.substring(0, prefix) + middle + base.substring(base.length() - suffix);
+    }
+
+    static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated audit content");
+                }
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted audit content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.codelogium.ticketing.audit;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import com.codelogium.ticketing.entity.AuditLog;
+
+/*
+ * One memory-mapped, preallocated segment of the audit log.
+ *
+ * Record layout (big endian):
+ *   int    length        total record size, written last so a torn record reads as 0
+ *   int    crc           CRC32 of every byte after this field
+ *   long   sequence
+ *   long   ticketId      Long.MIN_VALUE when null
+ *   long   commentId     Long.MIN_VALUE when null
+ *   long   userId        Long.MIN_VALUE when null
+ *   long   timestamp     epoch millis
+ *   short  actionLength
+ *   int    oldLength     -1 when null
+ *   int    newLength     -1 when null
+ *   bytes  action, oldValue, newValue (UTF-8)
+ *
+ * Each segment keeps a sparse index of the ticket and comment ids it holds plus
+ * its timestamp range, so reads can skip segments that cannot match.
+ */
+final class AuditSegment {
+
+    static final int HEADER_SIZE = 4 + 4 + 8 * 5 + 2 + 4 + 4;
+    private static final long NULL_ID = Long.MIN_VALUE;
+
+    private final Path path;
+    private final long baseSequence;
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private volatile int writePosition;
+    private volatile long lastSequence;
+    // Range of the record timestamps, which need not follow append order
+    private volatile long minTimestamp = Long.MAX_VALUE;
+    private volatile long maxTimestamp = Long.MIN_VALUE;
+
+    // Mutable while the segment is active, frozen into sorted arrays once sealed. The sets are only dropped
+    // after the arrays are published, so a reader that finds a set null always finds the array
+    private volatile Set<Long> activeTicketIds = ConcurrentHashMap.newKeySet();
+    private volatile Set<Long> activeCommentIds = ConcurrentHashMap.newKeySet();
+    private volatile long[] sealedTicketIds;
+    private volatile long[] sealedCommentIds;
+
+    private AuditSegment(Path path, long baseSequence, RandomAccessFile file, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.lastSequence = baseSequence - 1;
+    }
+
+    static AuditSegment create(Path path, long baseSequence, int segmentSize) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        file.setLength(segmentSize);
+        MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new AuditSegment(path, baseSequence, file, buffer);
+    }
+
+    // Re-maps an existing segment and rebuilds its index, dropping any torn tail
+    static AuditSegment open(Path path, long baseSequence) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+        AuditSegment segment = new AuditSegment(path, baseSequence, file, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getBaseSequence() {
+        return baseSequence;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    boolean isSealed() {
+        return sealedTicketIds != null;
+    }
+
+    /*
+     * Appends a record at the current write position. Returns false when the
+     * record does not fit so the caller can roll to a new segment. Callers must
+     * serialize appends.
+     */
+    boolean tryAppend(long sequence, AuditLog entry, byte[] action, byte[] oldValue, byte[] newValue) {
+        int length = HEADER_SIZE + action.length + lengthOf(oldValue) + lengthOf(newValue);
+        int start = writePosition;
+        if (length > capacity - start) {
+            return false;
+        }
+
+        long timestamp = entry.getTimestamp().toEpochMilli();
+        int index = start + 8;
+        buffer.putLong(index, sequence);
+        buffer.putLong(index + 8, idOrNull(entry.getTicketId()));
+        buffer.putLong(index + 16, idOrNull(entry.getCommentId()));
+        buffer.putLong(index + 24, idOrNull(entry.getUserId()));
+        buffer.putLong(index + 32, timestamp);
+        buffer.putShort(index + 40, (short) action.length);
+        buffer.putInt(index + 42, oldValue == null ? -1 : oldValue.length);
+        buffer.putInt(index + 46, newValue == null ? -1 : newValue.length);
+        index = start + HEADER_SIZE;
+        buffer.put(index, action);
+        index += action.length;
+        if (oldValue != null) {
+            buffer.put(index, oldValue);
+            index += oldValue.length;
+        }
+        if (newValue != null) {
+            buffer.put(index, newValue);
+        }
+
+        buffer.putInt(start + 4, checksum(start, length));
+        buffer.putInt(start, length); // commit marker
+
+        indexRecord(sequence, entry.getTicketId(), entry.getCommentId(), timestamp);
+        writePosition = start + length;
+        return true;
+    }
+
+    boolean mayContainTicket(long ticketId) {
+        Set<Long> active = activeTicketIds;
+        return active != null ? active.contains(ticketId) : Arrays.binarySearch(sealedTicketIds, ticketId) >= 0;
+    }
+
+    boolean mayContainComment(long commentId) {
+        Set<Long> active = activeCommentIds;
+        return active != null ? active.contains(commentId) : Arrays.binarySearch(sealedCommentIds, commentId) >= 0;
+    }
+
+    // Whether any record is stamped from fromMillis (inclusive) to toMillis (exclusive)
+    boolean mayContainBetween(long fromMillis, long toMillis) {
+        return minTimestamp < toMillis && maxTimestamp >= fromMillis;
+    }
+
+    // Scans the published part of the segment and collects matching records in append order
+    void scan(Predicate<AuditLog> filter, List<AuditLog> results) {
+        int end = writePosition;
+        int position = 0;
+        while (position < end) {
+            int length = buffer.getInt(position);
+            AuditLog entry = decode(position);
+            if (filter.test(entry)) {
+                results.add(entry);
+            }
+            position += length;
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    // Forces the segment and freezes its id index into compact sorted arrays
+    void seal() {
+        force();
+        sealedTicketIds = toSortedArray(activeTicketIds);
+        sealedCommentIds = toSortedArray(activeCommentIds);
+        activeTicketIds = null;
+        activeCommentIds = null;
+    }
+
+    void close() throws IOException {
+        file.close();
+    }
+
+    private void recover() {
+        int position = 0;
+        while (position + HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length < HEADER_SIZE || length > capacity - position
+                    || buffer.getInt(position + 4) != checksum(position, length)) {
+                break;
+            }
+            AuditLog entry = decode(position);
+            indexRecord(entry.getId(), entry.getTicketId(), entry.getCommentId(), entry.getTimestamp().toEpochMilli());
+            position += length;
+        }
+        // Zero whatever follows the last valid record so a torn write can never resurface
+        for (int i = position; i < capacity; i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        writePosition = position;
+    }
+
+    private void indexRecord(long sequence, Long ticketId, Long commentId, long timestamp) {
+        if (ticketId != null) {
+            activeTicketIds.add(ticketId);
+        }
+        if (commentId != null) {
+            activeCommentIds.add(commentId);
+        }
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        lastSequence = sequence;
+    }
+
+    private AuditLog decode(int start) {
+        int index = start + 8;
+        long sequence = buffer.getLong(index);
+        Long ticketId = nullableId(buffer.getLong(index + 8));
+        Long commentId = nullableId(buffer.getLong(index + 16));
+        Long userId = nullableId(buffer.getLong(index + 24));
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong(index + 32));
+        int actionLength = buffer.getShort(index + 40);
+        int oldLength = buffer.getInt(index + 42);
+        int newLength = buffer.getInt(index + 46);
+
+        index = start + HEADER_SIZE;
+        String action = readString(index, actionLength);
+        index += actionLength;
+        String oldValue = readString(index, oldLength);
+        index += Math.max(oldLength, 0);
+        String newValue = readString(index, newLength);
+
+        return new AuditLog(sequence, ticketId, commentId, userId, action, oldValue, newValue, timestamp);
+    }
+
+    private String readString(int index, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int checksum(int start, int length) {
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.slice(start + 8, length - 8);
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static int lengthOf(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static long idOrNull(Long id) {
+        return id == null ? NULL_ID : id;
+    }
+
+    private static Long nullableId(long id) {
+        return id == NULL_ID ? null : id;
+    }
+
+    private static long[] toSortedArray(Set<Long> ids) {
+        long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+}
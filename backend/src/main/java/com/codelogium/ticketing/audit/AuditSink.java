@@ -0,0 +1,45 @@
+package com.codelogium.ticketing.audit;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import com.codelogium.ticketing.entity.AuditLog;
+
+/*
+ * Destination for audit entries written by the ticket and comment services.
+ * The JPA backed sink is the default, the segmented file sink can be selected
+ * with app.audit.sink=file for deployments where audit volume should stay out
+ * of the relational database.
+ */
+public interface AuditSink {
+
+    // Qualifier of the storage-level sink that decorators such as CompactingAuditSink wrap
+    String RAW_SINK = "rawAuditSink";
+
+    AuditLog append(AuditLog entry);
+
+    default List<AuditLog> appendAll(List<AuditLog> entries) {
+        return entries.stream().map(this::append).toList();
+    }
+
+    List<AuditLog> findByTicketId(Long ticketId);
+
+    List<AuditLog> findByCommentId(Long commentId);
+
+    // Entries of the ticket stamped from (inclusive) to (exclusive)
+    default List<AuditLog> findByTicketIdBetween(Long ticketId, Instant from, Instant to) {
+        return findByTicketId(ticketId).stream()
+                .filter(entry -> !entry.getTimestamp().isBefore(from) && entry.getTimestamp().isBefore(to))
+                .toList();
+    }
+
+    // Used when a user's data is purged, append-only sinks keep their history and report nothing removed
+    default int deleteByTicketIds(Collection<Long> ticketIds) {
+        return 0;
+    }
+
+    default int deleteByCommentIds(Collection<Long> commentIds) {
+        return 0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.codelogium.ticketing.audit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.config.AuditConfig;
+import com.codelogium.ticketing.entity.AuditLog;
+
+/*
+ * Wraps the configured sink so that long audit values (comment bodies) are
+ * written as references into the deduplicated content store, and rebuilt on
+ * read so the audit endpoints keep returning full values.
+ * The content store is a database table, so the file sink only uses it when
+ * app.audit.compaction.enabled is set explicitly.
+ */
+@Primary
+@Component
+@ConditionalOnExpression("${app.audit.compaction.enabled:'${app.audit.sink:jpa}' == 'jpa'}")
+public class CompactingAuditSink implements AuditSink {
+
+    private final AuditSink delegate;
+    private final AuditPayloadCodec codec;
+
+    @Autowired
+    public CompactingAuditSink(@Qualifier(RAW_SINK) AuditSink delegate, AuditContentStore contentStore,
+            AuditConfig auditConfig) {
+        this(delegate, new AuditPayloadCodec(contentStore,
+                auditConfig.getCompaction().getInlineThreshold(),
+                auditConfig.getCompaction().getCompressThreshold(),
+                auditConfig.getCompaction().getMaxDeltaDepth()));
+    }
+
+    public CompactingAuditSink(AuditSink delegate, AuditPayloadCodec codec) {
+        this.delegate = delegate;
+        this.codec = codec;
+    }
+
+    @Override
+    public AuditLog append(AuditLog entry) {
+        String oldValue = entry.getOldValue();
+        String newValue = entry.getNewValue();
+
+        entry.setOldValue(codec.compact(oldValue, null));
+        entry.setNewValue(codec.compact(newValue, oldValue)); // edits are stored as deltas against the old body
+
+        // The stored entry may be managed by JPA, hand back a copy rather than touching it
+        return withValues(delegate.append(entry), oldValue, newValue);
+    }
+
+    @Override
+    public List<AuditLog> appendAll(List<AuditLog> entries) {
+        List<String[]> values = entries.stream()
+                .map(entry -> new String[] { entry.getOldValue(), entry.getNewValue() })
+                .toList();
+        for (AuditLog entry : entries) {
+            String oldValue = entry.getOldValue();
+            entry.setOldValue(codec.compact(oldValue, null));
+            entry.setNewValue(codec.compact(entry.getNewValue(), oldValue));
+        }
+
+        List<AuditLog> stored = delegate.appendAll(entries);
+        List<AuditLog> results = new ArrayList<>(stored.size());
+        for (int i = 0; i < stored.size(); i++) {
+            results.add(withValues(stored.get(i), values.get(i)[0], values.get(i)[1]));
+        }
+        return results;
+    }
+
+    @Override
+    public List<AuditLog> findByTicketId(Long ticketId) {
+        return expand(delegate.findByTicketId(ticketId));
+    }
+
+    @Override
+    public List<AuditLog> findByCommentId(Long commentId) {
+        return expand(delegate.findByCommentId(commentId));
+    }
+
+    @Override
+    public List<AuditLog> findByTicketIdBetween(Long ticketId, Instant from, Instant to) {
+        return expand(delegate.findByTicketIdBetween(ticketId, from, to));
+    }
+
+    // Stored contents may be shared with other entries, so only the entries themselves are removed
+    @Override
+    public int deleteByTicketIds(Collection<Long> ticketIds) {
+        return delegate.deleteByTicketIds(ticketIds);
+    }
+
+    @Override
+    public int deleteByCommentIds(Collection<Long> commentIds) {
+        return delegate.deleteByCommentIds(commentIds);
+    }
+
+    private List<AuditLog> expand(List<AuditLog> entries) {
+        Map<String, String> resolved = new HashMap<>();
+        return entries.stream()
+                .map(entry -> withValues(entry, codec.expand(entry.getOldValue(), resolved),
+                        codec.expand(entry.getNewValue(), resolved)))
+                .toList();
+    }
+
+    private static AuditLog withValues(AuditLog entry, String oldValue, String newValue) {
+        return new AuditLog(entry.getId(), entry.getTicketId(), entry.getCommentId(), entry.getUserId(),
+                entry.getAction(), oldValue, newValue, entry.getTimestamp());
+    }
+}
@@ -0,0 +1,72 @@
+package com.codelogium.ticketing.audit;
+
+import java.sql.DatabaseMetaData;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codelogium.ticketing.entity.AuditContent;
+import com.codelogium.ticketing.repository.AuditContentRepository;
+
+import jakarta.persistence.EntityManager;
+
+@Component
+public class JpaAuditContentStore implements AuditContentStore {
+
+    // PostgreSQL skips a duplicate hash without raising, so a lost race never aborts the caller's transaction
+    private static final String UPSERT_POSTGRES = """
+            INSERT INTO audit_contents (hash, base_hash, depth, compressed, original_size, data)
+            VALUES (:hash, :baseHash, :depth, :compressed, :originalSize, :data)
+            ON CONFLICT (hash) DO NOTHING""";
+
+    private static final String UPSERT_PORTABLE = """
+            INSERT INTO audit_contents (hash, base_hash, depth, compressed, original_size, data)
+            SELECT :hash, :baseHash, :depth, :compressed, :originalSize, :data
+            WHERE NOT EXISTS (SELECT 1 FROM audit_contents WHERE hash = :hash)""";
+
+    private final AuditContentRepository auditContentRepository;
+    private final EntityManager entityManager;
+    private final String upsert;
+
+    public JpaAuditContentStore(AuditContentRepository auditContentRepository, EntityManager entityManager,
+            DataSource dataSource) throws MetaDataAccessException {
+        this.auditContentRepository = auditContentRepository;
+        this.entityManager = entityManager;
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.upsert = "PostgreSQL".equals(database) ? UPSERT_POSTGRES : UPSERT_PORTABLE;
+    }
+
+    @Override
+    public boolean contains(String hash) {
+        return auditContentRepository.existsById(hash);
+    }
+
+    @Override
+    public Optional<AuditContent> find(String hash) {
+        return auditContentRepository.findById(hash);
+    }
+
+    /*
+     * Joins the caller's transaction, so the content commits or rolls back with
+     * the audit entry that references it and no second connection is taken.
+     * Content is immutable, so a row another writer stored under the same hash
+     * is exactly the one we wanted.
+     */
+    @Override
+    @Transactional
+    public void putIfAbsent(AuditContent content) {
+        entityManager.createNativeQuery(upsert)
+                .setParameter("hash", content.getHash())
+                .setParameter("baseHash", content.getBaseHash())
+                .setParameter("depth", content.getDepth())
+                .setParameter("compressed", content.isCompressed())
+                .setParameter("originalSize", content.getOriginalSize())
+                .setParameter("data", content.getData())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,57 @@
+package com.codelogium.ticketing.audit;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.entity.AuditLog;
+import com.codelogium.ticketing.repository.AuditLogRepository;
+
+import lombok.AllArgsConstructor;
+
+@Component
+@Qualifier(AuditSink.RAW_SINK)
+@AllArgsConstructor
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "jpa", matchIfMissing = true)
+public class JpaAuditSink implements AuditSink {
+
+    private AuditLogRepository auditLogRepository;
+
+    @Override
+    public AuditLog append(AuditLog entry) {
+        AuditLog saved = auditLogRepository.save(entry);
+        auditLogRepository.flush(); // Ensure immediate persistence
+        return saved;
+    }
+
+    // One transaction and one flush for the whole batch
+    @Override
+    public List<AuditLog> appendAll(List<AuditLog> entries) {
+        List<AuditLog> saved = auditLogRepository.saveAll(entries);
+        auditLogRepository.flush();
+        return saved;
+    }
+
+    @Override
+    public List<AuditLog> findByTicketId(Long ticketId) {
+        return auditLogRepository.findByTicketId(ticketId);
+    }
+
+    @Override
+    public List<AuditLog> findByCommentId(Long commentId) {
+        return auditLogRepository.findByCommentId(commentId);
+    }
+
+    @Override
+    public int deleteByTicketIds(Collection<Long> ticketIds) {
+        return auditLogRepository.deleteByTicketIdIn(ticketIds);
+    }
+
+    @Override
+    public int deleteByCommentIds(Collection<Long> commentIds) {
+        return auditLogRepository.deleteByCommentIdIn(commentIds);
+    }
+}
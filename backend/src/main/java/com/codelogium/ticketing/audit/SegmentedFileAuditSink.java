@@ -0,0 +1,331 @@
+package com.codelogium.ticketing.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.codelogium.ticketing.config.AuditConfig;
+import com.codelogium.ticketing.entity.AuditLog;
+import com.codelogium.ticketing.util.BackgroundThreads;
+
+/*
+ * Append-only audit store made of memory-mapped segment files.
+ *
+ * Appends are serialized into the active segment and the caller then waits for
+ * the next group commit: a single flusher thread forces the mapped pages every
+ * commit interval and releases every writer whose record is covered, so one
+ * fsync is shared by all appends that arrived within the window. A failed
+ * force is handed to the waiting writers, and a writer gives up after the
+ * commit timeout, so a broken disk fails requests instead of hanging them.
+ *
+ * Inside a database transaction the entries are only written once it has
+ * committed, so a rollback leaves no audit behind, and the caller does not
+ * wait for the fsync: that would hold its pooled connection for up to the
+ * commit timeout. Such entries become durable with the next group commit, so
+ * a crash within one commit interval of the change can lose its audit.
+ */
+@Component
+@Qualifier(AuditSink.RAW_SINK)
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "file")
+public class SegmentedFileAuditSink implements AuditSink, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedFileAuditSink.class);
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String THREAD_NAME = "audit-flusher";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitTimeoutNanos;
+
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition committed = commitLock.newCondition();
+    private final ScheduledExecutorService flusher;
+
+    // Replaced under appendLock, read by the flusher without it
+    private volatile AuditSegment active;
+    private long nextSequence;
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    // Last failed force and the highest sequence it covered, those writers fail; guarded by commitLock
+    private RuntimeException commitFailure;
+    private long failedSequence;
+
+    @Autowired
+    public SegmentedFileAuditSink(AuditConfig auditConfig, BackgroundThreads backgroundThreads) throws IOException {
+        this(Path.of(auditConfig.getFile().getDirectory()), auditConfig.getFile().getSegmentSize(),
+                auditConfig.getFile().getCommitIntervalMs(), auditConfig.getFile().getCommitTimeoutMs(),
+                backgroundThreads.factory(THREAD_NAME));
+    }
+
+    public SegmentedFileAuditSink(Path directory, int segmentSize, long commitIntervalMs, long commitTimeoutMs)
+            throws IOException {
+        this(directory, segmentSize, commitIntervalMs, commitTimeoutMs, BackgroundThreads.platform(THREAD_NAME));
+    }
+
+    private SegmentedFileAuditSink(Path directory, int segmentSize, long commitIntervalMs, long commitTimeoutMs,
+            ThreadFactory threadFactory) throws IOException {
+        if (segmentSize <= AuditSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("Audit segment size is too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(commitTimeoutMs);
+
+        Files.createDirectories(directory);
+        recoverSegments();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        flusher.scheduleWithFixedDelay(this::groupCommit, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public AuditLog append(AuditLog entry) {
+        appendAll(List.of(entry));
+        return entry;
+    }
+
+    @Override
+    public List<AuditLog> appendAll(List<AuditLog> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<AuditLog> pending = List.copyOf(entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        writeAll(pending);
+                    } catch (RuntimeException e) {
+                        // The change is already committed, failing the caller now would not undo it
+                        logger.error("Failed to write {} audit entries of a committed transaction: {}",
+                                pending.size(), e.getMessage(), e);
+                    }
+                }
+            });
+            return entries;
+        }
+        awaitDurable(writeAll(entries));
+        return entries;
+    }
+
+    @Override
+    public List<AuditLog> findByTicketId(Long ticketId) {
+        List<AuditLog> results = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            if (segment.mayContainTicket(ticketId)) {
+                segment.scan(entry -> ticketId.equals(entry.getTicketId()), results);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<AuditLog> findByTicketIdBetween(Long ticketId, Instant from, Instant to) {
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        List<AuditLog> results = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            if (segment.mayContainTicket(ticketId) && segment.mayContainBetween(fromMillis, toMillis)) {
+                segment.scan(entry -> ticketId.equals(entry.getTicketId())
+                        && !entry.getTimestamp().isBefore(from) && entry.getTimestamp().isBefore(to), results);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public List<AuditLog> findByCommentId(Long commentId) {
+        List<AuditLog> results = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            if (segment.mayContainComment(commentId)) {
+                segment.scan(entry -> commentId.equals(entry.getCommentId()), results);
+            }
+        }
+        return results;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    // Number of segments a ticket lookup would actually scan
+    public long countSegmentsForTicket(Long ticketId) {
+        return segments.stream().filter(segment -> segment.mayContainTicket(ticketId)).count();
+    }
+
+    // Number of segments a time-bounded ticket lookup would actually scan
+    public long countSegmentsForTicket(Long ticketId, Instant from, Instant to) {
+        return segments.stream().filter(segment -> segment.mayContainTicket(ticketId)
+                && segment.mayContainBetween(from.toEpochMilli(), to.toEpochMilli())).count();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        flusher.shutdown();
+        groupCommit();
+        for (AuditSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private void groupCommit() {
+        // Read the target before the active segment: anything sealed meanwhile was forced by roll()
+        long target = appendedSequence;
+        if (target <= durableSequence) {
+            return;
+        }
+        RuntimeException failure = null;
+        try {
+            active.force();
+        } catch (RuntimeException e) {
+            logger.error("Failed to force audit segment: {}", e.getMessage(), e);
+            failure = e;
+        }
+        commitLock.lock();
+        try {
+            if (failure == null) {
+                durableSequence = target;
+            } else {
+                commitFailure = failure;
+                failedSequence = target;
+            }
+            committed.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        commitLock.lock();
+        try {
+            long remaining = commitTimeoutNanos;
+            while (durableSequence < sequence) {
+                if (failedSequence >= sequence) {
+                    throw new IllegalStateException("Audit entry " + sequence + " could not be forced to disk",
+                            commitFailure);
+                }
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Audit entry " + sequence + " was not committed within "
+                            + TimeUnit.NANOSECONDS.toMillis(commitTimeoutNanos) + " ms");
+                }
+                remaining = committed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for audit commit", e);
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    // Writes the whole batch first so a single group commit covers it
+    private long writeAll(List<AuditLog> entries) {
+        long last = 0;
+        for (AuditLog entry : entries) {
+            last = write(entry);
+        }
+        return last;
+    }
+
+    private long write(AuditLog entry) {
+        if (entry.getTimestamp() == null) {
+            entry.setTimestamp(Instant.now());
+        }
+        byte[] action = encode(Objects.requireNonNull(entry.getAction(), "Audit action cannot be null"));
+        byte[] oldValue = encode(entry.getOldValue());
+        byte[] newValue = encode(entry.getNewValue());
+
+        long sequence;
+        appendLock.lock();
+        try {
+            sequence = nextSequence;
+            if (!active.tryAppend(sequence, entry, action, oldValue, newValue)) {
+                roll();
+                if (!active.tryAppend(sequence, entry, action, oldValue, newValue)) {
+                    throw new IllegalArgumentException("Audit entry does not fit in a segment of " + segmentSize
+                            + " bytes");
+                }
+            }
+            nextSequence++;
+            appendedSequence = sequence;
+        } finally {
+            appendLock.unlock();
+        }
+        entry.setId(sequence);
+        return sequence;
+    }
+
+    // Called with appendLock held
+    private void roll() {
+        active.seal();
+        try {
+            active = AuditSegment.create(segmentPath(nextSequence), nextSequence, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create audit segment", e);
+        }
+        segments.add(active);
+    }
+
+    private void recoverSegments() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+
+        for (Path path : paths) {
+            AuditSegment segment = AuditSegment.open(path, baseSequenceOf(path));
+            if (!segments.isEmpty()) {
+                segments.get(segments.size() - 1).seal();
+            }
+            segments.add(segment);
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(AuditSegment.create(segmentPath(1), 1, segmentSize));
+        }
+        active = segments.get(segments.size() - 1);
+        nextSequence = Math.max(active.getBaseSequence(), active.getLastSequence() + 1);
+        appendedSequence = nextSequence - 1;
+        durableSequence = nextSequence - 1;
+
+        logger.info("Audit log opened at {} with {} segment(s), next sequence {}", directory, segments.size(),
+                nextSequence);
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return directory.resolve(String.format("%020d%s", baseSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long baseSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.codelogium.ticketing.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.datasource.ReadRouting;
+import com.codelogium.ticketing.dto.AgentView;
+import com.codelogium.ticketing.dto.SupportAgentDTO;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEventType;
+import com.codelogium.ticketing.repository.UserRepository;
+
+/*
+ * In-memory list of the users the assignment dropdowns offer.
+ *
+ * The directory is an immutable snapshot tagged with a version. A USER_CHANGED
+ * event bumps the version when the user is in the snapshot (an agent changed or
+ * was deleted) or now holds an agent role (an agent was created or promoted);
+ * changes to other users leave it alone. The next read rebuilds the snapshot
+ * with one projection query, every other read is served from memory.
+ */
+@Component
+public class AgentDirectory {
+
+    private static final List<UserRole> AGENT_ROLES = List.of(UserRole.SUPPORT_AGENT, UserRole.ADMIN);
+
+    private final UserRepository userRepository;
+    private final AtomicLong version = new AtomicLong(1);
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(0, List.of(), List.of(), Set.of());
+
+    public AgentDirectory(UserRepository userRepository, ChangeEventBus changeEventBus) {
+        this.userRepository = userRepository;
+        changeEventBus.subscribe(event -> {
+            if (event.type() == TicketEventType.USER_CHANGED) {
+                userChanged(event.actorId());
+            }
+        });
+    }
+
+    // Support agents and admins
+    public List<SupportAgentDTO> staff() {
+        return current().staff();
+    }
+
+    public List<SupportAgentDTO> supportAgents() {
+        return current().supportAgents();
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current.version() == version.get() ? current : rebuild();
+    }
+
+    // One rebuild at a time, the callers that queued behind it get its result. A lock rather than
+    // synchronized, so a virtual thread waiting on the query does not pin its carrier
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            long target = version.get();
+            if (snapshot.version() == target) {
+                return snapshot;
+            }
+            List<AgentView> agents = ReadRouting.onPrimary(() -> userRepository.findAgentViews(AGENT_ROLES));
+            List<SupportAgentDTO> staff = new ArrayList<>(agents.size());
+            List<SupportAgentDTO> supportAgents = new ArrayList<>(agents.size());
+            Set<Long> ids = new HashSet<>(agents.size() * 2);
+            for (AgentView agent : agents) {
+                SupportAgentDTO dto = new SupportAgentDTO(agent.id(), agent.email());
+                staff.add(dto);
+                if (agent.role() == UserRole.SUPPORT_AGENT) {
+                    supportAgents.add(dto);
+                }
+                ids.add(agent.id());
+            }
+            // A change during the query leaves the version ahead, so the next read rebuilds again
+            snapshot = new Snapshot(target, Collections.unmodifiableList(staff),
+                    Collections.unmodifiableList(supportAgents), Collections.unmodifiableSet(ids));
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void userChanged(Long userId) {
+        if (snapshot.ids().contains(userId)
+                || ReadRouting.onPrimary(() -> userRepository.findSnapshotById(userId))
+                        .filter(user -> AGENT_ROLES.contains(user.getRole())).isPresent()) {
+            version.incrementAndGet();
+        }
+    }
+
+    private record Snapshot(long version, List<SupportAgentDTO> staff, List<SupportAgentDTO> supportAgents,
+            Set<Long> ids) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.codelogium.ticketing.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.config.TicketCacheConfig;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/*
+ * Near-cache of serialized ticket details (GET /tickets/{id}), bounded by size in bytes.
+ *
+ * Each entry is the JSON of one TicketDTO together with the ticket version it
+ * was rendered from, the creator id the caller's permissions are checked
+ * against and the ids of the users rendered into it. Mutations in
+ * TicketServiceImp evict the ticket at once; the change event they publish
+ * evicts it again on every node after commit, unless the cached copy is already
+ * at or past the event's version. Comment changes evict through their events,
+ * and USER_CHANGED drops the entries that render that user, since user emails
+ * and roles are part of the JSON.
+ */
+@Component
+public class TicketDetailCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Entry> byId;
+    // Bumped by every invalidation, lets a load tell whether it may be stale
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TicketDetailCache(ObjectMapper objectMapper, TicketCacheConfig config, ChangeEventBus changeEventBus) {
+        this.objectMapper = objectMapper;
+        this.byId = Caffeine.newBuilder()
+                .maximumWeight(config.getMaximumBytes())
+                .weigher((Long id, Entry entry) -> entry.json().length)
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        changeEventBus.subscribe(this::changed);
+    }
+
+    public Entry get(Long ticketId, Function<Long, Entry> loader) {
+        Entry cached = byId.getIfPresent(ticketId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        Entry loaded = loader.apply(ticketId);
+        // An invalidation during the load may have been for this ticket, then it is not cached
+        byId.asMap().compute(ticketId, (id, current) -> invalidations.get() != generation ? current
+                : current != null && current.version() >= loaded.version() ? current : loaded);
+        return loaded;
+    }
+
+    // userIds are the users whose details appear in the dto, a change to any of them evicts the entry
+    public Entry encode(long version, Long creatorId, Collection<Long> userIds, Object dto) {
+        try {
+            return new Entry(version, creatorId, Set.copyOf(userIds), objectMapper.writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ticket " + dto, e);
+        }
+    }
+
+    // Call from every path that changes or deletes a ticket, before it commits
+    public void evict(Long ticketId) {
+        invalidations.incrementAndGet();
+        byId.invalidate(ticketId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "tickets.detail");
+        Gauge.builder("cache.hit.ratio", byId, cache -> cache.stats().hitRate())
+                .tag("cache", "tickets.detail")
+                .register(registry);
+    }
+
+    private void changed(TicketEvent event) {
+        if (event.type() == TicketEventType.USER_CHANGED) {
+            invalidations.incrementAndGet();
+            if (event.actorId() == null) {
+                byId.invalidateAll();
+            } else {
+                byId.asMap().values().removeIf(cached -> cached.userIds().contains(event.actorId()));
+            }
+        } else if (event.ticketId() != null) {
+            invalidations.incrementAndGet();
+            byId.asMap().computeIfPresent(event.ticketId(), (id, cached) -> event.version() != null
+                    && cached.version() >= event.version() ? cached : null);
+        }
+    }
+
+    public record Entry(long version, Long creatorId, Set<Long> userIds, byte[] json) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.codelogium.ticketing.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/*
+ * JSON and CBOR writers that serialize only the selected TicketDTO properties,
+ * one per field set and format. The filter is attached through a mix-in on
+ * copies of the application's mappers, so every other response keeps the
+ * plain DTO. Jackson caches the serializers per writer, which is why the
+ * writers are kept instead of being built per request.
+ */
+@Component
+public class TicketFieldWriters {
+
+    private static final String FILTER = "ticketFields";
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    // At most one entry per subset of TicketField and format
+    private final Map<Set<TicketField>, ObjectWriter> jsonWriters = new ConcurrentHashMap<>();
+    private final Map<Set<TicketField>, ObjectWriter> cborWriters = new ConcurrentHashMap<>();
+
+    public TicketFieldWriters(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.jsonMapper = objectMapper.copy().addMixIn(TicketDTO.class, TicketFieldsMixIn.class);
+        this.cborMapper = cborConverter.getObjectMapper().copy().addMixIn(TicketDTO.class, TicketFieldsMixIn.class);
+    }
+
+    // Writes the value as JSON or CBOR, TicketDTOs anywhere inside it are limited to the fields
+    public byte[] write(Object value, Set<TicketField> fields, MediaType format) {
+        try {
+            ObjectWriter writer = MediaType.APPLICATION_CBOR.equals(format)
+                    ? cborWriters.computeIfAbsent(fields, selected -> compile(cborMapper, selected))
+                    : jsonWriters.computeIfAbsent(fields, selected -> compile(jsonMapper, selected));
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Ticket fields could not be serialized", e);
+        }
+    }
+
+    private static ObjectWriter compile(ObjectMapper mapper, Set<TicketField> fields) {
+        String[] properties = fields.stream().map(TicketField::property).toArray(String[]::new);
+        return mapper.writer(new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+    }
+
+    @JsonFilter(FILTER)
+    private abstract static class TicketFieldsMixIn {
+    }
+}
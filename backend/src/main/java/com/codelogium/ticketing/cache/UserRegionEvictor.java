@@ -0,0 +1,41 @@
+package com.codelogium.ticketing.cache;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEventType;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Keeps the Hibernate second-level cache regions for users in step with user writes.
+ *
+ * Entity writes made through this node's session already update the regions;
+ * this covers the rest. Every user write path calls UserSnapshotCache.evict(),
+ * whose USER_CHANGED event reaches every node after commit, and each node then
+ * drops the user's entry and the cached email lookups. Rows changed by JDBC,
+ * bulk statements or another node are therefore never served from a stale entry.
+ */
+@Component
+public class UserRegionEvictor {
+
+    private final SessionFactory sessionFactory;
+
+    public UserRegionEvictor(EntityManagerFactory entityManagerFactory, ChangeEventBus changeEventBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        changeEventBus.subscribe(event -> {
+            if (event.type() == TicketEventType.USER_CHANGED) {
+                evict(event.actorId());
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(User.class, userId);
+        // A changed or deleted email would otherwise still resolve to the old id
+        cache.evictQueryRegion(User.QUERY_CACHE_REGION);
+    }
+}
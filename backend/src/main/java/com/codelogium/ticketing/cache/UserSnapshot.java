@@ -0,0 +1,30 @@
+package com.codelogium.ticketing.cache;
+
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.ToString;
+import lombok.Value;
+
+/*
+ * Immutable copy of the user columns needed to authenticate and authorize a
+ * request. It is safe to share between threads and outlives the persistence
+ * context, unlike the User entity with its lazy collections.
+ */
+@Value
+public class UserSnapshot {
+    Long id;
+    String email;
+    UserRole role;
+    boolean emailVerified;
+
+    @JsonIgnore
+    @ToString.Exclude
+    String password; // bcrypt hash, only read by the authentication manager
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getRole(), user.isEmailVerified(),
+                user.getPassword());
+    }
+}
@@ -0,0 +1,120 @@
+package com.codelogium.ticketing.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.datasource.ReadRouting;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/*
+ * Read-through cache of user snapshots, by id and by email.
+ *
+ * Snapshots live in the id cache. The email cache only maps an email to an id and
+ * is checked against the snapshot it leads to, so invalidating a user is a single
+ * key removal. Writers call evict(), which drops the local entry at once and
+ * publishes USER_CHANGED on the change event bus; every node (this one included)
+ * drops it again once the change commits, before which a concurrent read could
+ * have reloaded the old row. Entries also expire after the configured TTL.
+ */
+@Component
+public class UserSnapshotCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final ChangeEventBus changeEventBus;
+    private final Cache<Long, UserSnapshot> byId;
+    private final Cache<String, Long> idsByEmail;
+    // Bumped by every invalidation, lets a load by email tell whether it may be stale
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserSnapshotCache(UserRepository userRepository, UserCacheConfig config, ChangeEventBus changeEventBus) {
+        this.userRepository = userRepository;
+        this.changeEventBus = changeEventBus;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .recordStats()
+                .build();
+        changeEventBus.subscribe(event -> {
+            if (event.type() == TicketEventType.USER_CHANGED) {
+                invalidate(event.actorId());
+            }
+        });
+    }
+
+    // Unknown users are not cached, so a registration is visible at once. Loads read the
+    // primary, a replica that lags behind an eviction would put the old row back
+    public Optional<UserSnapshot> findById(Long userId) {
+        return Optional.ofNullable(byId.get(userId,
+                id -> ReadRouting.onPrimary(() -> userRepository.findSnapshotById(id).orElse(null))));
+    }
+
+    public Optional<UserSnapshot> findByEmail(String email) {
+        Long userId = idsByEmail.getIfPresent(email);
+        if (userId != null) {
+            Optional<UserSnapshot> snapshot = findById(userId);
+            if (snapshot.isPresent() && snapshot.get().getEmail().equals(email)) {
+                return snapshot;
+            }
+            // Deleted, or the email moved to another account
+            idsByEmail.invalidate(email);
+        }
+
+        long generation = invalidations.get();
+        Optional<UserSnapshot> loaded = ReadRouting.onPrimary(() -> userRepository.findSnapshotByEmail(email));
+        loaded.ifPresent(snapshot -> {
+            // An invalidation during the load may have been for this row, then it is not cached
+            byId.asMap().compute(snapshot.getId(),
+                    (id, cached) -> cached != null || invalidations.get() != generation ? cached : snapshot);
+            idsByEmail.put(email, snapshot.getId());
+        });
+        return loaded;
+    }
+
+    public boolean exists(Long userId) {
+        return findById(userId).isPresent();
+    }
+
+    // Call from every path that creates, changes or deletes a user row
+    public void evict(Long userId) {
+        invalidate(userId);
+        changeEventBus.publish(new TicketEvent(TicketEventType.USER_CHANGED, null, null, null, null, null, null, userId,
+                Instant.now(), null));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(registry, idsByEmail, "users.by-email");
+        Gauge.builder("cache.hit.ratio", byId, cache -> cache.stats().hitRate())
+                .tag("cache", "users.by-id")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", idsByEmail, cache -> cache.stats().hitRate())
+                .tag("cache", "users.by-email")
+                .register(registry);
+    }
+
+    private void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        byId.invalidate(userId);
+    }
+}
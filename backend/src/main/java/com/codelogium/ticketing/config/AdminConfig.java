@@ -12,4 +12,6 @@ public class AdminConfig {
     private String password = "admin123";
     private String email = "admin@ticketing.com";
     private boolean createOnStartup = true;
+    // Looks up (and creates) the admin on a background thread instead of before the app reports ready
+    private boolean createInBackground = false;
 }
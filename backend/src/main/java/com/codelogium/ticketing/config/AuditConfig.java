@@ -0,0 +1,31 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditConfig {
+    private String sink = "jpa"; // jpa | file
+    private File file = new File();
+    private Compaction compaction = new Compaction();
+
+    @Data
+    public static class File {
+        private String directory = "data/audit";
+        private int segmentSize = 64 * 1024 * 1024; // bytes per memory-mapped segment
+        private long commitIntervalMs = 5; // group-commit window for fsync
+        private long commitTimeoutMs = 5000; // appends fail if their group commit takes longer
+    }
+
+    @Data
+    public static class Compaction {
+        private Boolean enabled; // unset: on for the jpa sink, off for the file sink
+        private int inlineThreshold = 128; // shorter values stay inline in audit_logs
+        private int compressThreshold = 256; // bytes before a stored body is deflated
+        private int maxDeltaDepth = 16; // edits chained as deltas before a full body is stored again
+    }
+}
@@ -3,13 +3,17 @@ package com.codelogium.ticketing.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.UserRole;
 import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.UserService;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -19,15 +23,31 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private UserRepository userRepository;
 
+    // Saves announce the new user, so the agent directory and snapshot caches pick the admin up;
+    // lazy so the lazy profile does not build the user services at startup
+    @Autowired
+    @Lazy
+    private UserService userService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private AdminConfig adminConfig;
 
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private TaskExecutor taskExecutor;
+
     @Override
     public void run(String... args) throws Exception {
-        if (adminConfig.isCreateOnStartup()) {
+        if (!adminConfig.isCreateOnStartup()) {
+            return;
+        }
+        // The lookup and the BCrypt hash then stay off the startup path, the admin can log in moments later
+        if (adminConfig.isCreateInBackground()) {
+            taskExecutor.execute(this::createDefaultAdminUser);
+        } else {
             createDefaultAdminUser();
         }
     }
@@ -48,7 +68,7 @@ public class DataInitializer implements CommandLineRunner {
             adminUser.setRole(UserRole.ADMIN);
             adminUser.setEmailVerified(true); // Admin accounts are pre-verified
 
-            userRepository.save(adminUser);
+            userService.saveUser(adminUser);
 
             logger.info("✅ Default admin user created successfully!");
             logger.info("📧 Admin Email: {}", adminConfig.getEmail());
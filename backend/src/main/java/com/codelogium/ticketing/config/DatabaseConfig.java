@@ -1,27 +1,65 @@
 package com.codelogium.ticketing.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
-import javax.sql.DataSource;
+import com.codelogium.ticketing.datasource.ReadWriteRoutingDataSource;
+import com.codelogium.ticketing.util.BackgroundThreads;
+import com.zaxxer.hikari.HikariDataSource;
 
 @Configuration
 public class DatabaseConfig {
 
+    // Connection pool sized by spring.datasource.hikari.*, its metrics are published as hikaricp.connections.*
+    @Bean
+    @Profile({ "dev", "prod" })
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Only with app.read-replicas.urls set, read-only transactions then go to the replicas
     @Bean
-    @Profile("dev")
-    @ConfigurationProperties(prefix = "spring.datasource")
-    public DataSource devDataSource() {
-        return new DriverManagerDataSource();
+    @Profile({ "dev", "prod" })
+    @ConditionalOnExpression("'${app.read-replicas.urls:}' != ''")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, ReadReplicaConfig config, BackgroundThreads backgroundThreads) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < config.getUrls().size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(config.getUrls().get(i))
+                    .username(config.getUsername() != null ? config.getUsername() : properties.determineUsername())
+                    .password(config.getPassword() != null ? config.getPassword() : properties.determinePassword())
+                    .build();
+            replica.setPoolName("ticketing-replica-" + i);
+            replica.setMaximumPoolSize(config.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.put("replica-" + i, replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, config.getHealthCheckIntervalMs(),
+                backgroundThreads.factory(ReadWriteRoutingDataSource.HEALTH_CHECK_THREAD_NAME));
     }
 
+    // Defers opening the connection until the transaction is known to be read-only or not
     @Bean
-    @Profile("prod")
-    @ConfigurationProperties(prefix = "spring.datasource")
-    public DataSource prodDataSource() {
-        return new DriverManagerDataSource();
+    @Primary
+    @Profile({ "dev", "prod" })
+    @ConditionalOnExpression("'${app.read-replicas.urls:}' != ''")
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
     }
 }
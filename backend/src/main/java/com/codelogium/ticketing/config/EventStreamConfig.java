@@ -0,0 +1,20 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.events")
+public class EventStreamConfig {
+    private String bus = "postgres"; // postgres (LISTEN/NOTIFY across nodes) or loopback (single node)
+    private String channel = "ticket_events";
+    private int listenPollMs = 500;
+    private int replaySize = 1024; // events kept in memory for Last-Event-ID resume
+    private long emitterTimeoutMs = 1_800_000; // clients reconnect after this
+    private long heartbeatIntervalMs = 25_000; // keeps idle connections open through proxies
+    private int subscriberQueueSize = 256; // events queued for a slow subscriber before it is dropped
+    private int senderThreads = 16; // threads writing to subscribers, each stalled client holds one until its write times out
+}
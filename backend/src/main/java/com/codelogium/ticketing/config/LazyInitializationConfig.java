@@ -0,0 +1,51 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import com.codelogium.ticketing.cache.UserRegionEvictor;
+
+/*
+ * What the lazy profile (spring.main.lazy-initialization) creates at startup.
+ * Migrations and the Hibernate metamodel stay eager, so a schema mismatch
+ * still fails startup and the first request does not pay for them; the
+ * production pool check only runs for singletons created during startup.
+ * UserRegionEvictor is injected nowhere and only subscribes to the change
+ * event bus when it is built, so it would otherwise never exist.
+ * springdoc's endpoints go the other way, they are declared eager for
+ * preloading and are made to wait for the first /api-docs call.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerDataLayer() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class,
+                AbstractEntityManagerFactoryBean.class, PooledDataSourceCheck.class, UserRegionEvictor.class);
+    }
+
+    @Bean
+    static BeanFactoryPostProcessor lazySpringdocEndpoints(Environment environment) {
+        return beanFactory -> {
+            if (!environment.getProperty("spring.main.lazy-initialization", Boolean.class, false)) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                Class<?> type = beanFactory.getType(name, false);
+                if (definition instanceof AbstractBeanDefinition abstractDefinition
+                        && Boolean.FALSE.equals(abstractDefinition.getLazyInit())
+                        && type != null && type.getName().startsWith("org.springdoc.")) {
+                    abstractDefinition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.codelogium.ticketing.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/*
+ * Refuses to start production on a data source that is not a Hikari pool. An
+ * unpooled source opens a physical connection per transaction, ignores the
+ * spring.datasource.hikari.* settings and publishes no pool metrics.
+ */
+@Component
+@Profile("prod")
+public class PooledDataSourceCheck implements SmartInitializingSingleton {
+
+    private final DataSource dataSource;
+
+    public PooledDataSourceCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isPooled(dataSource)) {
+            throw new IllegalStateException("The prod profile requires a pooled HikariDataSource, but "
+                    + dataSource.getClass().getName() + " is configured");
+        }
+    }
+
+    public static boolean isPooled(DataSource dataSource) {
+        try {
+            return dataSource instanceof HikariDataSource || dataSource.isWrapperFor(HikariDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
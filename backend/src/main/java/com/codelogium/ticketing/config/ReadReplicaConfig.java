@@ -0,0 +1,20 @@
+package com.codelogium.ticketing.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.read-replicas")
+public class ReadReplicaConfig {
+    private List<String> urls = new ArrayList<>(); // none: every read goes to the primary
+    private String username; // defaults to spring.datasource.username
+    private String password; // defaults to spring.datasource.password
+    private int maximumPoolSize = 10; // per replica
+    private long healthCheckIntervalMs = 5000;
+}
@@ -0,0 +1,14 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.repository-metrics")
+public class RepositoryMetricsConfig {
+    private long slowQueryThresholdMs = 250; // repository calls at least this slow are logged
+    private int loggedStatements = 3; // SQL statements quoted per slow call
+}
@@ -0,0 +1,23 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/*
+ * CBOR for clients that ask for it with Accept: application/cbor. The
+ * converter replaces the default one Spring MVC registers, which would use a
+ * plain mapper: this one is built from Boot's builder, so CBOR responses get
+ * the same modules and spring.jackson settings as JSON ones.
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,14 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ticket-cache")
+public class TicketCacheConfig {
+    private long maximumBytes = 32 * 1024 * 1024; // serialized ticket details kept in memory
+    private long ttlSeconds = 600; // bounds staleness if an invalidation is missed
+}
@@ -0,0 +1,16 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.ticket-detail")
+public class TicketDetailConfig {
+    private int threads = 8; // parts of GET /tickets/{id}/full loaded at once, across all requests
+    private int queueCapacity = 64; // parts waiting for a thread, beyond that they are reported unavailable
+    private long commentsTimeoutMs = 2000;
+    private long auditTimeoutMs = 2000;
+}
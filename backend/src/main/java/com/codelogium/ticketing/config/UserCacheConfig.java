@@ -0,0 +1,14 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.user-cache")
+public class UserCacheConfig {
+    private long maximumSize = 10_000; // users kept in memory
+    private long ttlSeconds = 300; // bounds staleness if an invalidation is missed
+}
@@ -0,0 +1,13 @@
+package com.codelogium.ticketing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.user-deletion")
+public class UserDeletionConfig {
+    private int chunkSize = 500; // rows deleted per transaction
+}
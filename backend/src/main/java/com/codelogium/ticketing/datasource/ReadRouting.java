@@ -0,0 +1,60 @@
+package com.codelogium.ticketing.datasource;
+
+import java.util.function.Supplier;
+
+/*
+ * Per-thread routing hints for ReadWriteRoutingDataSource.
+ *
+ * A thread is pinned to the primary once one of its read-write transactions
+ * commits, so the rest of the request reads its own writes instead of a
+ * replica that may lag behind. ReadRoutingFilter clears the pin when a request
+ * starts and ends, and scoped() does the same around each task run on a pool or
+ * background thread, so no thread stays pinned. onPrimary() sends the reads in
+ * its callback to the primary, for results that are kept in memory longer than
+ * a replica may lag.
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> primaryScope = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static void pinToPrimary() {
+        pinned.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        pinned.remove();
+    }
+
+    // One unit of work on a pooled or background thread, which no request filter unpins afterwards
+    public static Runnable scoped(Runnable work) {
+        return () -> {
+            clear();
+            try {
+                work.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    public static boolean readsFromPrimary() {
+        return pinned.get() != null || primaryScope.get() != null;
+    }
+
+    // A read-only transaction that already holds a replica connection keeps using it
+    public static <T> T onPrimary(Supplier<T> reads) {
+        if (primaryScope.get() != null) {
+            return reads.get();
+        }
+        primaryScope.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            primaryScope.remove();
+        }
+    }
+}
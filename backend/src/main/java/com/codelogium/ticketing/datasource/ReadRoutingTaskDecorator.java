@@ -0,0 +1,14 @@
+package com.codelogium.ticketing.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+// Spring Boot applies it to the application task executor (user deletion jobs, async emails)
+@Component
+public class ReadRoutingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ReadRouting.scoped(runnable);
+    }
+}
@@ -0,0 +1,18 @@
+package com.codelogium.ticketing.datasource;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+// Registered on the transaction manager by Spring Boot, pins the thread to the primary after a committed write
+@Component
+public class ReadYourWritesListener implements TransactionExecutionListener {
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            ReadRouting.pinToPrimary();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.codelogium.ticketing.dto;
+
+import com.codelogium.ticketing.entity.enums.UserRole;
+
+// The columns of an agent the assignment dropdowns need, read without loading the User entity
+public record AgentView(Long id, String email, UserRole role) {
+}
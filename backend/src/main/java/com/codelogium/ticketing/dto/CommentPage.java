@@ -0,0 +1,7 @@
+package com.codelogium.ticketing.dto;
+
+import java.util.List;
+
+// One page of comments, nextCursor is null on the last page
+public record CommentPage(List<CommentDTO> comments, String nextCursor) {
+}
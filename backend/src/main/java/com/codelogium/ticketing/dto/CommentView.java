@@ -0,0 +1,10 @@
+package com.codelogium.ticketing.dto;
+
+import java.time.Instant;
+
+import com.codelogium.ticketing.entity.enums.UserRole;
+
+// Flat projection of a comment and its author, read in a single statement
+public record CommentView(Long id, String content, Instant createdAt, Long authorId, String authorEmail,
+        UserRole authorRole) {
+}
@@ -0,0 +1,21 @@
+package com.codelogium.ticketing.dto;
+
+import java.util.List;
+
+import com.codelogium.ticketing.entity.AuditLog;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/*
+ * GET /tickets/{id}/full. auditLogs is null for users, who cannot read the
+ * audit trail. unavailable names the parts that timed out or failed, their
+ * fields are null then.
+ */
+public record FullTicketDTO(
+        @Schema(implementation = TicketDTO.class) JsonNode ticket,
+        List<CommentDTO> comments,
+        String nextCommentCursor,
+        List<AuditLog> auditLogs,
+        List<String> unavailable) {
+}
@@ -0,0 +1,32 @@
+package com.codelogium.ticketing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.Category;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+// TicketDTO with user ids in place of the users, which the list response carries once in its users map
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.ALWAYS) // Include all fields, even if null
+public class NormalizedTicketDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDateTime creationDate;
+    private Status status;
+    private Category category;
+    private Priority priority;
+    private Long assignedTo;
+    private LocalDateTime assignedAt;
+    private Long assignedBy;
+    private Long createdBy;
+    private long commentCount;
+    private LocalDateTime lastActivityAt;
+}
@@ -0,0 +1,8 @@
+package com.codelogium.ticketing.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Tickets referencing users by id, and every referenced user once keyed by that id
+public record NormalizedTicketList(List<NormalizedTicketDTO> tickets, Map<Long, UserBasicDTO> users) {
+}
@@ -26,4 +26,6 @@ public class TicketDTO {
     private LocalDateTime assignedAt;
     private UserBasicDTO assignedBy;
     private UserBasicDTO createdBy;
+    private long commentCount;
+    private LocalDateTime lastActivityAt;
 }
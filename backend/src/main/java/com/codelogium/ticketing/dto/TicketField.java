@@ -0,0 +1,63 @@
+package com.codelogium.ticketing.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.codelogium.ticketing.exception.InvalidFieldsException;
+
+// The TicketDTO properties a client can select with fields=, named as they appear in the JSON
+public enum TicketField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    CREATION_DATE("creationDate"),
+    STATUS("status"),
+    CATEGORY("category"),
+    PRIORITY("priority"),
+    ASSIGNED_TO("assignedTo"),
+    ASSIGNED_AT("assignedAt"),
+    ASSIGNED_BY("assignedBy"),
+    CREATED_BY("createdBy"),
+    COMMENT_COUNT("commentCount"),
+    LAST_ACTIVITY_AT("lastActivityAt");
+
+    private static final Map<String, TicketField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toMap(TicketField::property, Function.identity()));
+
+    private final String property;
+
+    TicketField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /*
+     * Parses a comma-separated fields parameter. The id is always included.
+     * Sets are canonical, "title,id" and "id,title" are equal, so they can key
+     * the per-field-set query and writer caches.
+     */
+    public static Set<TicketField> parse(String fields) {
+        EnumSet<TicketField> selected = EnumSet.of(ID);
+        for (String property : fields.split(",")) {
+            String trimmed = property.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            TicketField field = BY_PROPERTY.get(trimmed);
+            if (field == null) {
+                throw new InvalidFieldsException("Unknown ticket field " + trimmed + ", expected any of "
+                        + String.join(", ", BY_PROPERTY.keySet().stream().sorted().toList()));
+            }
+            selected.add(field);
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+}
@@ -0,0 +1,5 @@
+package com.codelogium.ticketing.dto;
+
+// The ids a ticket event is addressed by, read for tickets changed in bulk so each one still gets its event
+public record TicketRef(Long id, Long creatorId, Long assigneeId) {
+}
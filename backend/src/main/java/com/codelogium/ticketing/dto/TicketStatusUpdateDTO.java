@@ -5,13 +5,22 @@ import com.codelogium.ticketing.entity.enums.Status;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 @AllArgsConstructor
 public class TicketStatusUpdateDTO {
     
     @NotNull(message = "Status cannot be null")
     private Status status;
+
+    // Optional: the status the client last saw, the change is rejected with 409 if it moved on
+    private Status expectedStatus;
+
+    public TicketStatusUpdateDTO(Status status) {
+        this.status = status;
+    }
 }
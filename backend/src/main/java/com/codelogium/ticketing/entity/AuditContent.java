@@ -0,0 +1,53 @@
+package com.codelogium.ticketing.entity;
+
+import org.hibernate.Length;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/*
+ * Deduplicated audit payload, addressed by the SHA-256 of its text.
+ * Either a full (optionally deflated) body, or a delta against baseHash.
+ * Rows are immutable, so they are always inserted, never merged.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_contents")
+public class AuditContent implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(length = 64)
+    private String baseHash; // null for full content
+
+    private int depth; // number of deltas to walk back to a full body
+
+    private boolean compressed;
+
+    private int originalSize; // characters of the reconstructed text
+
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] data;
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
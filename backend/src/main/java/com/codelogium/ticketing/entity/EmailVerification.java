@@ -9,7 +9,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "email_verification")
+@Table(name = "email_verification", indexes = {
+        @Index(name = "idx_email_verification_email", columnList = "email"),
+        @Index(name = "idx_email_verification_expiry", columnList = "expiryTime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
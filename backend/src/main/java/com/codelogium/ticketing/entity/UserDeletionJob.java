@@ -0,0 +1,73 @@
+package com.codelogium.ticketing.entity;
+
+import java.time.Instant;
+
+import com.codelogium.ticketing.entity.enums.DeletionPhase;
+import com.codelogium.ticketing.entity.enums.DeletionStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "user_deletion_jobs", indexes = {
+        @Index(name = "idx_user_deletion_jobs_status", columnList = "status"),
+        @Index(name = "idx_user_deletion_jobs_user", columnList = "userId, status")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_user_deletion_jobs_active_user", columnNames = "activeUserId"))
+public class UserDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long activeUserId; // userId while the job is unfinished, unique so a user has at most one such job
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeletionStatus status = DeletionStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeletionPhase phase = DeletionPhase.TICKETS;
+
+    private long lastProcessedId; // keyset position within the current phase, saved with every chunk
+
+    private long ticketsDeleted;
+    private long commentsDeleted;
+    private long auditEntriesDeleted;
+
+    private String failureReason;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "UTC")
+    private Instant createdAt = Instant.now();
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "UTC")
+    private Instant updatedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "UTC")
+    private Instant completedAt;
+
+    public UserDeletionJob(Long userId) {
+        this.userId = userId;
+        this.activeUserId = userId;
+    }
+}
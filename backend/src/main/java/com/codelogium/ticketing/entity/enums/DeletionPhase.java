@@ -0,0 +1,7 @@
+package com.codelogium.ticketing.entity.enums;
+
+public enum DeletionPhase {
+    TICKETS, // Owned tickets with their comments and audit entries
+    COMMENTS, // Comments the user left on other users' tickets
+    ACCOUNT // Assignment references and the user row itself
+}
@@ -0,0 +1,8 @@
+package com.codelogium.ticketing.entity.enums;
+
+public enum DeletionStatus {
+    PENDING, // Scheduled, not picked up yet
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
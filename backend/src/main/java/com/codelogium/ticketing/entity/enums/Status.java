@@ -1,7 +1,25 @@
 package com.codelogium.ticketing.entity.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum Status {
     NEW,
     IN_PROGRESS,
-    RESOLVED
+    RESOLVED;
+
+    // Allowed status changes, anything else is rejected before touching the database
+    private static final Map<Status, Set<Status>> TRANSITIONS = new EnumMap<>(Status.class);
+
+    static {
+        TRANSITIONS.put(NEW, EnumSet.of(IN_PROGRESS, RESOLVED));
+        TRANSITIONS.put(IN_PROGRESS, EnumSet.of(NEW, RESOLVED));
+        TRANSITIONS.put(RESOLVED, EnumSet.of(IN_PROGRESS)); // reopened
+    }
+
+    public boolean canTransitionTo(Status target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
 }
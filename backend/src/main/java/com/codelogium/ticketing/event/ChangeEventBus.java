@@ -0,0 +1,15 @@
+package com.codelogium.ticketing.event;
+
+import java.util.function.Consumer;
+
+/*
+ * Carries committed ticket changes to every node. Writes publish from inside
+ * their transaction; subscribers (the SSE hub, caches) only ever see changes
+ * that committed, whichever node made them.
+ */
+public interface ChangeEventBus {
+
+    void publish(TicketEvent event);
+
+    void subscribe(Consumer<TicketEvent> subscriber);
+}
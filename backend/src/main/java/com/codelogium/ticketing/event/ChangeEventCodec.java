@@ -0,0 +1,105 @@
+package com.codelogium.ticketing.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.codelogium.ticketing.entity.enums.Status;
+
+/*
+ * Compact text form of change events for NOTIFY payloads: one event per line,
+ * comma separated ids with empty fields for nulls, e.g.
+ * "ASSIGNED,42,7,9,3,,IN_PROGRESS,1,1735725600000,5". A batch is split into as
+ * few payloads as fit under the PostgreSQL limit.
+ */
+public final class ChangeEventCodec {
+
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    public static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final int FIELDS = 10;
+
+    private ChangeEventCodec() {
+    }
+
+    public static List<String> encode(List<TicketEvent> events) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (TicketEvent event : events) {
+            String line = encode(event);
+            if (payload.length() > 0 && payload.length() + 1 + line.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (payload.length() > 0) {
+                payload.append('\n');
+            }
+            payload.append(line);
+        }
+        if (payload.length() > 0) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    public static List<TicketEvent> decode(String payload) {
+        List<TicketEvent> events = new ArrayList<>();
+        for (String line : payload.split("\n")) {
+            if (!line.isEmpty()) {
+                events.add(decodeLine(line));
+            }
+        }
+        return events;
+    }
+
+    // Lines are ASCII, so characters and bytes are the same length
+    static String encode(TicketEvent event) {
+        String line = String.join(",",
+                event.type().name(),
+                text(event.ticketId()),
+                text(event.creatorId()),
+                text(event.assigneeId()),
+                text(event.previousAssigneeId()),
+                text(event.commentId()),
+                event.status() == null ? "" : event.status().name(),
+                text(event.actorId()),
+                event.occurredAt() == null ? "" : Long.toString(event.occurredAt().toEpochMilli()),
+                text(event.version()));
+        if (line.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Change event does not fit a notification: " + event);
+        }
+        return line;
+    }
+
+    private static TicketEvent decodeLine(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != FIELDS) {
+            throw new IllegalArgumentException("Malformed change event: " + line);
+        }
+        return new TicketEvent(
+                TicketEventType.valueOf(fields[0]),
+                number(fields[1]),
+                number(fields[2]),
+                number(fields[3]),
+                number(fields[4]),
+                number(fields[5]),
+                parse(fields[6], Status::valueOf),
+                number(fields[7]),
+                parse(fields[8], millis -> Instant.ofEpochMilli(Long.parseLong(millis))),
+                number(fields[9]));
+    }
+
+    private static String text(Long value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static Long number(String field) {
+        return parse(field, Long::valueOf);
+    }
+
+    private static <T> T parse(String field, Function<String, T> parser) {
+        return field.isEmpty() ? null : parser.apply(field);
+    }
+}
@@ -0,0 +1,22 @@
+package com.codelogium.ticketing.event;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Single node bus: committed events go straight to the subscribers of this JVM
+@Component
+@ConditionalOnProperty(name = "app.events.bus", havingValue = "loopback")
+public class LoopbackChangeEventBus extends TransactionalChangeEventBus {
+
+    @Override
+    protected boolean sendsInTransaction() {
+        return false;
+    }
+
+    @Override
+    protected void send(List<TicketEvent> batch) {
+        batch.forEach(this::deliver);
+    }
+}
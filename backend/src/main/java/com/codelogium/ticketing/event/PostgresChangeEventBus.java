@@ -0,0 +1,144 @@
+package com.codelogium.ticketing.event;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.config.EventStreamConfig;
+import com.codelogium.ticketing.util.BackgroundThreads;
+
+/*
+ * Change event bus over PostgreSQL LISTEN/NOTIFY.
+ *
+ * A transaction's events are sent with pg_notify on its own connection just
+ * before it commits. PostgreSQL holds notifications until the commit and drops
+ * them on rollback, so every node (this one included) hears exactly the
+ * committed changes. Each node keeps one connection in LISTEN and polls it from
+ * a single thread; the connection is reopened if it breaks, and events sent
+ * while it was down are lost to that node. It is opened outside the pool, so it
+ * neither takes a pool slot for good nor trips leak detection.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.bus", havingValue = "postgres", matchIfMissing = true)
+public class PostgresChangeEventBus extends TransactionalChangeEventBus implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresChangeEventBus.class);
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final long RECONNECT_DELAY_MS = 5_000;
+    private static final String THREAD_NAME = "change-events-listener";
+
+    private final DataSource listenerDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final ThreadFactory threadFactory;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresChangeEventBus(DataSource dataSource, DataSourceProperties dataSourceProperties,
+            EventStreamConfig config, BackgroundThreads backgroundThreads) {
+        // The channel goes into LISTEN unquoted
+        if (!CHANNEL_NAME.matcher(config.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid event channel name: " + config.getChannel());
+        }
+        this.listenerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.channel = config.getChannel();
+        this.pollTimeoutMs = config.getListenPollMs();
+        this.threadFactory = backgroundThreads.factory(THREAD_NAME);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startListening() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = threadFactory.newThread(this::listen);
+        listener.start();
+    }
+
+    @Override
+    protected boolean sendsInTransaction() {
+        return true;
+    }
+
+    // Runs on the transaction's connection, JdbcTemplate joins the JPA transaction
+    @Override
+    protected void send(List<TicketEvent> batch) {
+        for (String payload : ChangeEventCodec.encode(batch)) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(pollTimeoutMs * 2L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = listenerDataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                logger.info("Listening for change events on channel {}", channel);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Change event listener lost its connection, retrying in {} ms: {}", RECONNECT_DELAY_MS,
+                        e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            ChangeEventCodec.decode(payload).forEach(this::deliver);
+        } catch (IllegalArgumentException e) {
+            logger.error("Dropping malformed change event payload: {}", e.getMessage());
+        }
+    }
+}
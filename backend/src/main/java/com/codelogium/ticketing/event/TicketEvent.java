@@ -0,0 +1,38 @@
+package com.codelogium.ticketing.event;
+
+import java.time.Instant;
+
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/*
+ * A committed change on a ticket, as carried by the change event bus and streamed
+ * to live subscribers. It only holds ids, so it fits a NOTIFY payload, and the
+ * creator and assignee let subscriptions be filtered without a lookup.
+ * previousAssigneeId is set on ASSIGNED when the ticket left another agent's
+ * queue, so that agent hears about it too. version is the ticket's optimistic
+ * lock version after the change, null when unknown.
+ */
+public record TicketEvent(
+        TicketEventType type,
+        Long ticketId,
+        Long creatorId,
+        Long assigneeId,
+        Long previousAssigneeId,
+        Long commentId,
+        Status status,
+        Long actorId,
+        Instant occurredAt,
+        Long version) {
+
+    // Same scopes as the ticket lists: admins see everything, agents their queue, users their own tickets
+    @JsonIgnore
+    public boolean isVisibleTo(Long userId, UserRole role) {
+        return switch (role) {
+            case ADMIN -> true;
+            case SUPPORT_AGENT -> userId.equals(assigneeId) || userId.equals(previousAssigneeId);
+            case USER -> userId.equals(creatorId);
+        };
+    }
+}
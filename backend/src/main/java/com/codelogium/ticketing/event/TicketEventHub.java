@@ -0,0 +1,296 @@
+package com.codelogium.ticketing.event;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.codelogium.ticketing.config.EventStreamConfig;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.util.BackgroundThreads;
+
+/*
+ * Fans committed ticket events from the change event bus out to Server-Sent
+ * Event subscribers.
+ *
+ * A single dispatcher thread owns the subscriber set and the replay ring: it
+ * numbers each event, keeps the last replaySize of them for Last-Event-ID resume
+ * and queues it for every subscriber whose scope covers the event. Because
+ * registration runs on the same thread, a resuming client gets its replay and
+ * then the live stream without gaps or duplicates.
+ *
+ * Each subscriber has a bounded queue that a small pool of sender threads
+ * drains, one subscriber at a time per thread. A subscriber whose queue
+ * overflows is completed; it reconnects with its Last-Event-ID and catches up
+ * from the replay ring, or gets a reset. Writes are blocking, so a client that
+ * stopped reading holds its sender thread until the container's write timeout
+ * fails the send. A few such clients only cost their own streams, but once
+ * every sender thread is held, all streams wait for the first write to time
+ * out; senderThreads is sized above the stalled clients expected at once.
+ *
+ * Event ids are "<epoch>-<sequence>" where the epoch is random per hub, so an id
+ * handed out by another node or before a restart is recognised and answered
+ * with a reset rather than a wrong replay.
+ */
+@Component
+public class TicketEventHub implements DisposableBean {
+
+    public static final String RESET_EVENT = "RESET";
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventHub.class);
+    private static final String THREAD_NAME = "ticket-events";
+    private static final String SENDER_THREAD_NAME = "ticket-events-sender";
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final long emitterTimeoutMs;
+    private final int subscriberQueueSize;
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+
+    // Only touched on the dispatcher thread
+    private final Delivery[] replay;
+    private final Set<Subscription> subscriptions = new LinkedHashSet<>();
+    private long lastSequence;
+
+    @Autowired
+    public TicketEventHub(EventStreamConfig config, ChangeEventBus changeEventBus,
+            BackgroundThreads backgroundThreads) {
+        this(config.getReplaySize(), config.getSubscriberQueueSize(), config.getSenderThreads(),
+                config.getEmitterTimeoutMs(), config.getHeartbeatIntervalMs(), backgroundThreads.factory(THREAD_NAME),
+                backgroundThreads.factory(SENDER_THREAD_NAME));
+        changeEventBus.subscribe(event -> {
+            if (event.type().isStreamed()) {
+                publish(event);
+            }
+        });
+    }
+
+    public TicketEventHub(int replaySize, int subscriberQueueSize, int senderThreads, long emitterTimeoutMs,
+            long heartbeatIntervalMs) {
+        this(replaySize, subscriberQueueSize, senderThreads, emitterTimeoutMs, heartbeatIntervalMs,
+                BackgroundThreads.platform(THREAD_NAME), BackgroundThreads.platform(SENDER_THREAD_NAME));
+    }
+
+    private TicketEventHub(int replaySize, int subscriberQueueSize, int senderThreads, long emitterTimeoutMs,
+            long heartbeatIntervalMs, ThreadFactory threadFactory, ThreadFactory senderThreadFactory) {
+        if (replaySize < 1) {
+            throw new IllegalArgumentException("Event replay size must be positive: " + replaySize);
+        }
+        this.replay = new Delivery[replaySize];
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.senders = Executors.newFixedThreadPool(senderThreads, senderThreadFactory);
+        if (heartbeatIntervalMs > 0) {
+            dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public SseEmitter subscribe(Long userId, UserRole role, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(emitter, userId, role, lastEventId);
+        return emitter;
+    }
+
+    // Attaches an emitter, replaying what it missed since lastEventId when given
+    public void register(SseEmitter emitter, Long userId, UserRole role, String lastEventId) {
+        Subscription subscription = new Subscription(emitter, userId, role);
+        emitter.onCompletion(() -> {
+            subscription.closed = true;
+            dispatcher.execute(() -> subscriptions.remove(subscription));
+        });
+        emitter.onTimeout(emitter::complete);
+        dispatcher.execute(() -> {
+            if (lastEventId != null && !replay(subscription, lastEventId)) {
+                return;
+            }
+            subscriptions.add(subscription);
+        });
+    }
+
+    public void publish(TicketEvent event) {
+        dispatcher.execute(() -> dispatch(event));
+    }
+
+    public CompletableFuture<Integer> subscriberCount() {
+        return CompletableFuture.supplyAsync(() -> {
+            subscriptions.removeIf(subscription -> subscription.closed);
+            return subscriptions.size();
+        }, dispatcher);
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscription subscription : new ArrayList<>(subscriptions)) {
+            subscription.emitter.complete();
+        }
+    }
+
+    private void dispatch(TicketEvent event) {
+        Delivery delivery = new Delivery(++lastSequence, event);
+        replay[slot(delivery.id())] = delivery;
+
+        subscriptions.removeIf(subscription -> subscription.accepts(event)
+                ? !subscription.offer(message(delivery))
+                : subscription.closed);
+    }
+
+    private boolean replay(Subscription subscription, String lastEventId) {
+        long lastSeen = sequenceOf(lastEventId);
+        long oldest = Math.max(1, lastSequence - replay.length + 1);
+        if (lastSeen < 0 || lastSeen > lastSequence || lastSeen < oldest - 1) {
+            // Unknown position (other node, restart or too far behind): the client has to reload its state
+            return sendReset(subscription);
+        }
+        List<Delivery> missed = new ArrayList<>();
+        for (long id = lastSeen + 1; id <= lastSequence; id++) {
+            Delivery delivery = replay[slot(id)];
+            if (subscription.accepts(delivery.event())) {
+                missed.add(delivery);
+            }
+        }
+        for (Delivery delivery : missed) {
+            if (!subscription.offer(message(delivery))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void heartbeat() {
+        subscriptions.removeIf(subscription -> !subscription.offer(SseEmitter.event().comment("ping")));
+    }
+
+    // A builder per subscriber, builders are not safe to share between sender threads
+    private SseEmitter.SseEventBuilder message(Delivery delivery) {
+        return SseEmitter.event()
+                .id(eventId(delivery.id()))
+                .name(delivery.event().type().name())
+                .data(delivery.event(), MediaType.APPLICATION_JSON);
+    }
+
+    private boolean sendReset(Subscription subscription) {
+        return subscription.offer(SseEmitter.event().id(eventId(lastSequence)).name(RESET_EVENT).data(""));
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // -1 when the id was not issued by this hub
+    private long sequenceOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int slot(long id) {
+        return (int) (id % replay.length);
+    }
+
+    private record Delivery(long id, TicketEvent event) {
+    }
+
+    // Identity equality on purpose, the same user may hold several streams
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final UserRole role;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        // Set while a sender thread owns the queue, so each subscriber is written by one thread at a time
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscription(SseEmitter emitter, Long userId, UserRole role) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.role = role;
+            this.pending = new ArrayBlockingQueue<>(subscriberQueueSize);
+        }
+
+        private boolean accepts(TicketEvent event) {
+            return event.isVisibleTo(userId, role);
+        }
+
+        // Called on the dispatcher thread, false once the subscriber is gone and should be removed
+        private boolean offer(SseEmitter.SseEventBuilder message) {
+            if (closed) {
+                return false;
+            }
+            if (!pending.offer(message)) {
+                logger.debug("Dropping event subscriber {}: more than {} events behind", userId, subscriberQueueSize);
+                close(null);
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(null); // shutting down
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder message;
+                while (!closed && (message = pending.poll()) != null) {
+                    write(message);
+                }
+                draining.set(false);
+                // An offer between the last poll and the reset saw draining set and left the message to us
+            } while (!closed && !pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void write(SseEmitter.SseEventBuilder message) {
+            try {
+                emitter.send(message);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, the completion callback may race us to the removal
+                logger.debug("Dropping event subscriber {}: {}", userId, e.getMessage());
+                close(e);
+            }
+        }
+
+        private void close(Exception failure) {
+            closed = true;
+            pending.clear();
+            if (failure != null) {
+                emitter.completeWithError(failure);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
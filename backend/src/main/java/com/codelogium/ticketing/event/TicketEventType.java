@@ -0,0 +1,27 @@
+package com.codelogium.ticketing.event;
+
+public enum TicketEventType {
+    TICKET_CREATED,
+    INFO_UPDATED,
+    STATUS_CHANGED,
+    ASSIGNED,
+    TICKET_DELETED,
+    COMMENT_ADDED,
+    COMMENT_DELETED,
+    // A user row changed or was deleted, actorId is that user. Drives cache invalidation, never streamed
+    USER_CHANGED(false);
+
+    private final boolean streamed;
+
+    TicketEventType() {
+        this(true);
+    }
+
+    TicketEventType(boolean streamed) {
+        this.streamed = streamed;
+    }
+
+    public boolean isStreamed() {
+        return streamed;
+    }
+}
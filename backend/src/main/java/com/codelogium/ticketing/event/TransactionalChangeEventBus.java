@@ -0,0 +1,86 @@
+package com.codelogium.ticketing.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Collects the events published in a transaction and hands them over as one
+ * batch: right before the commit when the transport is itself transactional,
+ * right after it otherwise. Outside a transaction events are sent at once.
+ */
+public abstract class TransactionalChangeEventBus implements ChangeEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalChangeEventBus.class);
+
+    private final List<Consumer<TicketEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TicketEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(event));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<TicketEvent> batch = (List<TicketEvent>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new BatchSynchronization(batch));
+        }
+        batch.add(event);
+    }
+
+    @Override
+    public void subscribe(Consumer<TicketEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    // True when send() runs inside the transaction and only takes effect on commit
+    protected abstract boolean sendsInTransaction();
+
+    protected abstract void send(List<TicketEvent> batch);
+
+    protected void deliver(TicketEvent event) {
+        for (Consumer<TicketEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                logger.error("Change event subscriber failed on {}: {}", event, e.getMessage(), e);
+            }
+        }
+    }
+
+    private class BatchSynchronization implements TransactionSynchronization {
+        private final List<TicketEvent> batch;
+
+        private BatchSynchronization(List<TicketEvent> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (sendsInTransaction()) {
+                send(batch);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!sendsInTransaction()) {
+                send(batch);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionalChangeEventBus.this);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.codelogium.ticketing.exception;
+
+public class InvalidAssignmentException extends RuntimeException {
+
+    public InvalidAssignmentException(Long userId) {
+        super("The user with the id " + userId + " cannot be assigned tickets, only support agents and admins can");
+    }
+}
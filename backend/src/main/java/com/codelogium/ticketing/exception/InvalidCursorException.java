@@ -0,0 +1,8 @@
+package com.codelogium.ticketing.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("The cursor " + cursor + " is not valid");
+    }
+}
@@ -0,0 +1,15 @@
+package com.codelogium.ticketing.exception;
+
+import com.codelogium.ticketing.entity.enums.Status;
+
+// The ticket is not in the status the change was based on, or the change is not an allowed transition
+public class StatusConflictException extends RuntimeException {
+
+    public StatusConflictException(String message) {
+        super(message);
+    }
+
+    public StatusConflictException(Long ticketId, Status expected, Status actual) {
+        super("The ticket with the id " + ticketId + " is " + actual + ", expected " + expected);
+    }
+}
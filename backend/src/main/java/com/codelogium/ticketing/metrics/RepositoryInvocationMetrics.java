@@ -0,0 +1,157 @@
+package com.codelogium.ticketing.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Component;
+
+import com.codelogium.ticketing.config.RepositoryMetricsConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Row and statement counts per repository method, and the slow-query log.
+ *
+ * Latency is Spring Boot's spring.data.repository.invocations timer, published
+ * with percentiles; the meters here carry the same repository and method tags.
+ * A call at or over the slow-query threshold is logged with its arguments
+ * redacted to their shape (numbers, enums and page requests are shown,
+ * anything else only by type), the query hints declared on the method and the
+ * first SQL statements it sent, the ones to run EXPLAIN on.
+ */
+@Component
+public class RepositoryInvocationMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryInvocationMetrics.class);
+
+    private final MeterRegistry registry;
+    private final StatementRecorder statementRecorder;
+    private final RepositoryMetricsConfig config;
+
+    public RepositoryInvocationMetrics(MeterRegistry registry, StatementRecorder statementRecorder,
+            RepositoryMetricsConfig config) {
+        this.registry = registry;
+        this.statementRecorder = statementRecorder;
+        this.config = config;
+    }
+
+    public MethodInterceptor interceptorFor(Class<?> repositoryInterface) {
+        String repository = repositoryInterface.getSimpleName();
+        Map<Method, Meters> meters = new ConcurrentHashMap<>();
+        return invocation -> {
+            Method method = invocation.getMethod();
+            StatementRecorder.Recording recording = statementRecorder.begin();
+            long statementsBefore = recording.statements();
+            int keptBefore = recording.keptCount();
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                long elapsedNanos = System.nanoTime() - start;
+                long statements = recording.statements() - statementsBefore;
+                int rows = rows(result, method);
+                Meters methodMeters = meters.computeIfAbsent(method, m -> new Meters(repository, m.getName()));
+                methodMeters.rows.record(rows);
+                methodMeters.statements.record(statements);
+                if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(config.getSlowQueryThresholdMs())) {
+                    methodMeters.slow.increment();
+                    logger.warn("Slow repository call {}.{} took {} ms, {} rows, {} statements, args {}, hints {}, sql {}",
+                            repository, method.getName(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows,
+                            statements, redact(invocation.getArguments()), hints(method),
+                            recording.keptSince(keptBefore, config.getLoggedStatements()));
+                }
+                return result;
+            } finally {
+                statementRecorder.end(recording);
+            }
+        };
+    }
+
+    private static int rows(Object result, Method method) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        // Bulk updates and deletes return the rows they touched, counts and flags are one row
+        if (result instanceof Number affected && method.isAnnotationPresent(Modifying.class)) {
+            return affected.intValue();
+        }
+        return 1;
+    }
+
+    private static List<String> redact(Object[] arguments) {
+        return Arrays.stream(arguments).map(RepositoryInvocationMetrics::redact).toList();
+    }
+
+    private static String redact(Object argument) {
+        if (argument == null || argument instanceof Number || argument instanceof Enum<?>
+                || argument instanceof Boolean) {
+            return String.valueOf(argument);
+        }
+        if (argument instanceof Pageable pageable) {
+            return pageable.isUnpaged() ? "unpaged"
+                    : "page " + pageable.getPageNumber() + " size " + pageable.getPageSize() + " sort "
+                            + pageable.getSort();
+        }
+        if (argument instanceof Collection<?> collection) {
+            return collection.size() + " values";
+        }
+        return argument.getClass().getSimpleName() + "(redacted)";
+    }
+
+    private static String hints(Method method) {
+        QueryHints hints = AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class);
+        if (hints == null) {
+            return "none";
+        }
+        return Arrays.stream(hints.value()).map(hint -> hint.name() + "=" + hint.value())
+                .collect(Collectors.joining(", "));
+    }
+
+    private final class Meters {
+        private final DistributionSummary rows;
+        private final DistributionSummary statements;
+        private final Counter slow;
+
+        Meters(String repository, String method) {
+            this.rows = DistributionSummary.builder("repository.rows")
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry);
+            this.statements = DistributionSummary.builder("repository.statements")
+                    .baseUnit("statements")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry);
+            this.slow = Counter.builder("repository.slow.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.codelogium.ticketing.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+/*
+ * Wraps every Spring Data repository in RepositoryInvocationMetrics.
+ *
+ * The metrics bean is resolved on a repository's first call, not when the
+ * repository is created: the meter registry binds caches that depend on
+ * repositories themselves.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RepositoryInvocationMetrics> metrics;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<RepositoryInvocationMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        SingletonSupplier<MethodInterceptor> interceptor = SingletonSupplier.of(() -> metrics
+                                .getObject().interceptorFor(repositoryInformation.getRepositoryInterface()));
+                        proxyFactory.addAdvice((MethodInterceptor) invocation -> interceptor.obtain()
+                                .invoke(invocation));
+                    }));
+        }
+        return bean;
+    }
+}
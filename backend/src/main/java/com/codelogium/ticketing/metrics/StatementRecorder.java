@@ -0,0 +1,73 @@
+package com.codelogium.ticketing.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/*
+ * Counts the SQL statements Hibernate prepares on each thread.
+ *
+ * Installed as Hibernate's statement inspector, so every statement a
+ * repository call sends passes through it; second-level and query cache hits
+ * send none. While a repository call is being recorded the statements
+ * themselves are kept too, for the slow-query log.
+ */
+@Component
+public class StatementRecorder implements StatementInspector, HibernatePropertiesCustomizer {
+
+    // Statements kept per outermost repository call, later ones are only counted
+    private static final int MAX_KEPT = 20;
+
+    private final transient ThreadLocal<Recording> recordings = ThreadLocal.withInitial(Recording::new);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Recording recording = recordings.get();
+        recording.statements++;
+        if (recording.depth > 0 && recording.kept.size() < MAX_KEPT) {
+            recording.kept.add(sql);
+        }
+        return sql;
+    }
+
+    public Recording begin() {
+        Recording recording = recordings.get();
+        recording.depth++;
+        return recording;
+    }
+
+    public void end(Recording recording) {
+        if (--recording.depth == 0) {
+            recording.kept.clear();
+        }
+    }
+
+    public static final class Recording {
+        private long statements;
+        private int depth;
+        private final List<String> kept = new ArrayList<>();
+
+        public long statements() {
+            return statements;
+        }
+
+        public int keptCount() {
+            return kept.size();
+        }
+
+        // The statements kept since keptCount() returned from
+        public List<String> keptSince(int from, int limit) {
+            return List.copyOf(kept.subList(from, Math.min(kept.size(), from + limit)));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.codelogium.ticketing.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.codelogium.ticketing.entity.AuditContent;
+
+public interface AuditContentRepository extends JpaRepository<AuditContent, String> {
+}
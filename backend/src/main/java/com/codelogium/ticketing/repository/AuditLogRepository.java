@@ -1,12 +1,24 @@
 package com.codelogium.ticketing.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.codelogium.ticketing.entity.AuditLog;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long>{
     List<AuditLog> findByTicketId(Long ticketId);
     List<AuditLog> findByCommentId(Long commentId);
+
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.ticketId IN :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Modifying
+    @Query("DELETE FROM AuditLog a WHERE a.commentId IN :commentIds")
+    int deleteByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
 }
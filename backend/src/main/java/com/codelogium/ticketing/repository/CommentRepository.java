@@ -1,11 +1,64 @@
 package com.codelogium.ticketing.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.codelogium.ticketing.dto.CommentView;
 import com.codelogium.ticketing.entity.Comment;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<Comment> findByIdAndTicketIdAndAuthorId(Long commentId, Long ticketId, Long userId);
+
+    // Comments of a ticket with their author in one statement, ordered by (createdAt, id) for cursor pagination
+    @Query("""
+            SELECT new com.codelogium.ticketing.dto.CommentView(c.id, c.content, c.createdAt, a.id, a.email, a.role)
+            FROM Comment c LEFT JOIN c.author a
+            WHERE c.ticket.id = :ticketId
+            ORDER BY c.createdAt, c.id
+            """)
+    List<CommentView> findViewsByTicketId(@Param("ticketId") Long ticketId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.codelogium.ticketing.dto.CommentView(c.id, c.content, c.createdAt, a.id, a.email, a.role)
+            FROM Comment c LEFT JOIN c.author a
+            WHERE c.ticket.id = :ticketId
+              AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId))
+            ORDER BY c.createdAt, c.id
+            """)
+    List<CommentView> findViewsByTicketIdAfter(@Param("ticketId") Long ticketId,
+            @Param("afterCreatedAt") Instant afterCreatedAt, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Deletes the comment only if the user wrote it and owns the ticket it belongs to
+    @Modifying
+    @Query("""
+            DELETE FROM Comment c
+            WHERE c.id = :commentId
+              AND c.author.id = :userId
+              AND c.ticket.id = :ticketId
+              AND EXISTS (SELECT 1 FROM Ticket t WHERE t.id = :ticketId AND t.creator.id = :userId)
+            """)
+    int deleteOwnedComment(@Param("commentId") Long commentId, @Param("ticketId") Long ticketId,
+            @Param("userId") Long userId);
+
+    // Keyset-ordered chunk of a user's comment ids, used by the user deletion job
+    @Query("SELECT c.id FROM Comment c WHERE c.author.id = :userId AND c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsByAuthorAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByAuthorId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :commentIds")
+    int deleteByIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.ticket.id IN :ticketIds")
+    int deleteByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
 }
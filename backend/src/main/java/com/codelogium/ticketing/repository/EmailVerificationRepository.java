@@ -17,4 +17,6 @@ public interface EmailVerificationRepository extends JpaRepository<EmailVerifica
     void deleteByEmailAndVerifiedTrue(String email);
 
     void deleteByExpiryTimeBefore(LocalDateTime dateTime);
+
+    void deleteByEmail(String email);
 }
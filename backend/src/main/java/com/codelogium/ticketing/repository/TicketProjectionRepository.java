@@ -0,0 +1,23 @@
+package com.codelogium.ticketing.repository;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+
+// Ticket reads that select only the requested fields' columns, for the fields= parameter
+public interface TicketProjectionRepository {
+
+    // creatorId or assigneeId, when not null, limit the page to that user's tickets; the filters are optional
+    Page<TicketDTO> findProjected(Set<TicketField> fields, Long creatorId, Long assigneeId, String search,
+            Status status, Priority priority, Pageable pageable);
+
+    // creatorId, when not null, limits the lookup to that creator's ticket
+    Optional<TicketDTO> findProjectedById(Set<TicketField> fields, Long ticketId, Long creatorId);
+}
@@ -0,0 +1,207 @@
+package com.codelogium.ticketing.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
+import com.codelogium.ticketing.dto.UserBasicDTO;
+import com.codelogium.ticketing.entity.enums.Category;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.exception.InvalidFieldsException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/*
+ * Scalar JPQL projections of Ticket, compiled once per field set: the select
+ * list, the user joins the set needs and the readers that copy each row into
+ * a TicketDTO. The JPQL text is stable per field set and filter shape, so
+ * Hibernate's query plan cache parses it once as well. Users are only joined
+ * for createdBy, assignedTo and assignedBy, and description is only read when
+ * asked for.
+ */
+public class TicketProjectionRepositoryImpl implements TicketProjectionRepository {
+
+    // Basic ticket attributes a projected page can be sorted by
+    private static final Set<String> SORTABLE = Set.of("id", "title", "creationDate", "status", "category",
+            "priority", "assignedAt", "commentCount", "lastActivityAt");
+
+    // At most one entry per subset of TicketField
+    private final Map<Set<TicketField>, Projection> projections = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TicketDTO> findProjected(Set<TicketField> fields, Long creatorId, Long assigneeId, String search,
+            Status status, Priority priority, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder(" WHERE (:status IS NULL OR t.status = :status)"
+                + " AND (:priority IS NULL OR t.priority = :priority)");
+        parameters.put("status", status);
+        parameters.put("priority", priority);
+        if (creatorId != null) {
+            where.append(" AND t.creator.id = :creatorId");
+            parameters.put("creatorId", creatorId);
+        }
+        if (assigneeId != null) {
+            where.append(" AND t.assignedTo.id = :assigneeId");
+            parameters.put("assigneeId", assigneeId);
+        }
+        if (search != null && !search.isBlank()) {
+            where.append(" AND (LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%'))"
+                    + " OR LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')))");
+            parameters.put("search", search);
+        }
+
+        Projection projection = projections.computeIfAbsent(fields, TicketProjectionRepositoryImpl::compile);
+        TypedQuery<Object[]> query = entityManager.createQuery(projection.from() + where + orderBy(pageable.getSort()),
+                Object[].class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TicketDTO> content = query.getResultList().stream().map(projection::read).toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(t) FROM Ticket t" + where, Long.class);
+            parameters.forEach(count::setParameter);
+            return count.getSingleResult();
+        });
+    }
+
+    @Override
+    public Optional<TicketDTO> findProjectedById(Set<TicketField> fields, Long ticketId, Long creatorId) {
+        Projection projection = projections.computeIfAbsent(fields, TicketProjectionRepositoryImpl::compile);
+        TypedQuery<Object[]> query = entityManager.createQuery(projection.from() + " WHERE t.id = :ticketId"
+                + (creatorId != null ? " AND t.creator.id = :creatorId" : ""), Object[].class)
+                .setParameter("ticketId", ticketId);
+        if (creatorId != null) {
+            query.setParameter("creatorId", creatorId);
+        }
+        return query.getResultList().stream().findFirst().map(projection::read);
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new InvalidFieldsException("Tickets cannot be sorted by " + order.getProperty());
+            }
+            orders.add("t." + order.getProperty() + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static Projection compile(Set<TicketField> fields) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder joins = new StringBuilder();
+        List<BiConsumer<TicketDTO, Object[]>> readers = new ArrayList<>();
+        for (TicketField field : fields) {
+            int i = columns.size();
+            switch (field) {
+                case ID -> {
+                    columns.add("t.id");
+                    readers.add((dto, row) -> dto.setId((Long) row[i]));
+                }
+                case TITLE -> {
+                    columns.add("t.title");
+                    readers.add((dto, row) -> dto.setTitle((String) row[i]));
+                }
+                case DESCRIPTION -> {
+                    columns.add("t.description");
+                    readers.add((dto, row) -> dto.setDescription((String) row[i]));
+                }
+                case CREATION_DATE -> {
+                    columns.add("t.creationDate");
+                    readers.add((dto, row) -> dto.setCreationDate(toLocal((Instant) row[i])));
+                }
+                case STATUS -> {
+                    columns.add("t.status");
+                    readers.add((dto, row) -> dto.setStatus((Status) row[i]));
+                }
+                case CATEGORY -> {
+                    columns.add("t.category");
+                    readers.add((dto, row) -> dto.setCategory((Category) row[i]));
+                }
+                case PRIORITY -> {
+                    columns.add("t.priority");
+                    readers.add((dto, row) -> dto.setPriority((Priority) row[i]));
+                }
+                case ASSIGNED_AT -> {
+                    columns.add("t.assignedAt");
+                    readers.add((dto, row) -> dto.setAssignedAt(toLocal((Instant) row[i])));
+                }
+                case COMMENT_COUNT -> {
+                    columns.add("t.commentCount");
+                    readers.add((dto, row) -> dto.setCommentCount((Long) row[i]));
+                }
+                case LAST_ACTIVITY_AT -> {
+                    columns.add("t.lastActivityAt");
+                    readers.add((dto, row) -> dto.setLastActivityAt(toLocal((Instant) row[i])));
+                }
+                case CREATED_BY -> {
+                    joinUser(columns, joins, "t.creator", "c");
+                    readers.add((dto, row) -> dto.setCreatedBy(toUser(row, i)));
+                }
+                case ASSIGNED_TO -> {
+                    joinUser(columns, joins, "t.assignedTo", "a");
+                    readers.add((dto, row) -> dto.setAssignedTo(toUser(row, i)));
+                }
+                case ASSIGNED_BY -> {
+                    joinUser(columns, joins, "t.assignedBy", "b");
+                    readers.add((dto, row) -> dto.setAssignedBy(toUser(row, i)));
+                }
+            }
+        }
+        return new Projection("SELECT " + String.join(", ", columns) + " FROM Ticket t" + joins, readers);
+    }
+
+    private static void joinUser(List<String> columns, StringBuilder joins, String association, String alias) {
+        joins.append(" LEFT JOIN ").append(association).append(' ').append(alias);
+        columns.add(alias + ".id");
+        columns.add(alias + ".email");
+        columns.add(alias + ".role");
+    }
+
+    private static UserBasicDTO toUser(Object[] row, int i) {
+        return row[i] != null ? new UserBasicDTO((Long) row[i], (String) row[i + 1], (UserRole) row[i + 2]) : null;
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? instant.atZone(ZoneId.systemDefault()).toLocalDateTime() : null;
+    }
+
+    private record Projection(String from, List<BiConsumer<TicketDTO, Object[]>> readers) {
+
+        TicketDTO read(Object[] row) {
+            TicketDTO dto = new TicketDTO();
+            for (BiConsumer<TicketDTO, Object[]> reader : readers) {
+                reader.accept(dto, row);
+            }
+            return dto;
+        }
+    }
+}
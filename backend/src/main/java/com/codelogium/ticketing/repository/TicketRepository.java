@@ -1,24 +1,124 @@
 package com.codelogium.ticketing.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.codelogium.ticketing.dto.TicketRef;
 import com.codelogium.ticketing.entity.Ticket;
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.Priority;
 import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
 
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketProjectionRepository {
 
   Optional<Ticket> findByIdAndCreatorId(Long ticketId, Long userId);
 
-  List<Ticket> findByCreatorId(Long userId);
+  boolean existsByIdAndCreatorId(Long ticketId, Long userId);
+
+  // Filters on the foreign key column, the derived query joined users and filtered on the join instead
+  @Query("SELECT t FROM Ticket t WHERE t.creator.id = :userId")
+  List<Ticket> findByCreatorId(@Param("userId") Long userId);
+
+  // Compare-and-set status change, creatorId restricts it to the owner when not null
+  @Modifying(clearAutomatically = true)
+  @Query("""
+          UPDATE Ticket t SET t.status = :newStatus, t.lastActivityAt = :changedAt, t.version = t.version + 1
+          WHERE t.id = :ticketId
+            AND t.status = :expectedStatus
+            AND (:creatorId IS NULL OR t.creator.id = :creatorId)
+      """)
+  int compareAndSetStatus(
+      @Param("ticketId") Long ticketId,
+      @Param("creatorId") Long creatorId,
+      @Param("expectedStatus") Status expectedStatus,
+      @Param("newStatus") Status newStatus,
+      @Param("changedAt") Instant changedAt);
+
+  // Assigns in one statement, the EXISTS clause only lets agents and admins be assignees
+  @Modifying(clearAutomatically = true)
+  @Query("""
+          UPDATE Ticket t SET t.assignedTo = :assignee, t.assignedBy = :assigner, t.assignedAt = :assignedAt,
+              t.lastActivityAt = :assignedAt, t.version = t.version + 1
+          WHERE t.id = :ticketId
+            AND EXISTS (SELECT 1 FROM User u WHERE u = :assignee AND u.role IN :roles)
+      """)
+  int assign(
+      @Param("ticketId") Long ticketId,
+      @Param("assignee") User assignee,
+      @Param("assigner") User assigner,
+      @Param("assignedAt") Instant assignedAt,
+      @Param("roles") Collection<UserRole> roles);
+
+  // Relative update so concurrent comments never lose a count
+  @Modifying
+  @Query("""
+          UPDATE Ticket t SET t.commentCount = t.commentCount + :delta, t.lastActivityAt = :at, t.version = t.version + 1
+          WHERE t.id = :ticketId
+      """)
+  int recordCommentActivity(@Param("ticketId") Long ticketId, @Param("delta") long delta, @Param("at") Instant at);
+
+  // Takes the given comments off their tickets' counts, must run before the comments are deleted
+  @Modifying
+  @Query("""
+          UPDATE Ticket t
+          SET t.commentCount = t.commentCount - (SELECT COUNT(c) FROM Comment c WHERE c.ticket = t AND c.id IN :commentIds),
+              t.version = t.version + 1
+          WHERE t.id IN (SELECT c.ticket.id FROM Comment c WHERE c.id IN :commentIds)
+      """)
+  int discountComments(@Param("commentIds") Collection<Long> commentIds);
+
+  // Scalar read of the status, avoids loading the ticket and its eager users
+  @Query("SELECT t.status FROM Ticket t WHERE t.id = :ticketId AND (:creatorId IS NULL OR t.creator.id = :creatorId)")
+  Optional<Status> findStatus(@Param("ticketId") Long ticketId, @Param("creatorId") Long creatorId);
+
+  // Single DELETE, comments go with the ticket through the ON DELETE CASCADE foreign key
+  @Modifying
+  @Query("DELETE FROM Ticket t WHERE t.id = :ticketId AND t.creator.id = :userId")
+  int deleteByIdAndCreatorId(@Param("ticketId") Long ticketId, @Param("userId") Long userId);
+
+  // Keyset-ordered chunk of a creator's ticket ids, used by the user deletion job
+  @Query("SELECT t.id FROM Ticket t WHERE t.creator.id = :userId AND t.id > :afterId ORDER BY t.id")
+  List<Long> findIdsByCreatorAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+  boolean existsByCreatorId(Long userId);
+
+  @Modifying
+  @Query("DELETE FROM Ticket t WHERE t.id IN :ticketIds")
+  int deleteByIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+  @Modifying
+  @Query("UPDATE Ticket t SET t.assignedTo = NULL, t.version = t.version + 1 WHERE t.assignedTo.id = :userId")
+  int clearAssignee(@Param("userId") Long userId);
+
+  @Modifying
+  @Query("UPDATE Ticket t SET t.assignedBy = NULL, t.version = t.version + 1 WHERE t.assignedBy.id = :userId")
+  int clearAssigner(@Param("userId") Long userId);
+
+  // Refs of the tickets a bulk change touches, read first so every ticket is evicted and gets its event
+  @Query("SELECT new com.codelogium.ticketing.dto.TicketRef(t.id, t.creator.id, t.assignedTo.id) FROM Ticket t WHERE t.id IN :ticketIds")
+  List<TicketRef> findRefsByIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+  @Query("""
+          SELECT new com.codelogium.ticketing.dto.TicketRef(t.id, t.creator.id, t.assignedTo.id) FROM Ticket t
+          WHERE t.id IN (SELECT c.ticket.id FROM Comment c WHERE c.id IN :commentIds)
+      """)
+  List<TicketRef> findRefsByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+  @Query("SELECT new com.codelogium.ticketing.dto.TicketRef(t.id, t.creator.id, t.assignedTo.id) FROM Ticket t WHERE t.assignedTo.id = :userId")
+  List<TicketRef> findRefsByAssignee(@Param("userId") Long userId);
+
+  @Query("SELECT new com.codelogium.ticketing.dto.TicketRef(t.id, t.creator.id, t.assignedTo.id) FROM Ticket t WHERE t.assignedBy.id = :userId")
+  List<TicketRef> findRefsByAssigner(@Param("userId") Long userId);
 
   // Find creator by ticket id to validates user in this and sub-level
   @Query("SELECT t.creator FROM Ticket t WHERE t.id = :ticketId")
@@ -68,7 +168,8 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
       Pageable pageable);
 
   // Assignment queries
-  List<Ticket> findByAssignedToId(Long assigneeId);
+  @Query("SELECT t FROM Ticket t WHERE t.assignedTo.id = :assigneeId")
+  List<Ticket> findByAssignedToId(@Param("assigneeId") Long assigneeId);
 
   List<Ticket> findByAssignedToIsNull();
 
@@ -0,0 +1,16 @@
+package com.codelogium.ticketing.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.codelogium.ticketing.entity.UserDeletionJob;
+import com.codelogium.ticketing.entity.enums.DeletionStatus;
+
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, Long> {
+    List<UserDeletionJob> findByStatusIn(Collection<DeletionStatus> statuses);
+
+    Optional<UserDeletionJob> findFirstByUserIdAndStatusIn(Long userId, Collection<DeletionStatus> statuses);
+}
@@ -1,17 +1,50 @@
 package com.codelogium.ticketing.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.dto.AgentView;
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.UserRole;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Result ids come from the query cache, the rows from the users region
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION) })
     Optional<User> findByEmail(String email);
 
-    List<User> findByRoleIn(List<UserRole> roles);
+    // Column projections for the snapshot cache, no entity or collection enters the persistence context
+    @Query("""
+            SELECT new com.codelogium.ticketing.cache.UserSnapshot(u.id, u.email, u.role, u.emailVerified, u.password)
+            FROM User u WHERE u.id = :userId
+        """)
+    Optional<UserSnapshot> findSnapshotById(@Param("userId") Long userId);
+
+    @Query("""
+            SELECT new com.codelogium.ticketing.cache.UserSnapshot(u.id, u.email, u.role, u.emailVerified, u.password)
+            FROM User u WHERE u.email = :email
+        """)
+    Optional<UserSnapshot> findSnapshotByEmail(@Param("email") String email);
+
+    @Query("""
+            SELECT new com.codelogium.ticketing.dto.AgentView(u.id, u.email, u.role)
+            FROM User u WHERE u.role IN :roles ORDER BY u.id
+        """)
+    List<AgentView> findAgentViews(@Param("roles") Collection<UserRole> roles);
 
-    List<User> findByRole(UserRole role);
+    // Bypasses the in-memory cascade, the deletion job removes tickets and comments beforehand
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :userId")
+    int deleteUserRow(@Param("userId") Long userId);
 }
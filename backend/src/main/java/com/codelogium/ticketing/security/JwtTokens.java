@@ -0,0 +1,36 @@
+package com.codelogium.ticketing.security;
+
+import java.util.List;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/*
+ * Verifies the bearer tokens AuthenticationFilter issues. Shared with the
+ * reactive read module, so both stacks accept exactly the same tokens.
+ */
+public final class JwtTokens {
+
+    // Thread-safe, built once instead of per request
+    private static final JWTVerifier VERIFIER = JWT.require(Algorithm.HMAC512(SecurityConstants.SECRET_KEY)).build();
+
+    private JwtTokens() {
+    }
+
+    public static boolean isBearer(String authorizationHeader) {
+        return authorizationHeader != null && authorizationHeader.startsWith(SecurityConstants.BEARER);
+    }
+
+    // Throws JWTVerificationException for a bad signature or an expired token
+    public static DecodedJWT verify(String authorizationHeader) throws JWTVerificationException {
+        return VERIFIER.verify(authorizationHeader.replace(SecurityConstants.BEARER, ""));
+    }
+
+    public static List<String> authorities(DecodedJWT token) {
+        List<String> authorities = token.getClaim("authorities").asList(String.class);
+        return authorities != null ? authorities : List.of();
+    }
+}
@@ -8,12 +8,17 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 import com.codelogium.ticketing.security.filter.AuthenticationFilter;
 import com.codelogium.ticketing.security.filter.ExceptionHandlerFilter;
 import com.codelogium.ticketing.security.filter.JWTAuthorizationFilter;
@@ -44,6 +49,10 @@ public class SecurityConfig {
                 .headers(headers -> headers.disable())
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authorize -> authorize
+                        // The event stream completes on an async dispatch that carries no token, the opening
+                        // request was authenticated. Other async dispatches go through the rules below
+                        .requestMatchers(new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/events"))).permitAll()
                         .requestMatchers(HttpMethod.POST, SecurityConstants.REGISTER_PATH).permitAll()
                         .requestMatchers(HttpMethod.POST, "/users/register").permitAll() // User registration
                         .requestMatchers(HttpMethod.POST, "/users/verify-email").permitAll() // Email verification
@@ -59,6 +68,9 @@ public class SecurityConfig {
                         .hasAuthority("ADMIN")
                         .requestMatchers("/admin/**")
                         .hasAuthority("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**")
+                        .hasAuthority("ADMIN")
                         .anyRequest().authenticated())
                 .exceptionHandling(handler -> {
                     handler.accessDeniedHandler(new CustomAccessDeniedHandler());
@@ -80,7 +92,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -13,6 +13,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.codelogium.ticketing.cache.UserSnapshot;
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.security.SecurityConstants;
 import com.codelogium.ticketing.security.manager.CustomAuthenticationManager;
@@ -81,7 +82,7 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
         // Get the user ID from the database by email
         String email = authResult.getName();
-        User user = userService.retrieveUser(email);
+        UserSnapshot user = userService.retrieveUser(email);
         Long userId = user.getId();
 
         // Add token to header
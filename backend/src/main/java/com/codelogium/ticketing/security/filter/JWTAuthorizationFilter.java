@@ -9,9 +9,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codelogium.ticketing.security.JwtTokens;
 import com.codelogium.ticketing.security.SecurityConstants;
 
 import jakarta.servlet.FilterChain;
@@ -27,17 +26,22 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String header = request.getHeader("Authorization"); // Bearer JWT
-        System.out.println("JWTAuthorizationFilter: path=" + request.getRequestURI() + " authHeader="
-                + (header != null ? header.substring(0, Math.min(header.length(), 20)) + "..." : "<null>"));
+        /*
+         * Through the filter's logger at debug level, System.out locks the console stream
+         * on every request, which pins a virtual thread's carrier while it writes
+         */
+        if (logger.isDebugEnabled()) {
+            logger.debug("Authorizing " + request.getRequestURI() + ", Authorization header "
+                    + (header != null ? "present" : "absent"));
+        }
 
         /*
          * When the user visit the register, the request header won't have
          * Authorization and could be also null, if so, there's no need to continue the
          * execution thus the return
          */
-        if (header == null || !header.startsWith(SecurityConstants.BEARER)) {
-            System.out.println(
-                    "JWTAuthorizationFilter: missing or invalid Authorization header, proceeding without auth");
+        if (!JwtTokens.isBearer(header)) {
+            logger.debug("No bearer token, proceeding without authentication");
             filterChain.doFilter(request, response);
             return; // No need to keep going after the registration uri is performed
         }
@@ -48,13 +52,12 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
          * passed to the token
          */
 
-        DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC512(SecurityConstants.SECRET_KEY))
-                .build().verify(token);
+        DecodedJWT decodedJWT = JwtTokens.verify(header);
 
         String username = decodedJWT.getSubject();
 
         // Extract the authorities from the JWT
-        List<String> authorities = decodedJWT.getClaim("authorities").asList(String.class);
+        List<String> authorities = JwtTokens.authorities(decodedJWT);
 
         // Convert to SimpleGrantedAuthority object using toList()
         List<SimpleGrantedAuthority> grantedAuthorities = authorities.stream()
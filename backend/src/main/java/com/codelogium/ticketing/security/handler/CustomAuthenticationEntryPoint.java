@@ -2,6 +2,8 @@ package com.codelogium.ticketing.security.handler;
 
 import java.io.IOException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 
@@ -13,11 +15,12 @@ import jakarta.servlet.http.HttpServletResponse;
 
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomAuthenticationEntryPoint.class);
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
             AuthenticationException authException) throws IOException, ServletException {
-        System.out.println("CustomAuthenticationEntryPoint: 401 for path=" + request.getRequestURI() +
-                ", reason=Access denied: Authentication required");
+        logger.debug("401 for {}: authentication required", request.getRequestURI());
         ExceptionHandlerFilter.sendJsonErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED,
                 "Access denied: Authentication required");
     }
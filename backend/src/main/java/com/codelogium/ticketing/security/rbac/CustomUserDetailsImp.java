@@ -8,7 +8,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.cache.UserSnapshot;
 import com.codelogium.ticketing.entity.enums.UserRole;
 
 import lombok.AllArgsConstructor;
@@ -25,7 +25,7 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class CustomUserDetailsImp implements UserDetails {
 
-    private User user;
+    private UserSnapshot user;
 
     /*
      * Even if user has single role, we must return a collection of authority.
@@ -5,22 +5,22 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
 import com.codelogium.ticketing.exception.ResourceNotFoundException;
-import com.codelogium.ticketing.repository.UserRepository;
 
 @Service
 public class CustomUserDetailsServiceImp implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
-    public CustomUserDetailsServiceImp(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomUserDetailsServiceImp(UserSnapshotCache userSnapshotCache) {
+        this.userSnapshotCache = userSnapshotCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserSnapshot user = userSnapshotCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Check if email is verified
@@ -0,0 +1,27 @@
+package com.codelogium.ticketing.security.rbac;
+
+import com.codelogium.ticketing.entity.enums.UserRole;
+
+/*
+ * Which tickets a role works with. Lists are scoped per role: admins list
+ * every ticket, support agents the ones assigned to them and users their own.
+ * A single ticket and its comments are open to admins and support agents,
+ * users only get their own and a 404 for anyone else's.
+ */
+public enum TicketScope {
+    ALL,
+    ASSIGNED,
+    CREATED;
+
+    public static TicketScope forRole(UserRole role) {
+        return switch (role) {
+            case ADMIN -> ALL;
+            case SUPPORT_AGENT -> ASSIGNED;
+            case USER -> CREATED;
+        };
+    }
+
+    public static boolean canRead(UserRole role, Long userId, Long creatorId) {
+        return role != UserRole.USER || userId.equals(creatorId);
+    }
+}
@@ -3,6 +3,7 @@ package com.codelogium.ticketing.service;
 import java.util.List;
 
 import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
 import com.codelogium.ticketing.entity.AuditLog;
 import com.codelogium.ticketing.entity.Comment;
 import com.codelogium.ticketing.entity.enums.UserRole;
@@ -20,9 +21,11 @@ public interface CommentService {
 
     List<AuditLog> retrieveAuditLogs(Long commentId, Long ticketId, Long userId);
 
-    List<Comment> getAllCommentsForTicket(Long ticketId, Long userId);
+    // A null limit returns every comment of the ticket in a single page
+    CommentPage retrieveComments(Long ticketId, Long userId, UserRole userRole, Integer limit, String after);
 
-    List<Comment> getAllCommentsForTicketByRole(Long ticketId, Long userId, UserRole userRole);
+    // Same page without the user and access checks, for callers that have already made them
+    CommentPage readComments(Long ticketId, Integer limit, String after);
 
     // DTO conversion methods
     CommentDTO convertToDTO(Comment comment);
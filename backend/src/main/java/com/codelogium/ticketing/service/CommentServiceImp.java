@@ -6,21 +6,30 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
 import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
+import com.codelogium.ticketing.dto.CommentView;
+import com.codelogium.ticketing.dto.TicketRef;
 import com.codelogium.ticketing.entity.AuditLog;
 import com.codelogium.ticketing.entity.Comment;
 import com.codelogium.ticketing.entity.Ticket;
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
 import com.codelogium.ticketing.exception.ResourceNotFoundException;
-import com.codelogium.ticketing.repository.AuditLogRepository;
 import com.codelogium.ticketing.repository.CommentRepository;
 import com.codelogium.ticketing.repository.TicketRepository;
 import com.codelogium.ticketing.repository.UserRepository;
 
-import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 
 @Service
@@ -29,9 +38,14 @@ public class CommentServiceImp implements CommentService {
 
     private CommentRepository commentRepository;
     private TicketRepository ticketRepository;
-    private AuditLogRepository auditLogRepository;
+    private AuditSink auditSink;
     private UserRepository userRepository; // only for validation
+    private ChangeEventBus changeEventBus;
+    private UserSnapshotCache userSnapshotCache;
 
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Transactional
     @Override
     public Comment createComment(Long ticketId, Long userId, Comment newComment) {
         User author = UserServiceImp.unwrapUser(userId, userRepository.findById(userId));
@@ -44,11 +58,13 @@ public class CommentServiceImp implements CommentService {
         newComment.setAuthor(author);
         newComment.setCreatedAt(Instant.now());
         Comment createdComment = commentRepository.save(newComment);
+        ticketRepository.recordCommentActivity(retrieveTicket.getId(), 1, createdComment.getCreatedAt());
+        changeEventBus.publish(commentAdded(retrieveTicket, createdComment, userId));
 
         // Log ticket creation
-        auditLogRepository.save(new AuditLog(
+        auditSink.append(new AuditLog(
+                null,
                 retrieveTicket.getId(),
-                ticketId,
                 createdComment.getId(),
                 userId,
                 "COMMENT_ADDED",
@@ -59,6 +75,7 @@ public class CommentServiceImp implements CommentService {
         return createdComment;
     }
 
+    @Transactional
     @Override
     public Comment createCommentByRole(Long ticketId, Long userId, Comment newComment, UserRole userRole) {
         User author = UserServiceImp.unwrapUser(userId, userRepository.findById(userId));
@@ -84,11 +101,13 @@ public class CommentServiceImp implements CommentService {
         newComment.setAuthor(author);
         newComment.setCreatedAt(Instant.now());
         Comment createdComment = commentRepository.save(newComment);
+        ticketRepository.recordCommentActivity(retrieveTicket.getId(), 1, createdComment.getCreatedAt());
+        changeEventBus.publish(commentAdded(retrieveTicket, createdComment, userId));
 
         // Log comment creation
-        auditLogRepository.save(new AuditLog(
+        auditSink.append(new AuditLog(
+                null,
                 retrieveTicket.getId(),
-                ticketId,
                 createdComment.getId(),
                 userId,
                 "COMMENT_ADDED",
@@ -96,8 +115,6 @@ public class CommentServiceImp implements CommentService {
                 createdComment.getContent(),
                 Instant.now()));
 
-        auditLogRepository.flush(); // Ensure immediate persistence
-
         return createdComment;
     }
 
@@ -125,7 +142,7 @@ public class CommentServiceImp implements CommentService {
             savedComment = commentRepository.save(retrievedComment);
 
             // Log ticket creation
-            auditLogRepository.save(new AuditLog(
+            auditSink.append(new AuditLog(
                     null,
                     ticket.getId(),
                     retrievedComment.getId(),
@@ -134,12 +151,11 @@ public class CommentServiceImp implements CommentService {
                     content,
                     retrievedComment.getContent(),
                     Instant.now()));
-
-            auditLogRepository.flush(); // Ensure immediate persistence
         }
         return savedComment;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Comment retrieveComment(Long userId, Long ticketId, Long commentId) {
         // Verify user existance by checking the creator relationship
@@ -154,6 +170,7 @@ public class CommentServiceImp implements CommentService {
         return retrievedComment;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<AuditLog> retrieveAuditLogs(Long commentId, Long ticketId, Long userId) {
         validateUser(userId);
@@ -162,22 +179,26 @@ public class CommentServiceImp implements CommentService {
 
         unwrapComment(commentId, commentRepository.findByIdAndTicketIdAndAuthorId(commentId, ticketId, userId));
 
-        return auditLogRepository.findByCommentId(commentId);
+        return auditSink.findByCommentId(commentId);
     }
 
+    @Transactional
     @Override
     public void removeComment(Long commentId, Long ticketId, Long userId) {
         // Check user exists
         validateUser(userId);
-        Ticket retrievedTicket = TicketServiceImp.unwrapTicket(ticketId,
-                ticketRepository.findByIdAndCreatorId(ticketId, userId));
-
-        Comment retrievedComment = unwrapComment(commentId,
-                commentRepository.findByIdAndTicketIdAndAuthorId(commentId, ticketId, userId));
-
-        retrievedTicket.getComments().remove(retrievedComment);
-        ticketRepository.save(retrievedTicket); // triggers orphanRemoval on ticket level
 
+        // Ownership of both the ticket and the comment is checked by the DELETE itself
+        if (commentRepository.deleteOwnedComment(commentId, ticketId, userId) == 0) {
+            throw new ResourceNotFoundException(commentId, Comment.class);
+        }
+        Instant removedAt = Instant.now();
+        ticketRepository.recordCommentActivity(ticketId, -1, removedAt);
+        // The ticket outlives the comment, its assignee is only needed to route the event
+        List<TicketRef> refs = ticketRepository.findRefsByIdIn(List.of(ticketId));
+        Long assigneeId = refs.isEmpty() ? null : refs.get(0).assigneeId();
+        changeEventBus.publish(new TicketEvent(TicketEventType.COMMENT_DELETED, ticketId, userId, assigneeId, null,
+                commentId, null, userId, removedAt, null));
     }
 
     // We're just validating, not actually querying and extracting the db
@@ -187,47 +208,59 @@ public class CommentServiceImp implements CommentService {
      * service and comment service
      */
     private void validateUser(Long userId) {
-        if (!userRepository.existsById(userId))
+        if (!userSnapshotCache.exists(userId))
             throw new ResourceNotFoundException(userId, User.class);
     }
 
+    @Transactional(readOnly = true)
     @Override
-    public List<Comment> getAllCommentsForTicket(Long ticketId, Long userId) {
+    public CommentPage retrieveComments(Long ticketId, Long userId, UserRole userRole, Integer limit, String after) {
         // Validate that the user exists
         validateUser(userId);
 
-        // Validate that the ticket exists and belongs to the user
-        Ticket ticket = TicketServiceImp.unwrapTicket(ticketId,
-                ticketRepository.findByIdAndCreatorId(ticketId, userId));
-
-        // Return all comments for this ticket
-        return ticket.getComments();
-    }
-
-    @Override
-    public List<Comment> getAllCommentsForTicketByRole(Long ticketId, Long userId, UserRole userRole) {
-        // Validate that the user exists
-        validateUser(userId);
-
-        Ticket ticket;
+        boolean accessible;
         switch (userRole) {
             case ADMIN:
             case SUPPORT_AGENT:
                 // Admins and support agents can access any ticket
-                ticket = TicketServiceImp.unwrapTicket(ticketId,
-                        ticketRepository.findById(ticketId));
+                accessible = ticketRepository.existsById(ticketId);
                 break;
             case USER:
                 // Users can only access their own tickets
-                ticket = TicketServiceImp.unwrapTicket(ticketId,
-                        ticketRepository.findByIdAndCreatorId(ticketId, userId));
+                accessible = ticketRepository.existsByIdAndCreatorId(ticketId, userId);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid user role: " + userRole);
         }
+        if (!accessible) {
+            throw new ResourceNotFoundException(ticketId, Ticket.class);
+        }
+        return readComments(ticketId, limit, after);
+    }
 
-        // Return all comments for this ticket
-        return ticket.getComments();
+    @Transactional(readOnly = true)
+    @Override
+    public CommentPage readComments(Long ticketId, Integer limit, String after) {
+        // One extra row tells whether another page follows without a count query
+        Pageable pageable = limit == null ? Pageable.unpaged()
+                : PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) + 1);
+
+        List<CommentView> views;
+        if (after == null || after.isBlank()) {
+            views = commentRepository.findViewsByTicketId(ticketId, pageable);
+        } else {
+            CommentCursor cursor = CommentCursor.decode(after);
+            views = commentRepository.findViewsByTicketIdAfter(ticketId, cursor.createdAt(), cursor.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (pageable.isPaged() && views.size() == pageable.getPageSize()) {
+            views = views.subList(0, views.size() - 1);
+            CommentView last = views.get(views.size() - 1);
+            nextCursor = new CommentCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return new CommentPage(views.stream().map(CommentServiceImp::toDTO).toList(), nextCursor);
     }
 
     @Override
@@ -256,6 +289,30 @@ public class CommentServiceImp implements CommentService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    private static CommentDTO toDTO(CommentView view) {
+        CommentDTO dto = new CommentDTO();
+        dto.setId(view.id());
+        dto.setContent(view.content());
+        dto.setCreatedAt(view.createdAt().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime());
+
+        if (view.authorId() != null) {
+            CommentDTO.CommentAuthorDTO authorDTO = new CommentDTO.CommentAuthorDTO();
+            authorDTO.setId(view.authorId());
+            authorDTO.setEmail(view.authorEmail());
+            authorDTO.setRole(view.authorRole());
+            dto.setAuthor(authorDTO);
+        }
+
+        return dto;
+    }
+
+    private static TicketEvent commentAdded(Ticket ticket, Comment comment, Long userId) {
+        return new TicketEvent(TicketEventType.COMMENT_ADDED, ticket.getId(),
+                ticket.getCreator() != null ? ticket.getCreator().getId() : null,
+                ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null, null, comment.getId(),
+                ticket.getStatus(), userId, comment.getCreatedAt(), null);
+    }
+
     public static Comment unwrapComment(Long commentId, Optional<Comment> optionalComment) {
         return optionalComment.orElseThrow(() -> new ResourceNotFoundException(commentId, Comment.class));
     }
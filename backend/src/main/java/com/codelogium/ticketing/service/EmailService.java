@@ -1,6 +1,7 @@
 package com.codelogium.ticketing.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.Random;
@@ -26,7 +27,11 @@ public class EmailService {
      * - JavaMail
      * 
      * For now, we'll just log the OTP for development purposes
+     *
+     * Sent on the application task executor (virtual threads when enabled), so the
+     * request does not wait on the mail provider
      */
+    @Async("applicationTaskExecutor")
     public void sendOTP(String email, String otp) {
         log.info("=== EMAIL VERIFICATION ===");
         log.info("To: {}", email);
@@ -44,6 +49,7 @@ public class EmailService {
     /**
      * Sends welcome email after successful verification
      */
+    @Async("applicationTaskExecutor")
     public void sendWelcomeEmail(String email) {
         log.info("=== WELCOME EMAIL ===");
         log.info("To: {}", email);
@@ -1,5 +1,6 @@
 package com.codelogium.ticketing.service;
 
+import com.codelogium.ticketing.cache.UserSnapshotCache;
 import com.codelogium.ticketing.dto.EmailVerificationDTO;
 import com.codelogium.ticketing.entity.EmailVerification;
 import com.codelogium.ticketing.entity.User;
@@ -20,6 +21,7 @@ public class EmailVerificationService {
     private final EmailVerificationRepository emailVerificationRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final UserSnapshotCache userSnapshotCache;
 
     private static final int OTP_VALIDITY_MINUTES = 10;
 
@@ -86,6 +88,8 @@ public class EmailVerificationService {
 
         user.setEmailVerified(true);
         userRepository.save(user);
+        // The cached snapshot still says unverified and would keep refusing the login
+        userSnapshotCache.evict(user.getId());
 
         // Send welcome email
         emailService.sendWelcomeEmail(user.getEmail());
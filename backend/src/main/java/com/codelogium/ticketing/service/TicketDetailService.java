@@ -0,0 +1,11 @@
+package com.codelogium.ticketing.service;
+
+import com.codelogium.ticketing.dto.FullTicketDTO;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.util.ServerTiming;
+
+public interface TicketDetailService {
+    // Records the time spent on each part in timing; a null commentLimit returns every comment
+    FullTicketDTO retrieveFullTicket(Long ticketId, Long userId, UserRole userRole, Integer commentLimit,
+            ServerTiming timing);
+}
@@ -0,0 +1,187 @@
+package com.codelogium.ticketing.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.config.TicketDetailConfig;
+import com.codelogium.ticketing.datasource.ReadRouting;
+import com.codelogium.ticketing.dto.CommentPage;
+import com.codelogium.ticketing.dto.FullTicketDTO;
+import com.codelogium.ticketing.entity.AuditLog;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.util.BackgroundThreads;
+import com.codelogium.ticketing.util.ServerTiming;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * The ticket detail page in one request. The ticket comes from the detail
+ * cache, which also makes the only access check. Comments and the audit trail
+ * are then read at the same time on a small shared pool, each part with its
+ * own deadline. A part that misses it, fails, or finds the pool saturated is
+ * left out and named in the response instead of failing the whole page.
+ */
+@Service
+public class TicketDetailServiceImp implements TicketDetailService, DisposableBean {
+
+    static final String TICKET = "ticket";
+    static final String COMMENTS = "comments";
+    static final String AUDIT = "audit";
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketDetailServiceImp.class);
+    private static final String THREAD_NAME = "ticket-detail";
+
+    private final TicketService ticketService;
+    private final CommentService commentService;
+    private final AuditSink auditSink;
+    private final ObjectMapper objectMapper;
+    // Each part's statements time out with its deadline, cancelling the Future alone leaves them running
+    private final TransactionTemplate commentsTransaction;
+    private final TransactionTemplate auditTransaction;
+    private final ThreadPoolExecutor executor;
+    private final long commentsTimeoutNanos;
+    private final long auditTimeoutNanos;
+
+    public TicketDetailServiceImp(TicketService ticketService, CommentService commentService, AuditSink auditSink,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager, TicketDetailConfig config,
+            BackgroundThreads backgroundThreads) {
+        this.ticketService = ticketService;
+        this.commentService = commentService;
+        this.auditSink = auditSink;
+        this.objectMapper = objectMapper;
+        this.commentsTransaction = readOnlyTransaction(transactionManager, config.getCommentsTimeoutMs());
+        this.auditTransaction = readOnlyTransaction(transactionManager, config.getAuditTimeoutMs());
+        this.executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()), backgroundThreads.factory(THREAD_NAME));
+        this.commentsTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getCommentsTimeoutMs());
+        this.auditTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getAuditTimeoutMs());
+    }
+
+    @Override
+    public FullTicketDTO retrieveFullTicket(Long ticketId, Long userId, UserRole userRole, Integer commentLimit,
+            ServerTiming timing) {
+        long start = System.nanoTime();
+        // Users get a 404 here for tickets that are not theirs, nothing else is read then
+        byte[] ticketJson = ticketService.retrieveTicketJson(ticketId, userId, userRole);
+        timing.add(TICKET, System.nanoTime() - start);
+
+        Part<CommentPage> comments = submit(COMMENTS, commentsTimeoutNanos,
+                () -> commentsTransaction.execute(
+                        status -> commentService.readComments(ticketId, commentLimit, null)));
+        // Same roles as GET /tickets/{id}/audit-logs
+        Part<List<AuditLog>> audit = userRole == UserRole.USER ? null
+                : submit(AUDIT, auditTimeoutNanos,
+                        () -> auditTransaction.execute(status -> auditSink.findByTicketId(ticketId)));
+
+        List<String> unavailable = new ArrayList<>();
+        CommentPage commentPage = comments.await(timing, unavailable);
+        List<AuditLog> auditLogs = audit == null ? null : audit.await(timing, unavailable);
+        timing.add("total", System.nanoTime() - start);
+
+        return new FullTicketDTO(readTree(ticketJson), commentPage != null ? commentPage.comments() : null,
+                commentPage != null ? commentPage.nextCursor() : null, auditLogs, unavailable);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // JDBC query timeouts are whole seconds, so a statement outlives a sub-second deadline by less than one
+    private static TransactionTemplate readOnlyTransaction(PlatformTransactionManager transactionManager,
+            long timeoutMs) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        return transaction;
+    }
+
+    private <T> Part<T> submit(String name, long timeoutNanos, Supplier<T> reads) {
+        // Carries the request's read-your-writes pin over to the pool thread
+        boolean primary = ReadRouting.readsFromPrimary();
+        Part<T> part = new Part<>(name, timeoutNanos);
+        try {
+            part.result = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return primary ? ReadRouting.onPrimary(reads) : reads.get();
+                } finally {
+                    part.nanos = System.nanoTime() - start;
+                    ReadRouting.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Left null, the pool and its queue are full
+        }
+        return part;
+    }
+
+    // The cached JSON is parsed rather than embedded raw, so the payload can also be written as CBOR
+    private JsonNode readTree(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cached ticket JSON could not be read", e);
+        }
+    }
+
+    private static final class Part<T> {
+        private final String name;
+        private final long submitted = System.nanoTime();
+        private final long timeoutNanos;
+        private Future<T> result;
+        // Written by the pool thread once the reads finish
+        private volatile long nanos;
+
+        private Part(String name, long timeoutNanos) {
+            this.name = name;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        // The part's value, or null after adding it to unavailable
+        private T await(ServerTiming timing, List<String> unavailable) {
+            if (result == null) {
+                timing.add(name, 0, "busy");
+                logger.warn("Ticket detail part {} skipped, all {} threads are busy", name, THREAD_NAME);
+            } else {
+                try {
+                    T value = result.get(Math.max(submitted + timeoutNanos - System.nanoTime(), 0),
+                            TimeUnit.NANOSECONDS);
+                    timing.add(name, nanos);
+                    return value;
+                } catch (TimeoutException e) {
+                    // Interrupts the read, the transaction timeout makes the driver abandon the statement
+                    result.cancel(true);
+                    timing.add(name, System.nanoTime() - submitted, "timeout");
+                    logger.warn("Ticket detail part {} timed out", name);
+                } catch (ExecutionException e) {
+                    timing.add(name, nanos, "error");
+                    logger.warn("Ticket detail part {} failed: {}", name, e.getCause().getMessage(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.cancel(true);
+                    timing.add(name, System.nanoTime() - submitted, "interrupted");
+                }
+            }
+            unavailable.add(name);
+            return null;
+        }
+    }
+}
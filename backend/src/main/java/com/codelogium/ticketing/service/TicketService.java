@@ -1,12 +1,15 @@
 package com.codelogium.ticketing.service;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.codelogium.ticketing.dto.NormalizedTicketList;
 import com.codelogium.ticketing.dto.TicketAssignmentDTO;
 import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
 import com.codelogium.ticketing.dto.TicketInfoUpdateDTO;
 import com.codelogium.ticketing.dto.TicketStatusUpdateDTO;
 import com.codelogium.ticketing.entity.AuditLog;
@@ -29,6 +32,8 @@ public interface TicketService {
 
     Ticket retrieveTicketById(Long ticketId); // New method for admin/agent access
 
+    byte[] retrieveTicketJson(Long ticketId, Long userId, UserRole userRole); // Cached, access checked by role
+
     void removeTicket(Long ticketId, Long userid);
 
     List<Ticket> retrieveTicketsByCreator(Long userId);
@@ -63,8 +68,16 @@ public interface TicketService {
     Page<Ticket> getTicketsByAssigneePaginatedFiltered(Long assigneeId, String search, Status status,
             com.codelogium.ticketing.entity.enums.Priority priority, Pageable pageable);
 
+    // Reads limited to the given fields, for the fields= parameter
+    Page<TicketDTO> retrieveTicketsProjected(Long userId, UserRole userRole, Set<TicketField> fields, String search,
+            Status status, com.codelogium.ticketing.entity.enums.Priority priority, Pageable pageable);
+
+    TicketDTO retrieveTicketProjected(Long ticketId, Long userId, UserRole userRole, Set<TicketField> fields);
+
     // DTO conversion methods
     TicketDTO convertToDTO(Ticket ticket);
 
     List<TicketDTO> convertToDTOList(List<Ticket> tickets);
+
+    NormalizedTicketList convertToNormalizedList(List<Ticket> tickets);
 }
@@ -2,16 +2,30 @@ package com.codelogium.ticketing.service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.datasource.ReadRouting;
+import com.codelogium.ticketing.dto.NormalizedTicketDTO;
+import com.codelogium.ticketing.dto.NormalizedTicketList;
 import com.codelogium.ticketing.dto.TicketAssignmentDTO;
 import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
 import com.codelogium.ticketing.dto.TicketInfoUpdateDTO;
+import com.codelogium.ticketing.dto.TicketRef;
 import com.codelogium.ticketing.dto.TicketStatusUpdateDTO;
 import com.codelogium.ticketing.dto.UserBasicDTO;
 import com.codelogium.ticketing.entity.AuditLog;
@@ -20,12 +34,16 @@ import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.Status;
 import com.codelogium.ticketing.entity.enums.Priority;
 import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+import com.codelogium.ticketing.exception.InvalidAssignmentException;
 import com.codelogium.ticketing.exception.ResourceNotFoundException;
-import com.codelogium.ticketing.repository.AuditLogRepository;
+import com.codelogium.ticketing.exception.StatusConflictException;
 import com.codelogium.ticketing.repository.TicketRepository;
 import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.security.rbac.TicketScope;
 
-import jakarta.transaction.Transactional;
 
 import static com.codelogium.ticketing.util.EntityUtils.*;
 
@@ -35,21 +53,28 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class TicketServiceImp implements TicketService {
 
+    private static final List<UserRole> ASSIGNABLE_ROLES = List.of(UserRole.SUPPORT_AGENT, UserRole.ADMIN);
+
     private TicketRepository ticketRepository;
     private UserRepository userRepository;
-    private AuditLogRepository auditLogRepository;
+    private AuditSink auditSink;
+    private ChangeEventBus changeEventBus;
+    private UserSnapshotCache userSnapshotCache;
+    private TicketDetailCache ticketDetailCache;
 
     @Override
     public Ticket createTicket(Long userId, Ticket newTicket) {
         User user = UserServiceImp.unwrapUser(userId, userRepository.findById(userId));
         newTicket.setCreator(user);
         newTicket.setStatus(Status.NEW); // default status
+        newTicket.setCommentCount(0); // only the comment updates in TicketRepository move it
         newTicket.setCreationDate(Instant.now());
+        newTicket.setLastActivityAt(newTicket.getCreationDate());
 
         Ticket createdTicket = ticketRepository.save(newTicket);
 
         // Log ticket creation
-        auditLogRepository.save(new AuditLog(
+        auditSink.append(new AuditLog(
                 null,
                 createdTicket.getId(),
                 null,
@@ -58,8 +83,8 @@ public class TicketServiceImp implements TicketService {
                 null,
                 createdTicket.getStatus().toString(),
                 Instant.now()));
-
-        auditLogRepository.flush(); // Ensure immediate persistence
+        changeEventBus.publish(ticketEvent(TicketEventType.TICKET_CREATED, createdTicket, userId,
+                createdTicket.getCreationDate()));
 
         return createdTicket;
     }
@@ -78,6 +103,9 @@ public class TicketServiceImp implements TicketService {
         updateIfNotNull(retrievedTicket::setDescription, dto.getDescription());
         updateIfNotNull(retrievedTicket::setCategory, dto.getCategory());
         updateIfNotNull(retrievedTicket::setPriority, dto.getPriority());
+        retrievedTicket.setLastActivityAt(Instant.now());
+        ticketDetailCache.evict(ticketId);
+        changeEventBus.publish(infoUpdated(retrievedTicket, userId));
 
         // Save ticket update
         return ticketRepository.save(retrievedTicket);
@@ -108,6 +136,9 @@ public class TicketServiceImp implements TicketService {
         updateIfNotNull(retrievedTicket::setDescription, dto.getDescription());
         updateIfNotNull(retrievedTicket::setCategory, dto.getCategory());
         updateIfNotNull(retrievedTicket::setPriority, dto.getPriority());
+        retrievedTicket.setLastActivityAt(Instant.now());
+        ticketDetailCache.evict(ticketId);
+        changeEventBus.publish(infoUpdated(retrievedTicket, userId));
 
         // Save ticket update
         return ticketRepository.save(retrievedTicket);
@@ -116,80 +147,83 @@ public class TicketServiceImp implements TicketService {
     @Transactional
     @Override
     public Ticket updateTicketStatus(Long ticketId, Long userId, TicketStatusUpdateDTO dto) {
-        // validate user exists
-        validateUser(userId);
-
-        // Get the ticket and verify it belongs to this user
-        Ticket retrievedTicket = unwrapTicket(ticketId, ticketRepository.findByIdAndCreatorId(ticketId, userId));
-
-        // Store old status before making changes
-        Status oldStatus = retrievedTicket.getStatus();
-
-        updateIfNotNull(retrievedTicket::setStatus, dto.getStatus());
-
-        Ticket savedTicket = ticketRepository.save(retrievedTicket);
-        // Log status change if only there's an actual modification
-        if (isStatusChanged(oldStatus, dto.getStatus())) {
-            auditLogRepository.save(new AuditLog(
-                    null,
-                    ticketId,
-                    null,
-                    userId,
-                    "STATUS_UPDATED",
-                    oldStatus.toString(),
-                    dto.getStatus().toString(),
-                    Instant.now()));
-
-            auditLogRepository.flush(); // Ensure immediate persistence
-
-        }
-        return savedTicket;
+        // The creator condition in the UPDATE verifies the ticket belongs to this user
+        return transitionStatus(ticketId, userId, userId, dto);
     }
 
     @Transactional
     @Override
     public Ticket updateTicketStatusByRole(Long ticketId, Long userId, TicketStatusUpdateDTO dto, UserRole userRole) {
-        // validate user exists
-        validateUser(userId);
-
-        Ticket retrievedTicket;
         switch (userRole) {
             case ADMIN:
             case SUPPORT_AGENT:
                 // Admins and support agents can update status for any ticket
-                retrievedTicket = unwrapTicket(ticketId, ticketRepository.findById(ticketId));
-                break;
+                return transitionStatus(ticketId, userId, null, dto);
             case USER:
                 // Users can update status only for their own tickets
-                retrievedTicket = unwrapTicket(ticketId, ticketRepository.findByIdAndCreatorId(ticketId, userId));
-                break;
+                return transitionStatus(ticketId, userId, userId, dto);
             default:
                 throw new IllegalArgumentException("Invalid user role: " + userRole);
         }
+    }
 
-        // Store old status before making changes
-        Status oldStatus = retrievedTicket.getStatus();
-
-        updateIfNotNull(retrievedTicket::setStatus, dto.getStatus());
+    /*
+     * Status changes are a single conditional UPDATE on the status the change is
+     * based on (the client's expectedStatus, or the current one when not given).
+     * If another change got there first no row matches and the caller gets a 409,
+     * so concurrent agents cannot silently overwrite each other.
+     */
+    private Ticket transitionStatus(Long ticketId, Long userId, Long creatorId, TicketStatusUpdateDTO dto) {
+        // validate user exists
+        validateUser(userId);
 
-        Ticket savedTicket = ticketRepository.save(retrievedTicket);
-        // Log status change if only there's an actual modification
-        if (isStatusChanged(oldStatus, dto.getStatus())) {
-            auditLogRepository.save(new AuditLog(
+        Status newStatus = dto.getStatus();
+        Status expectedStatus = dto.getExpectedStatus() != null
+                ? dto.getExpectedStatus()
+                : currentStatus(ticketId, creatorId);
+
+        if (expectedStatus != newStatus) {
+            if (!expectedStatus.canTransitionTo(newStatus)) {
+                throw new StatusConflictException(
+                        "A ticket cannot move from " + expectedStatus + " to " + newStatus);
+            }
+            Instant changedAt = Instant.now();
+            if (ticketRepository.compareAndSetStatus(ticketId, creatorId, expectedStatus, newStatus,
+                    changedAt) == 0) {
+                throw new StatusConflictException(ticketId, expectedStatus, currentStatus(ticketId, creatorId));
+            }
+            ticketDetailCache.evict(ticketId);
+            // Audit only what was actually applied
+            auditSink.append(new AuditLog(
                     null,
                     ticketId,
                     null,
                     userId,
                     "STATUS_UPDATED",
-                    oldStatus.toString(),
-                    dto.getStatus().toString(),
-                    Instant.now()));
+                    expectedStatus.toString(),
+                    newStatus.toString(),
+                    changedAt));
+            Ticket ticket = unwrapTicket(ticketId, ticketRepository.findById(ticketId));
+            changeEventBus.publish(ticketEvent(TicketEventType.STATUS_CHANGED, ticket, userId, changedAt));
+            return ticket;
+        }
 
-            auditLogRepository.flush(); // Ensure immediate persistence
+        // Nothing to change, but the read still checks ownership and that the ticket is where the client expects
+        Ticket ticket = unwrapTicket(ticketId, creatorId != null
+                ? ticketRepository.findByIdAndCreatorId(ticketId, creatorId)
+                : ticketRepository.findById(ticketId));
+        if (ticket.getStatus() != expectedStatus) {
+            throw new StatusConflictException(ticketId, expectedStatus, ticket.getStatus());
         }
-        return savedTicket;
+        return ticket;
+    }
+
+    private Status currentStatus(Long ticketId, Long creatorId) {
+        return ticketRepository.findStatus(ticketId, creatorId)
+                .orElseThrow(() -> new ResourceNotFoundException(ticketId, Ticket.class));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Ticket retrieveTicket(Long ticketId, Long userId) {
 
@@ -200,11 +234,34 @@ public class TicketServiceImp implements TicketService {
         return unwrapTicket(ticketId, ticketRepository.findByIdAndCreatorId(ticketId, userId));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Ticket retrieveTicketById(Long ticketId) {
         return unwrapTicket(ticketId, ticketRepository.findById(ticketId));
     }
 
+    /*
+     * Ticket detail as JSON, served from the near-cache when it holds the ticket.
+     * The caller's access is checked on every hit against the cached creator id:
+     * users only see their own tickets and get a 404 for anyone else's, like
+     * retrieveTicket.
+     */
+    @Override
+    public byte[] retrieveTicketJson(Long ticketId, Long userId, UserRole userRole) {
+        // Loaded from the primary, a lagging replica row would stay cached for the whole TTL
+        TicketDetailCache.Entry entry = ticketDetailCache.get(ticketId, id -> ReadRouting.onPrimary(() -> {
+            Ticket ticket = unwrapTicket(id, ticketRepository.findById(id));
+            return ticketDetailCache.encode(ticket.getVersion(),
+                    ticket.getCreator() != null ? ticket.getCreator().getId() : null, referencedUserIds(ticket),
+                    convertToDTO(ticket));
+        }));
+
+        if (!TicketScope.canRead(userRole, userId, entry.creatorId()))
+            throw new ResourceNotFoundException(ticketId, Ticket.class);
+        return entry.json();
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<Ticket> retrieveTicketsByCreator(Long userId) {
         validateUser(userId);
@@ -216,28 +273,30 @@ public class TicketServiceImp implements TicketService {
 
     // legacy search removed; use filtered list endpoints
 
+    @Transactional(readOnly = true)
     @Override
     public List<AuditLog> retrieveAuditLogs(Long ticketId, Long userId) {
         // Verify user existence by checking the creator relationship
         UserServiceImp.unwrapUser(userId, ticketRepository.findCreatorByTicket(ticketId));
 
-        return auditLogRepository.findByTicketId(ticketId);
+        return auditSink.findByTicketId(ticketId);
     }
 
+    @Transactional
     @Override
     public void removeTicket(Long ticketId, Long userId) {
         // validate user exists
         validateUser(userId);
 
-        // Get the ticket
-        Ticket ticket = unwrapTicket(ticketId, ticketRepository.findByIdAndCreatorId(ticketId, userId));
-
-        User user = ticket.getCreator();
-
-        user.getTickets().remove(ticket); // remove ticket from the user's list before updating
-
-        userRepository.save(user); // Save user to updated reference, this will trigger orphanRemoval thus no need
-                                   // to manually delete the ticket from tickerRepository
+        // The assignee is gone with the row, read it first so the agent's stream hears about the delete
+        Long assigneeId = assigneeOf(ticketId);
+        // Delete by id with the ownership check in the same statement, rather than loading the creator's tickets
+        if (ticketRepository.deleteByIdAndCreatorId(ticketId, userId) == 0) {
+            throw new ResourceNotFoundException(ticketId, Ticket.class);
+        }
+        ticketDetailCache.evict(ticketId);
+        changeEventBus.publish(new TicketEvent(TicketEventType.TICKET_DELETED, ticketId, userId, assigneeId, null, null,
+                null, userId, Instant.now(), null));
     }
 
     // We're just validating, not actually querying and extracting the db
@@ -247,48 +306,94 @@ public class TicketServiceImp implements TicketService {
      * service and comment service
      */
     private void validateUser(Long userId) {
-        if (!userRepository.existsById(userId))
+        if (!userSnapshotCache.exists(userId))
             throw new ResourceNotFoundException(userId, User.class);
     }
 
-    private boolean isStatusChanged(Status oldStatus, Status newStatus) {
-        return newStatus != null && !oldStatus.equals(newStatus);
-    }
-
     // Assignment methods implementation
     @Override
     @Transactional
     public Ticket assignTicket(Long ticketId, TicketAssignmentDTO assignmentDTO, Long assignedById) {
-        // Find the ticket
+        Long assigneeId = assignmentDTO.getAssignedToId();
+        Instant assignedAt = Instant.now();
+        // The agent losing the ticket is told as well as the one getting it
+        Long previousAssigneeId = assigneeOf(ticketId);
+
+        // Reference proxies only carry the ids, neither user is loaded
+        int updated = ticketRepository.assign(ticketId, userRepository.getReferenceById(assigneeId),
+                userRepository.getReferenceById(assignedById), assignedAt, ASSIGNABLE_ROLES);
+        if (updated == 0) {
+            // Only the failure path pays for finding out why
+            if (!ticketRepository.existsById(ticketId))
+                throw new ResourceNotFoundException(ticketId, Ticket.class);
+            if (!userRepository.existsById(assigneeId))
+                throw new ResourceNotFoundException(assigneeId, User.class);
+            throw new InvalidAssignmentException(assigneeId);
+        }
+        ticketDetailCache.evict(ticketId);
+
+        // Written in the assignment's transaction, the jpa sink commits it together with the UPDATE
+        auditSink.append(new AuditLog(
+                null,
+                ticketId,
+                null,
+                assignedById,
+                "ASSIGNED",
+                null,
+                assigneeId.toString(),
+                assignedAt));
+
         Ticket ticket = unwrapTicket(ticketId, ticketRepository.findById(ticketId));
+        changeEventBus.publish(ticketEvent(TicketEventType.ASSIGNED, ticket,
+                assigneeId.equals(previousAssigneeId) ? null : previousAssigneeId, assignedById, assignedAt));
+        return ticket;
+    }
 
-        // Find the user to assign to
-        User assignedToUser = userRepository.findById(assignmentDTO.getAssignedToId())
-                .orElseThrow(() -> new ResourceNotFoundException(assignmentDTO.getAssignedToId(), User.class));
+    private static TicketEvent ticketEvent(TicketEventType type, Ticket ticket, Long actorId, Instant occurredAt) {
+        return ticketEvent(type, ticket, null, actorId, occurredAt);
+    }
 
-        // Find the user who is assigning
-        User assignedByUser = userRepository.findById(assignedById)
-                .orElseThrow(() -> new ResourceNotFoundException(assignedById, User.class));
+    private static TicketEvent ticketEvent(TicketEventType type, Ticket ticket, Long previousAssigneeId, Long actorId,
+            Instant occurredAt) {
+        return new TicketEvent(type, ticket.getId(), ticket.getCreator() != null ? ticket.getCreator().getId() : null,
+                ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null, previousAssigneeId, null,
+                ticket.getStatus(), actorId, occurredAt, ticket.getVersion());
+    }
 
-        // Update assignment fields
-        ticket.setAssignedTo(assignedToUser);
-        ticket.setAssignedAt(Instant.now());
-        ticket.setAssignedBy(assignedByUser);
+    // The users convertToDTO renders, null for the roles the ticket has none for
+    private static List<Long> referencedUserIds(Ticket ticket) {
+        return Stream.of(ticket.getCreator(), ticket.getAssignedTo(), ticket.getAssignedBy())
+                .filter(Objects::nonNull)
+                .map(User::getId)
+                .toList();
+    }
 
-        // Save ticket
-        return ticketRepository.save(ticket);
+    private Long assigneeOf(Long ticketId) {
+        List<TicketRef> refs = ticketRepository.findRefsByIdIn(List.of(ticketId));
+        return refs.isEmpty() ? null : refs.get(0).assigneeId();
     }
 
+    // The new version is only assigned at flush, so the event does not carry one
+    private static TicketEvent infoUpdated(Ticket ticket, Long actorId) {
+        return new TicketEvent(TicketEventType.INFO_UPDATED, ticket.getId(),
+                ticket.getCreator() != null ? ticket.getCreator().getId() : null,
+                ticket.getAssignedTo() != null ? ticket.getAssignedTo().getId() : null, null, null,
+                ticket.getStatus(), actorId, ticket.getLastActivityAt(), null);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<Ticket> getAllTickets() {
         return ticketRepository.findAllWithCreator();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Ticket> getTicketsByAssignee(Long assigneeId) {
         return ticketRepository.findByAssignedToIdWithCreator(assigneeId);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<Ticket> getUnassignedTickets() {
         return ticketRepository.findByAssignedToIsNull();
@@ -307,6 +412,10 @@ public class TicketServiceImp implements TicketService {
         dto.setAssignedAt(ticket.getAssignedAt() != null
                 ? ticket.getAssignedAt().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()
                 : null);
+        dto.setCommentCount(ticket.getCommentCount());
+        dto.setLastActivityAt(ticket.getLastActivityAt() != null
+                ? ticket.getLastActivityAt().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()
+                : null);
 
         // Convert User entities to UserBasicDTO to avoid circular references
         if (ticket.getAssignedTo() != null) {
@@ -329,6 +438,43 @@ public class TicketServiceImp implements TicketService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    // One pass over the page, each referenced user is converted the first time it is seen
+    @Override
+    public NormalizedTicketList convertToNormalizedList(List<Ticket> tickets) {
+        List<NormalizedTicketDTO> dtos = new ArrayList<>(tickets.size());
+        Map<Long, UserBasicDTO> users = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            NormalizedTicketDTO dto = new NormalizedTicketDTO();
+            dto.setId(ticket.getId());
+            dto.setTitle(ticket.getTitle());
+            dto.setDescription(ticket.getDescription());
+            dto.setCreationDate(ticket.getCreationDate().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime());
+            dto.setStatus(ticket.getStatus());
+            dto.setCategory(ticket.getCategory());
+            dto.setPriority(ticket.getPriority());
+            dto.setAssignedAt(ticket.getAssignedAt() != null
+                    ? ticket.getAssignedAt().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()
+                    : null);
+            dto.setCommentCount(ticket.getCommentCount());
+            dto.setLastActivityAt(ticket.getLastActivityAt() != null
+                    ? ticket.getLastActivityAt().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()
+                    : null);
+            dto.setAssignedTo(referenceUser(ticket.getAssignedTo(), users));
+            dto.setAssignedBy(referenceUser(ticket.getAssignedBy(), users));
+            dto.setCreatedBy(referenceUser(ticket.getCreator(), users));
+            dtos.add(dto);
+        }
+        return new NormalizedTicketList(dtos, users);
+    }
+
+    private Long referenceUser(User user, Map<Long, UserBasicDTO> users) {
+        if (user == null) {
+            return null;
+        }
+        users.computeIfAbsent(user.getId(), id -> convertUserToBasicDTO(user));
+        return user.getId();
+    }
+
     private UserBasicDTO convertUserToBasicDTO(User user) {
         UserBasicDTO dto = new UserBasicDTO();
         dto.setId(user.getId());
@@ -342,22 +488,26 @@ public class TicketServiceImp implements TicketService {
     }
 
     // Paginated methods implementation
+    @Transactional(readOnly = true)
     @Override
     public Page<Ticket> getAllTicketsPaginated(Pageable pageable) {
         return ticketRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<Ticket> retrieveTicketsByCreatorPaginated(Long userId, Pageable pageable) {
         return ticketRepository.findByCreatorId(userId, pageable);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<Ticket> getTicketsByAssigneePaginated(Long assigneeId, Pageable pageable) {
         return ticketRepository.findByAssignedToId(assigneeId, pageable);
     }
 
     // Filtered pagination implementations
+    @Transactional(readOnly = true)
     @Override
     public Page<Ticket> getAllTicketsPaginatedFiltered(String search, Status status, Priority priority,
             Pageable pageable) {
@@ -365,6 +515,7 @@ public class TicketServiceImp implements TicketService {
         return ticketRepository.findAllFiltered(normalizedSearch, status, priority, pageable);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<Ticket> retrieveTicketsByCreatorPaginatedFiltered(Long userId, String search, Status status,
             Priority priority, Pageable pageable) {
@@ -373,10 +524,32 @@ public class TicketServiceImp implements TicketService {
         return ticketRepository.findByCreatorIdFiltered(userId, normalizedSearch, status, priority, pageable);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<Ticket> getTicketsByAssigneePaginatedFiltered(Long assigneeId, String search, Status status,
             Priority priority, Pageable pageable) {
         String normalizedSearch = (search == null || search.isBlank()) ? null : search;
         return ticketRepository.findByAssignedToIdFiltered(assigneeId, normalizedSearch, status, priority, pageable);
     }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Page<TicketDTO> retrieveTicketsProjected(Long userId, UserRole userRole, Set<TicketField> fields,
+            String search, Status status, Priority priority, Pageable pageable) {
+        return switch (TicketScope.forRole(userRole)) {
+            case ALL -> ticketRepository.findProjected(fields, null, null, search, status, priority, pageable);
+            case ASSIGNED -> ticketRepository.findProjected(fields, null, userId, search, status, priority, pageable);
+            case CREATED -> ticketRepository.findProjected(fields, userId, null, search, status, priority, pageable);
+        };
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public TicketDTO retrieveTicketProjected(Long ticketId, Long userId, UserRole userRole,
+            Set<TicketField> fields) {
+        // Users only read their own tickets, anyone else's is a 404 as on the full detail
+        Long creatorId = userRole == UserRole.USER ? userId : null;
+        return ticketRepository.findProjectedById(fields, ticketId, creatorId)
+                .orElseThrow(() -> new ResourceNotFoundException(ticketId, Ticket.class));
+    }
 }
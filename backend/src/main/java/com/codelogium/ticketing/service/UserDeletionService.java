@@ -0,0 +1,13 @@
+package com.codelogium.ticketing.service;
+
+import com.codelogium.ticketing.entity.UserDeletionJob;
+
+public interface UserDeletionService {
+    UserDeletionJob scheduleDeletion(Long userId);
+
+    UserDeletionJob retrieveJob(Long jobId);
+
+    void runJob(Long jobId);
+
+    void resumeUnfinishedJobs();
+}
@@ -0,0 +1,229 @@
+package com.codelogium.ticketing.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserDeletionConfig;
+import com.codelogium.ticketing.dto.TicketRef;
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
+import com.codelogium.ticketing.entity.enums.DeletionPhase;
+import com.codelogium.ticketing.entity.enums.DeletionStatus;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.repository.CommentRepository;
+import com.codelogium.ticketing.repository.EmailVerificationRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserDeletionJobRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+
+/*
+ * Deletes a user and everything they own as a background job.
+ *
+ * Work is done in keyset-ordered chunks (owned tickets first, then comments left
+ * on other tickets, then the account row), each chunk in its own short
+ * transaction that also saves the job's position. A job interrupted by a crash
+ * is picked up again on startup and continues from the last committed chunk.
+ * Tickets are deleted and updated with bulk statements, so every ticket they
+ * touch is evicted and gets its change event here.
+ */
+@Service
+public class UserDeletionServiceImp implements UserDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeletionServiceImp.class);
+    private static final List<DeletionStatus> UNFINISHED = List.of(DeletionStatus.PENDING, DeletionStatus.RUNNING);
+
+    private final UserDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final TicketRepository ticketRepository;
+    private final CommentRepository commentRepository;
+    private final EmailVerificationRepository emailVerificationRepository;
+    private final AuditSink auditSink;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final UserSnapshotCache userSnapshotCache;
+    private final TicketDetailCache ticketDetailCache;
+    private final ChangeEventBus changeEventBus;
+    private final int chunkSize;
+
+    public UserDeletionServiceImp(UserDeletionJobRepository jobRepository, UserRepository userRepository,
+            TicketRepository ticketRepository, CommentRepository commentRepository,
+            EmailVerificationRepository emailVerificationRepository, AuditSink auditSink,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor, UserSnapshotCache userSnapshotCache,
+            TicketDetailCache ticketDetailCache, ChangeEventBus changeEventBus, UserDeletionConfig userDeletionConfig) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.ticketRepository = ticketRepository;
+        this.commentRepository = commentRepository;
+        this.emailVerificationRepository = emailVerificationRepository;
+        this.auditSink = auditSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.userSnapshotCache = userSnapshotCache;
+        this.ticketDetailCache = ticketDetailCache;
+        this.changeEventBus = changeEventBus;
+        this.chunkSize = userDeletionConfig.getChunkSize();
+    }
+
+    @Override
+    public UserDeletionJob scheduleDeletion(Long userId) {
+        if (!userRepository.existsById(userId))
+            throw new ResourceNotFoundException(userId, User.class);
+
+        // A repeated request for the same user reports the job already in progress
+        UserDeletionJob existing = jobRepository.findFirstByUserIdAndStatusIn(userId, UNFINISHED).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+
+        UserDeletionJob job;
+        try {
+            job = jobRepository.save(new UserDeletionJob(userId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for the same user saved its job first, the unique active user id turned us away
+            return jobRepository.findFirstByUserIdAndStatusIn(userId, UNFINISHED).orElseThrow(() -> e);
+        }
+        taskExecutor.execute(() -> runJob(job.getId()));
+        return job;
+    }
+
+    @Override
+    public UserDeletionJob retrieveJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException(jobId, UserDeletionJob.class));
+    }
+
+    @Override
+    public void runJob(Long jobId) {
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(jobId)))) {
+                // each iteration commits one chunk together with the job position
+            }
+        } catch (RuntimeException e) {
+            logger.error("User deletion job {} failed: {}", jobId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> {
+                UserDeletionJob job = retrieveJob(jobId);
+                job.setStatus(DeletionStatus.FAILED);
+                job.setActiveUserId(null);
+                job.setFailureReason(e.getMessage());
+                job.setUpdatedAt(Instant.now());
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Override
+    public void resumeUnfinishedJobs() {
+        for (UserDeletionJob job : jobRepository.findByStatusIn(UNFINISHED)) {
+            logger.info("Resuming deletion of user {} (job {}, phase {})", job.getUserId(), job.getId(),
+                    job.getPhase());
+            taskExecutor.execute(() -> runJob(job.getId()));
+        }
+    }
+
+    // Runs inside one transaction, returns whether there is more work left
+    private boolean processChunk(Long jobId) {
+        UserDeletionJob job = retrieveJob(jobId);
+        if (!UNFINISHED.contains(job.getStatus())) {
+            return false;
+        }
+        job.setStatus(DeletionStatus.RUNNING);
+        job.setUpdatedAt(Instant.now());
+
+        Long userId = job.getUserId();
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+
+        switch (job.getPhase()) {
+            case TICKETS -> {
+                List<Long> ticketIds = ticketRepository.findIdsByCreatorAfter(userId, job.getLastProcessedId(), chunk);
+                if (ticketIds.isEmpty()) {
+                    moveTo(job, DeletionPhase.COMMENTS);
+                    return true;
+                }
+                List<TicketRef> tickets = ticketRepository.findRefsByIdIn(ticketIds);
+                // Comment audit entries carry the ticket id too, so this covers the whole ticket history
+                job.setAuditEntriesDeleted(job.getAuditEntriesDeleted() + auditSink.deleteByTicketIds(ticketIds));
+                job.setCommentsDeleted(job.getCommentsDeleted() + commentRepository.deleteByTicketIdIn(ticketIds));
+                job.setTicketsDeleted(job.getTicketsDeleted() + ticketRepository.deleteByIdIn(ticketIds));
+                tickets.forEach(ticket -> changed(TicketEventType.TICKET_DELETED, ticket, ticket.assigneeId(), null,
+                        userId));
+                job.setLastProcessedId(ticketIds.get(ticketIds.size() - 1));
+                return true;
+            }
+            case COMMENTS -> {
+                List<Long> commentIds = commentRepository.findIdsByAuthorAfter(userId, job.getLastProcessedId(), chunk);
+                if (commentIds.isEmpty()) {
+                    moveTo(job, DeletionPhase.ACCOUNT);
+                    return true;
+                }
+                job.setAuditEntriesDeleted(job.getAuditEntriesDeleted() + auditSink.deleteByCommentIds(commentIds));
+                List<TicketRef> tickets = ticketRepository.findRefsByCommentIdIn(commentIds);
+                ticketRepository.discountComments(commentIds);
+                job.setCommentsDeleted(job.getCommentsDeleted() + commentRepository.deleteByIdIn(commentIds));
+                tickets.forEach(ticket -> changed(TicketEventType.COMMENT_DELETED, ticket, ticket.assigneeId(), null,
+                        userId));
+                job.setLastProcessedId(commentIds.get(commentIds.size() - 1));
+                return true;
+            }
+            case ACCOUNT -> {
+                // Anything created while the job was running sends it back for another pass
+                if (ticketRepository.existsByCreatorId(userId) || commentRepository.existsByAuthorId(userId)) {
+                    moveTo(job, DeletionPhase.TICKETS);
+                    return true;
+                }
+                List<TicketRef> assigned = ticketRepository.findRefsByAssignee(userId);
+                List<TicketRef> assignedBy = ticketRepository.findRefsByAssigner(userId);
+                ticketRepository.clearAssignee(userId);
+                ticketRepository.clearAssigner(userId);
+                assigned.forEach(ticket -> changed(TicketEventType.ASSIGNED, ticket, null, userId, userId));
+                assignedBy.stream()
+                        .filter(ticket -> !userId.equals(ticket.assigneeId()))
+                        .forEach(ticket -> changed(TicketEventType.INFO_UPDATED, ticket, ticket.assigneeId(), null,
+                                userId));
+                userRepository.findById(userId)
+                        .ifPresent(user -> emailVerificationRepository.deleteByEmail(user.getEmail()));
+                userRepository.deleteUserRow(userId);
+                userSnapshotCache.evict(userId);
+
+                job.setStatus(DeletionStatus.COMPLETED);
+                job.setActiveUserId(null);
+                job.setCompletedAt(Instant.now());
+                logger.info("User {} deleted: {} tickets, {} comments, {} audit entries", userId,
+                        job.getTicketsDeleted(), job.getCommentsDeleted(), job.getAuditEntriesDeleted());
+                return false;
+            }
+            default -> throw new IllegalStateException("Unknown deletion phase: " + job.getPhase());
+        }
+    }
+
+    // The bulk statements bumped the versions, the event carries none so every node drops its cached copy
+    private void changed(TicketEventType type, TicketRef ticket, Long assigneeId, Long previousAssigneeId,
+            Long userId) {
+        ticketDetailCache.evict(ticket.id());
+        changeEventBus.publish(new TicketEvent(type, ticket.id(), ticket.creatorId(), assigneeId, previousAssigneeId,
+                null, null, userId, Instant.now(), null));
+    }
+
+    private void moveTo(UserDeletionJob job, DeletionPhase phase) {
+        job.setPhase(phase);
+        job.setLastProcessedId(0);
+    }
+}
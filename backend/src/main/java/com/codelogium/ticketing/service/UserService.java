@@ -1,7 +1,9 @@
 package com.codelogium.ticketing.service;
 
+import com.codelogium.ticketing.cache.UserSnapshot;
 import com.codelogium.ticketing.dto.SupportAgentDTO;
 import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
 import com.codelogium.ticketing.entity.enums.UserRole;
 
 import org.springframework.data.domain.Page;
@@ -14,9 +16,9 @@ public interface UserService {
 
     User retrieveUser(Long userId);
 
-    User retrieveUser(String email);
+    UserSnapshot retrieveUser(String email);
 
-    void removeUser(Long userId);
+    UserDeletionJob removeUser(Long userId);
 
     boolean existsByEmail(String email);
 
@@ -26,7 +28,7 @@ public interface UserService {
 
     Page<User> getAllUsers(Pageable pageable);
 
-    List<User> getSupportAgents();
+    List<SupportAgentDTO> getSupportAgents();
 
     List<SupportAgentDTO> getAssignableSupportAgents(Long currentUserId, UserRole currentUserRole);
 }
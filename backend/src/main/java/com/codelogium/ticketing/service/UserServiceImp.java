@@ -1,5 +1,6 @@
 package com.codelogium.ticketing.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,9 +8,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.codelogium.ticketing.cache.AgentDirectory;
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
 import com.codelogium.ticketing.dto.SupportAgentDTO;
 import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
 import com.codelogium.ticketing.entity.enums.UserRole;
 import com.codelogium.ticketing.exception.ResourceNotFoundException;
 import com.codelogium.ticketing.repository.UserRepository;
@@ -22,35 +28,41 @@ public class UserServiceImp implements UserService {
 
     private UserRepository userRepository;
     private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private UserDeletionService userDeletionService;
+    private UserSnapshotCache userSnapshotCache;
+    private AgentDirectory agentDirectory;
 
     @Override
     public User createUser(User user) {
         // Encoding the password before saving
         user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        return saveUser(user);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public User retrieveUser(Long userId) {
         return unwrapUser(userId, userRepository.findById(userId));
     }
 
-    // Retrieves a user based on email
+    // Retrieves a user based on email, from the snapshot cache every authenticated request goes through
     @Override
-    public User retrieveUser(String email) {
-        return userRepository.findByEmail(email)
+    public UserSnapshot retrieveUser(String email) {
+        return userSnapshotCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User with email " + email + " not found"));
     }
 
+    // Deletion runs in the background in chunks, the returned job reports its progress
     @Override
-    public void removeUser(Long userId) {
-        User retrievedUser = unwrapUser(userId, userRepository.findById(userId));
-
-        userRepository.delete(retrievedUser);
+    public UserDeletionJob removeUser(Long userId) {
+        UserDeletionJob job = userDeletionService.scheduleDeletion(userId);
+        // The job evicts again once the row is gone
+        userSnapshotCache.evict(userId);
+        return job;
     }
 
     public void validateUserExists(Long userId) {
-        if (!userRepository.existsById(userId))
+        if (!userSnapshotCache.exists(userId))
             throw new ResourceNotFoundException(userId, User.class);
     }
 
@@ -61,51 +73,50 @@ public class UserServiceImp implements UserService {
 
     @Override
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Also announces new users, the agent directory picks up new agents from it
+        userSnapshotCache.evict(savedUser.getId());
+        return savedUser;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<User> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable);
     }
 
     @Override
-    public List<User> getSupportAgents() {
-        return userRepository.findByRoleIn(List.of(
-                com.codelogium.ticketing.entity.enums.UserRole.SUPPORT_AGENT,
-                com.codelogium.ticketing.entity.enums.UserRole.ADMIN));
+    public List<SupportAgentDTO> getSupportAgents() {
+        return agentDirectory.staff();
     }
 
+    // Served from the in-memory directory, the only allocation is the filtered response
     @Override
     public List<SupportAgentDTO> getAssignableSupportAgents(Long currentUserId, UserRole currentUserRole) {
-        List<User> supportAgents;
-
         switch (currentUserRole) {
             case ADMIN:
                 // Admin gets all support agents (excluding admin and users)
-                supportAgents = userRepository.findByRole(UserRole.SUPPORT_AGENT);
-                break;
+                return agentDirectory.supportAgents();
             case SUPPORT_AGENT:
                 // Support agent gets other support agents (excluding themselves)
-                supportAgents = userRepository.findByRole(UserRole.SUPPORT_AGENT);
-                supportAgents = supportAgents.stream()
-                        .filter(user -> !user.getId().equals(currentUserId))
-                        .collect(java.util.stream.Collectors.toList());
-                break;
+                List<SupportAgentDTO> supportAgents = agentDirectory.supportAgents();
+                List<SupportAgentDTO> others = new ArrayList<>(supportAgents.size());
+                for (SupportAgentDTO agent : supportAgents) {
+                    if (!agent.getId().equals(currentUserId)) {
+                        others.add(agent);
+                    }
+                }
+                return others;
             default:
                 throw new IllegalArgumentException(
                         "Invalid user role for getting assignable support agents: " + currentUserRole);
         }
-
-        // Convert to DTO with only id and email
-        return supportAgents.stream()
-                .map(user -> new SupportAgentDTO(user.getId(), user.getEmail()))
-                .collect(java.util.stream.Collectors.toList());
     }
 
     public static User unwrapUser(Long userId, Optional<User> optionalUser) {
@@ -0,0 +1,50 @@
+package com.codelogium.ticketing.util;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/*
+ * Threads for the app's own background work: audit flushing, event dispatch,
+ * the change event listener and replica health checks. With spring.threads.virtual.enabled on Java 21 or
+ * later they are virtual threads, like Tomcat's request threads and the
+ * application task executor; otherwise daemon platform threads.
+ */
+@Component
+public class BackgroundThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundThreads.class);
+
+    private final boolean virtual;
+
+    public BackgroundThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        if (!virtual && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("Virtual threads are enabled but Java {} has none, requests and background work run on "
+                    + "platform threads", JavaVersion.getJavaVersion());
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory factory(String name) {
+        return virtual ? new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory() : platform(name);
+    }
+
+    // For components built outside the context
+    public static ThreadFactory platform(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
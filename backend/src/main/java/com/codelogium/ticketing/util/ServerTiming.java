@@ -0,0 +1,29 @@
+package com.codelogium.ticketing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Collects the metrics of one response for its Server-Timing header, e.g.
+ * ticket;dur=0.4, comments;dur=12.1, audit;desc="timeout";dur=2000.0. Browsers
+ * show them next to the request in their network panel.
+ */
+public class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final List<String> metrics = new ArrayList<>();
+
+    public void add(String name, long nanos) {
+        metrics.add(String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / 1_000_000.0));
+    }
+
+    public void add(String name, long nanos, String description) {
+        metrics.add(String.format(Locale.ROOT, "%s;desc=\"%s\";dur=%.1f", name, description, nanos / 1_000_000.0));
+    }
+
+    public String header() {
+        return String.join(", ", metrics);
+    }
+}
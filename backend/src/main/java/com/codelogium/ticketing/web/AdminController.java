@@ -3,7 +3,9 @@ package com.codelogium.ticketing.web;
 import com.codelogium.ticketing.dto.SupportAgentCreationDTO;
 import com.codelogium.ticketing.dto.SupportAgentDTO;
 import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
 import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.service.UserDeletionService;
 import com.codelogium.ticketing.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -32,6 +34,7 @@ import java.util.Map;
 public class AdminController {
 
     private final UserService userService;
+    private final UserDeletionService userDeletionService;
     private final BCryptPasswordEncoder passwordEncoder;
 
     @PostMapping("/create-support-agent")
@@ -73,18 +76,27 @@ public class AdminController {
 
     @DeleteMapping("/users/{userId}")
     @PreAuthorize("hasAuthority('ADMIN')")
-    @Operation(summary = "Delete user", description = "Admin can delete any user account")
-    public ResponseEntity<Map<String, String>> deleteUser(@PathVariable Long userId) {
+    @Operation(summary = "Delete user", description = "Admin can delete any user account. Deletion runs in the background, poll the returned job for progress")
+    public ResponseEntity<Map<String, Object>> deleteUser(@PathVariable Long userId) {
 
         User user = userService.retrieveUser(userId);
 
-        userService.removeUser(userId);
+        UserDeletionJob job = userService.removeUser(userId);
 
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "User deleted successfully");
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "User deletion scheduled");
         response.put("deletedEmail", user.getEmail());
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/user-deletions/{jobId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "Get user deletion progress", description = "Status, phase and deleted row counts of a user deletion job")
+    public ResponseEntity<UserDeletionJob> getUserDeletion(@PathVariable Long jobId) {
+        return ResponseEntity.ok(userDeletionService.retrieveJob(jobId));
     }
 
     @GetMapping("/users/{userId}")
@@ -136,12 +148,6 @@ public class AdminController {
     @PreAuthorize("hasAnyAuthority('SUPPORT_AGENT', 'ADMIN')")
     @Operation(summary = "Get support agents", description = "Get list of support agents for assignment. Returns different data based on user role.")
     public ResponseEntity<List<SupportAgentDTO>> getSupportAgents() {
-        List<User> supportAgents = userService.getSupportAgents();
-
-        List<SupportAgentDTO> agentDTOs = supportAgents.stream()
-                .map(agent -> new SupportAgentDTO(agent.getId(), agent.getEmail()))
-                .collect(java.util.stream.Collectors.toList());
-
-        return ResponseEntity.ok(agentDTOs);
+        return ResponseEntity.ok(userService.getSupportAgents());
     }
 }
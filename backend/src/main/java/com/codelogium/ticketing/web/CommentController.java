@@ -9,7 +9,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import com.codelogium.ticketing.cache.UserSnapshot;
 import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
 import com.codelogium.ticketing.entity.AuditLog;
 import com.codelogium.ticketing.entity.Comment;
 import com.codelogium.ticketing.entity.User;
@@ -31,37 +33,36 @@ import lombok.AllArgsConstructor;
 @RestController
 @AllArgsConstructor
 @Tag(name = "Comment Controller", description = "Manages comments on tickets")
-@RequestMapping(value = "/tickets/{ticketId}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(value = "/tickets/{ticketId}/comments", produces = { MediaType.APPLICATION_JSON_VALUE,
+                MediaType.APPLICATION_CBOR_VALUE })
 public class CommentController {
 
         private final CommentService commentService;
         private final UserService userService;
 
+        private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Comments successfully retrieved", content = @Content(array = @ArraySchema(schema = @Schema(implementation = CommentDTO.class)))),
+                        @ApiResponse(responseCode = "200", description = "Comments successfully retrieved, the X-Next-Cursor header is set when more comments follow", content = @Content(array = @ArraySchema(schema = @Schema(implementation = CommentDTO.class)))),
+                        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                         @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                         @ApiResponse(ref = "#/components/responses/401")
         })
-        @Operation(summary = "Get All Comments", description = "Retrieves all comments for a ticket")
+        @Operation(summary = "Get All Comments", description = "Retrieves the comments of a ticket, oldest first. Pass limit to page through them and the returned X-Next-Cursor as after to fetch the next page")
         @GetMapping
-        public ResponseEntity<List<CommentDTO>> getAllComments(@PathVariable Long ticketId) {
+        public ResponseEntity<List<CommentDTO>> getAllComments(@PathVariable Long ticketId,
+                        @RequestParam(required = false) Integer limit,
+                        @RequestParam(required = false) String after) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 String email = auth.getName();
-                User currentUser = userService.retrieveUser(email);
+                UserSnapshot currentUser = userService.retrieveUser(email);
 
-                switch (currentUser.getRole()) {
-                        case ADMIN:
-                        case SUPPORT_AGENT:
-                                List<Comment> adminComments = commentService.getAllCommentsForTicketByRole(ticketId,
-                                                currentUser.getId(), currentUser.getRole());
-                                return ResponseEntity.ok(commentService.convertToDTOList(adminComments));
-                        case USER:
-                                List<Comment> userComments = commentService.getAllCommentsForTicket(ticketId,
-                                                currentUser.getId());
-                                return ResponseEntity.ok(commentService.convertToDTOList(userComments));
-                        default:
-                                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                CommentPage page = commentService.retrieveComments(ticketId, currentUser.getId(),
+                                currentUser.getRole(), limit, after);
+                if (page.nextCursor() == null) {
+                        return ResponseEntity.ok(page.comments());
                 }
+                return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.nextCursor()).body(page.comments());
         }
 
         @ApiResponses(value = {
@@ -76,7 +77,7 @@ public class CommentController {
                         @RequestBody @Valid Comment newComment) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 String email = auth.getName();
-                User currentUser = userService.retrieveUser(email);
+                UserSnapshot currentUser = userService.retrieveUser(email);
 
                 switch (currentUser.getRole()) {
                         case ADMIN:
@@ -106,7 +107,7 @@ public class CommentController {
                         @RequestBody @Valid Comment newComment) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 String email = auth.getName();
-                User currentUser = userService.retrieveUser(email);
+                UserSnapshot currentUser = userService.retrieveUser(email);
 
                 return ResponseEntity
                                 .ok(commentService.updateComment(commentId, ticketId, currentUser.getId(), newComment));
@@ -124,7 +125,7 @@ public class CommentController {
                         @PathVariable Long ticketId) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 String email = auth.getName();
-                User currentUser = userService.retrieveUser(email);
+                UserSnapshot currentUser = userService.retrieveUser(email);
 
                 return ResponseEntity.ok(commentService.retrieveComment(currentUser.getId(), ticketId, commentId));
         }
@@ -140,7 +141,7 @@ public class CommentController {
                         @PathVariable Long ticketId) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 String email = auth.getName();
-                User currentUser = userService.retrieveUser(email);
+                UserSnapshot currentUser = userService.retrieveUser(email);
 
                 return ResponseEntity.ok(commentService.retrieveAuditLogs(commentId, ticketId, currentUser.getId()));
         }
@@ -157,7 +158,7 @@ public class CommentController {
                         @PathVariable Long ticketId) {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
                 String email = auth.getName();
-                User currentUser = userService.retrieveUser(email);
+                UserSnapshot currentUser = userService.retrieveUser(email);
 
                 commentService.removeComment(commentId, ticketId, currentUser.getId());
                 return ResponseEntity.noContent().build();
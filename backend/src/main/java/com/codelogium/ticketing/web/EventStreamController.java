@@ -0,0 +1,42 @@
+package com.codelogium.ticketing.web;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.event.TicketEventHub;
+import com.codelogium.ticketing.service.UserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@RestController
+@AllArgsConstructor
+@Tag(name = "Event Stream Controller", description = "Streams live ticket and comment updates")
+public class EventStreamController {
+
+        private final TicketEventHub eventHub;
+        private final UserService userService;
+
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+                        @ApiResponse(ref = "#/components/responses/401")
+        })
+        @Operation(summary = "Stream Ticket Events", description = "Server-Sent Events for status changes, assignments and new comments on the tickets visible to the caller. Send Last-Event-ID to resume, a RESET event means the missed events are no longer available")
+        @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+                String email = auth.getName();
+                UserSnapshot currentUser = userService.retrieveUser(email);
+
+                return eventHub.subscribe(currentUser.getId(), currentUser.getRole(), lastEventId);
+        }
+}
@@ -0,0 +1,102 @@
+package com.codelogium.ticketing.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * Format selection for the endpoints that answer with pre-serialized JSON
+ * (the ticket detail cache and the sparse field writers). Everything else is
+ * negotiated by the message converters. Cached JSON is transcoded token by
+ * token when CBOR is asked for, so the cache keeps a single copy per ticket.
+ */
+@Component
+public class ResponseEncoding {
+
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ObjectMapper cborMapper;
+
+    public ResponseEncoding(MappingJackson2CborHttpMessageConverter cborConverter) {
+        this.cborMapper = cborConverter.getObjectMapper();
+    }
+
+    // The format the Accept header rates highest. Each format takes the quality of the most specific
+    // range including it, so application/json;q=0 excludes JSON even next to a wildcard. Ties go to the
+    // more specific range, then to JSON. A header that does not parse is ignored, as if it were absent
+    public static MediaType negotiate(String accept) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        if (accepted.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = null;
+        MediaType bestRange = null;
+        for (MediaType format : FORMATS) {
+            MediaType range = mostSpecificRange(accepted, format);
+            if (range == null || range.getQualityValue() == 0) {
+                continue;
+            }
+            if (bestRange == null || range.getQualityValue() > bestRange.getQualityValue()
+                    || (range.getQualityValue() == bestRange.getQualityValue()
+                            && specificity(range) > specificity(bestRange))) {
+                best = format;
+                bestRange = range;
+            }
+        }
+        if (best == null) {
+            throw new HttpMediaTypeNotAcceptableException(FORMATS);
+        }
+        return best;
+    }
+
+    private static MediaType mostSpecificRange(List<MediaType> accepted, MediaType format) {
+        MediaType match = null;
+        for (MediaType range : accepted) {
+            if (range.includes(format) && (match == null || specificity(range) > specificity(match))) {
+                match = range;
+            }
+        }
+        return match;
+    }
+
+    // Wildcard type, wildcard subtype, concrete type
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+
+    public static boolean isCbor(MediaType format) {
+        return MediaType.APPLICATION_CBOR.equals(format);
+    }
+
+    public byte[] fromJson(byte[] json, MediaType format) {
+        if (!isCbor(format)) {
+            return json;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+                JsonGenerator generator = cborMapper.getFactory().createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not transcode the response to " + format, e);
+        }
+        return out.toByteArray();
+    }
+}
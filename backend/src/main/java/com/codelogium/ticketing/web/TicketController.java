@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,10 +12,16 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 
+import com.codelogium.ticketing.cache.TicketFieldWriters;
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.dto.FullTicketDTO;
+import com.codelogium.ticketing.dto.NormalizedTicketList;
 import com.codelogium.ticketing.dto.TicketAssignmentDTO;
 import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
 import com.codelogium.ticketing.dto.TicketInfoUpdateDTO;
 import com.codelogium.ticketing.dto.TicketStatusUpdateDTO;
 import com.codelogium.ticketing.dto.SupportAgentDTO;
@@ -23,8 +30,12 @@ import com.codelogium.ticketing.entity.Ticket;
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.Status;
 import com.codelogium.ticketing.exception.ErrorResponse;
+import com.codelogium.ticketing.exception.InvalidFieldsException;
+import com.codelogium.ticketing.security.rbac.TicketScope;
+import com.codelogium.ticketing.service.TicketDetailService;
 import com.codelogium.ticketing.service.TicketService;
 import com.codelogium.ticketing.service.UserService;
+import com.codelogium.ticketing.util.ServerTiming;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -40,23 +51,28 @@ import lombok.AllArgsConstructor;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @EnableMethodSecurity // apply security measures at method level
 @AllArgsConstructor
 @Tag(name = "Ticket Controller", description = "Manages support tickets for users")
-@RequestMapping(value = "/tickets", produces = MediaType.APPLICATION_JSON_VALUE)
+// DTO endpoints offer JSON and CBOR through the message converters, the byte[] ones negotiate by hand
+@RequestMapping("/tickets")
 public class TicketController {
 
     private final TicketService ticketService;
     private final UserService userService;
+    private final TicketFieldWriters ticketFieldWriters;
+    private final ResponseEncoding responseEncoding;
+    private final TicketDetailService ticketDetailService;
 
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tickets successfully retrieved", content = @Content(schema = @Schema(implementation = Map.class))),
             @ApiResponse(ref = "#/components/responses/401")
     })
-    @Operation(summary = "Get Tickets with Pagination", description = "Role-based ticket retrieval with pagination: User sees own tickets, Admin sees all tickets, Support Agent sees assigned tickets")
-    @GetMapping
+    @Operation(summary = "Get Tickets with Pagination", description = "Role-based ticket retrieval with pagination: User sees own tickets, Admin sees all tickets, Support Agent sees assigned tickets. With normalized=true, tickets carry user ids and a top-level users map holds each referenced user once")
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<Map<String, Object>> getTickets(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -64,11 +80,12 @@ public class TicketController {
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Status status,
-            @RequestParam(required = false) com.codelogium.ticketing.entity.enums.Priority priority) {
+            @RequestParam(required = false) com.codelogium.ticketing.entity.enums.Priority priority,
+            @RequestParam(defaultValue = "false") boolean normalized) {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         Sort sort = sortDir.equalsIgnoreCase("desc")
                 ? Sort.by(sortBy).descending()
@@ -76,25 +93,29 @@ public class TicketController {
 
         Pageable pageable = PageRequest.of(page, size, sort);
         boolean hasFilters = (search != null && !search.isBlank()) || status != null || priority != null;
-        Page<Ticket> ticketPage = switch (currentUser.getRole()) {
-            case USER -> hasFilters
+        Page<Ticket> ticketPage = switch (TicketScope.forRole(currentUser.getRole())) {
+            case CREATED -> hasFilters
                     ? ticketService.retrieveTicketsByCreatorPaginatedFiltered(currentUser.getId(), search, status,
                             priority, pageable)
                     : ticketService.retrieveTicketsByCreatorPaginated(currentUser.getId(), pageable);
-            case ADMIN -> hasFilters
+            case ALL -> hasFilters
                     ? ticketService.getAllTicketsPaginatedFiltered(search, status, priority, pageable)
                     : ticketService.getAllTicketsPaginated(pageable);
-            case SUPPORT_AGENT -> hasFilters
+            case ASSIGNED -> hasFilters
                     ? ticketService.getTicketsByAssigneePaginatedFiltered(currentUser.getId(), search, status, priority,
                             pageable)
                     : ticketService.getTicketsByAssigneePaginated(currentUser.getId(), pageable);
-            default -> Page.empty(pageable);
         };
 
-        List<TicketDTO> ticketDTOs = ticketService.convertToDTOList(ticketPage.getContent());
-
         Map<String, Object> response = new HashMap<>();
-        response.put("tickets", ticketDTOs);
+        if (normalized) {
+            NormalizedTicketList normalizedList = ticketService.convertToNormalizedList(ticketPage.getContent());
+            response.put("tickets", normalizedList.tickets());
+            response.put("users", normalizedList.users());
+        } else {
+            List<TicketDTO> ticketDTOs = ticketService.convertToDTOList(ticketPage.getContent());
+            response.put("tickets", ticketDTOs);
+        }
         response.put("currentPage", ticketPage.getNumber());
         response.put("totalItems", ticketPage.getTotalElements());
         response.put("totalPages", ticketPage.getTotalPages());
@@ -105,13 +126,64 @@ public class TicketController {
         return ResponseEntity.ok(response);
     }
 
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tickets successfully retrieved, limited to the requested fields", content = @Content(schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field or sort property", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(ref = "#/components/responses/401")
+    })
+    @Operation(summary = "Get Ticket Fields with Pagination", description = "Same scoping, paging and filters as Get Tickets, but each ticket only has the comma-separated fields (TicketDTO property names, id is always included). Only their columns are read")
+    @GetMapping(params = "fields")
+    public ResponseEntity<byte[]> getTicketFields(
+            @RequestParam String fields,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) com.codelogium.ticketing.entity.enums.Priority priority,
+            @RequestParam(defaultValue = "false") boolean normalized,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept)
+            throws HttpMediaTypeNotAcceptableException {
+        if (normalized) {
+            throw new InvalidFieldsException("fields cannot be combined with normalized");
+        }
+        Set<TicketField> selected = TicketField.parse(fields);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        UserSnapshot currentUser = userService.retrieveUser(email);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Page<TicketDTO> ticketPage = ticketService.retrieveTicketsProjected(currentUser.getId(),
+                currentUser.getRole(), selected, search, status, priority, PageRequest.of(page, size, sort));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("tickets", ticketPage.getContent());
+        response.put("currentPage", ticketPage.getNumber());
+        response.put("totalItems", ticketPage.getTotalElements());
+        response.put("totalPages", ticketPage.getTotalPages());
+        response.put("size", ticketPage.getSize());
+        response.put("hasNext", ticketPage.hasNext());
+        response.put("hasPrevious", ticketPage.hasPrevious());
+
+        MediaType format = ResponseEncoding.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(ticketFieldWriters.write(response, selected, format));
+    }
+
     // Overload for backward-compatibility in tests (no filters)
     public ResponseEntity<Map<String, Object>> getTickets(
             int page,
             int size,
             String sortBy,
             String sortDir) {
-        return getTickets(page, size, sortBy, sortDir, null, null, null);
+        return getTickets(page, size, sortBy, sortDir, null, null, null, false);
     }
 
     @ApiResponses(value = {
@@ -126,10 +198,13 @@ public class TicketController {
     public ResponseEntity<String> createTicket(@RequestBody @Valid Ticket newTicket) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         ticketService.createTicket(currentUser.getId(), newTicket);
-        return ResponseEntity.status(HttpStatus.CREATED).body("Ticket created successfully");
+        // Plain text whatever the Accept header, the string converter would otherwise label it with any accepted type
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Ticket created successfully");
     }
 
     @ApiResponses(value = {
@@ -139,24 +214,71 @@ public class TicketController {
     })
     @Operation(summary = "Get Ticket", description = "Retrieves a ticket by ID")
     @GetMapping("/{ticketId}")
-    public ResponseEntity<TicketDTO> retrieveTicket(@PathVariable Long ticketId) {
+    public ResponseEntity<byte[]> retrieveTicket(@PathVariable Long ticketId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType format = ResponseEncoding.negotiate(accept);
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
+        // The cached TicketDTO JSON is written as is, or transcoded for CBOR
         return switch (currentUser.getRole()) {
-            case ADMIN, SUPPORT_AGENT -> {
-                Ticket ticket = ticketService.retrieveTicketById(ticketId);
-                yield ResponseEntity.ok(ticketService.convertToDTO(ticket));
-            }
-            case USER -> {
-                Ticket userTicket = ticketService.retrieveTicket(ticketId, currentUser.getId());
-                yield ResponseEntity.ok(ticketService.convertToDTO(userTicket));
-            }
+            case ADMIN, SUPPORT_AGENT, USER -> ResponseEntity.ok()
+                    .contentType(format)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(responseEncoding.fromJson(
+                            ticketService.retrieveTicketJson(ticketId, currentUser.getId(), currentUser.getRole()),
+                            format));
             default -> ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         };
     }
 
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket successfully retrieved, limited to the requested fields", content = @Content(schema = @Schema(implementation = TicketDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(ref = "#/components/responses/401")
+    })
+    @Operation(summary = "Get Ticket Fields", description = "Retrieves a ticket by ID with only the comma-separated fields (TicketDTO property names, id is always included). Only their columns are read, bypassing the detail cache")
+    @GetMapping(value = "/{ticketId}", params = "fields")
+    public ResponseEntity<byte[]> retrieveTicketFields(@PathVariable Long ticketId, @RequestParam String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept)
+            throws HttpMediaTypeNotAcceptableException {
+        Set<TicketField> selected = TicketField.parse(fields);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        UserSnapshot currentUser = userService.retrieveUser(email);
+
+        TicketDTO ticket = ticketService.retrieveTicketProjected(ticketId, currentUser.getId(), currentUser.getRole(),
+                selected);
+        MediaType format = ResponseEncoding.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(ticketFieldWriters.write(ticket, selected, format));
+    }
+
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ticket, comments and (for support agents and admins) audit logs, per-part timings in the Server-Timing header", content = @Content(schema = @Schema(implementation = FullTicketDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(ref = "#/components/responses/401")
+    })
+    @Operation(summary = "Get Full Ticket", description = "The ticket detail page in one request: access is checked once, then comments and audit logs are read in parallel. Parts that time out are null and listed in unavailable")
+    @GetMapping(value = "/{ticketId}/full", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
+    public ResponseEntity<FullTicketDTO> retrieveFullTicket(@PathVariable Long ticketId,
+            @RequestParam(required = false) Integer commentLimit) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        UserSnapshot currentUser = userService.retrieveUser(email);
+
+        ServerTiming timing = new ServerTiming();
+        FullTicketDTO fullTicket = ticketDetailService.retrieveFullTicket(ticketId, currentUser.getId(),
+                currentUser.getRole(), commentLimit, timing);
+        return ResponseEntity.ok().header(ServerTiming.HEADER, timing.header()).body(fullTicket);
+    }
+
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket successfully updated", content = @Content(schema = @Schema(implementation = TicketDTO.class))),
             @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
@@ -165,12 +287,12 @@ public class TicketController {
     })
     @Operation(summary = "Update Ticket Info", description = "Update an existing ticket's details")
     @PreAuthorize("hasAnyAuthority('USER', 'ADMIN', 'SUPPORT_AGENT')")
-    @PatchMapping("/{ticketId}/info")
+    @PatchMapping(value = "/{ticketId}/info", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<TicketDTO> updateTicketInfo(@PathVariable Long ticketId,
             @RequestBody @Valid TicketInfoUpdateDTO dto) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         return switch (currentUser.getRole()) {
             case ADMIN, SUPPORT_AGENT -> {
@@ -189,17 +311,18 @@ public class TicketController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket successfully updated", content = @Content(schema = @Schema(implementation = TicketDTO.class))),
             @ApiResponse(responseCode = "404", description = "Ticket not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Status changed concurrently or transition not allowed", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(ref = "#/components/responses/401"),
             @ApiResponse(ref = "#/components/responses/403")
     })
-    @Operation(summary = "Update Ticket Status", description = "Update an existing ticket's status")
+    @Operation(summary = "Update Ticket Status", description = "Update an existing ticket's status. Send expectedStatus to apply the change only if the ticket is still in that status")
     @PreAuthorize("hasAnyAuthority('SUPPORT_AGENT', 'ADMIN')")
-    @PatchMapping("/{ticketId}/status")
+    @PatchMapping(value = "/{ticketId}/status", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<TicketDTO> updateTicketStatus(@PathVariable Long ticketId,
             @RequestBody @Valid TicketStatusUpdateDTO dto) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         switch (currentUser.getRole()) {
             case ADMIN:
@@ -214,18 +337,19 @@ public class TicketController {
 
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Ticket successfully assigned", content = @Content(schema = @Schema(implementation = TicketDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Assigned user is not a support agent or admin", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Ticket or assigned user not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(ref = "#/components/responses/401"),
             @ApiResponse(ref = "#/components/responses/403")
     })
     @Operation(summary = "Assign Ticket", description = "Assign a ticket to a support agent (Admin only) or reassign ticket (Support Agent)")
     @PreAuthorize("hasAnyAuthority('SUPPORT_AGENT', 'ADMIN')")
-    @PatchMapping("/{ticketId}/assign")
+    @PatchMapping(value = "/{ticketId}/assign", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<TicketDTO> assignTicket(@PathVariable Long ticketId,
             @RequestBody @Valid TicketAssignmentDTO assignmentDTO) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         switch (currentUser.getRole()) {
             case ADMIN:
@@ -246,11 +370,11 @@ public class TicketController {
     })
     @Operation(summary = "Get Assignable Support Agents", description = "Retrieves support agents that can be assigned tickets. For Support Agents: other agents excluding themselves. For Admins: all support agents.")
     @PreAuthorize("hasAnyAuthority('SUPPORT_AGENT', 'ADMIN')")
-    @GetMapping("/assignable-agents")
+    @GetMapping(value = "/assignable-agents", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<List<SupportAgentDTO>> getAssignableSupportAgents() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         List<SupportAgentDTO> agents = userService.getAssignableSupportAgents(currentUser.getId(),
                 currentUser.getRole());
@@ -268,7 +392,7 @@ public class TicketController {
     })
     @Operation(summary = "Audit Tickets Logs", description = "Retrieves audit logs of a ticket")
     @PreAuthorize("hasAnyAuthority('SUPPORT_AGENT', 'ADMIN')")
-    @GetMapping("/{ticketId}/audit-logs")
+    @GetMapping(value = "/{ticketId}/audit-logs", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE })
     public ResponseEntity<List<AuditLog>> retrieveAuditLogs(@PathVariable Long ticketId) {
         return ResponseEntity.ok(ticketService.retrieveAuditLogs(ticketId, ticketId));
     }
@@ -283,7 +407,7 @@ public class TicketController {
     public ResponseEntity<Void> removeTicket(@PathVariable Long ticketId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         switch (currentUser.getRole()) {
             case ADMIN:
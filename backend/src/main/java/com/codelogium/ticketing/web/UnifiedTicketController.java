@@ -1,5 +1,6 @@
 package com.codelogium.ticketing.web;
 
+import com.codelogium.ticketing.cache.UserSnapshot;
 import com.codelogium.ticketing.dto.TicketAssignmentDTO;
 import com.codelogium.ticketing.dto.TicketDTO;
 import com.codelogium.ticketing.entity.Ticket;
@@ -40,7 +41,7 @@ public class UnifiedTicketController {
     public ResponseEntity<List<TicketDTO>> getTickets() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         List<Ticket> tickets;
 
@@ -70,7 +71,7 @@ public class UnifiedTicketController {
     public ResponseEntity<TicketDTO> createTicket(@Valid @RequestBody Ticket newTicket) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         Ticket createdTicket = ticketService.createTicket(currentUser.getId(), newTicket);
         return ResponseEntity.status(HttpStatus.CREATED).body(ticketService.convertToDTO(createdTicket));
@@ -85,7 +86,7 @@ public class UnifiedTicketController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
-        User currentUser = userService.retrieveUser(email);
+        UserSnapshot currentUser = userService.retrieveUser(email);
 
         // Additional validation for support agents
         if (currentUser.getRole() == UserRole.SUPPORT_AGENT) {
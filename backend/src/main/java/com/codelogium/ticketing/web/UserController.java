@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
 import com.codelogium.ticketing.exception.ErrorResponse;
 import com.codelogium.ticketing.service.UserService;
 
@@ -51,14 +52,13 @@ public class UserController {
     }
 
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "User successfully deleted"),
+            @ApiResponse(responseCode = "202", description = "User deletion scheduled", content = @Content(schema = @Schema(implementation = UserDeletionJob.class))),
             @ApiResponse(responseCode = "404", description = "User not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", ref = "#/components/responses/401") // Gloabl 401 response
     })
-    @Operation(summary = "Delete User", description = "Deletes a user by ID")
+    @Operation(summary = "Delete User", description = "Schedules deletion of a user by ID, the returned job reports progress")
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Void> removeUser(@PathVariable Long userId) {
-        userService.removeUser(userId);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<UserDeletionJob> removeUser(@PathVariable Long userId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userService.removeUser(userId));
     }
 }
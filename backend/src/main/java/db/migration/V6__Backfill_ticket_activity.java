@@ -0,0 +1,59 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/*
+ * Fills tickets.comment_count and tickets.last_activity_at for existing rows.
+ *
+ * Tickets are walked in id ranges and every range is committed on its own, so
+ * the backfill never holds row locks on the whole table and can be rerun: a
+ * range only recomputes values from the comments it covers.
+ */
+public class V6__Backfill_ticket_activity extends BaseJavaMigration {
+
+    private static final long CHUNK_SIZE = 1000;
+
+    private static final String BACKFILL = """
+            UPDATE tickets
+            SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.ticket_id = tickets.id),
+                last_activity_at = COALESCE(
+                    (SELECT MAX(c.created_at) FROM comments c WHERE c.ticket_id = tickets.id AND c.created_at > tickets.creation_date),
+                    tickets.creation_date)
+            WHERE id > ? AND id <= ?
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement();
+                PreparedStatement backfill = connection.prepareStatement(BACKFILL)) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM tickets")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            for (long chunkStart = 0; chunkStart < maxId; chunkStart += CHUNK_SIZE) {
+                backfill.setLong(1, chunkStart);
+                backfill.setLong(2, chunkStart + CHUNK_SIZE);
+                backfill.executeUpdate();
+                connection.commit();
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- At most one unfinished deletion job per user. Finished jobs clear active_user_id, so they leave the constraint
+ALTER TABLE user_deletion_jobs ADD COLUMN active_user_id BIGINT;
+
+-- Duplicates left by earlier concurrent requests keep running, only the newest claims the user
+UPDATE user_deletion_jobs SET active_user_id = user_id
+WHERE status IN ('PENDING', 'RUNNING')
+  AND id = (SELECT MAX(j.id) FROM user_deletion_jobs j
+            WHERE j.user_id = user_deletion_jobs.user_id AND j.status IN ('PENDING', 'RUNNING'));
+
+ALTER TABLE user_deletion_jobs ADD CONSTRAINT uk_user_deletion_jobs_active_user UNIQUE (active_user_id);
@@ -0,0 +1,9 @@
+-- Deduplicated audit payloads, referenced from audit_logs values as "#h:<hash>"
+CREATE TABLE audit_contents (
+    hash VARCHAR(64) PRIMARY KEY,
+    base_hash VARCHAR(64),
+    depth INTEGER NOT NULL,
+    compressed BOOLEAN NOT NULL,
+    original_size INTEGER NOT NULL,
+    data BYTEA NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Background user deletion jobs, the keyset position is saved with every chunk so a job can resume
+CREATE TABLE user_deletion_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    phase VARCHAR(20) NOT NULL,
+    last_processed_id BIGINT NOT NULL DEFAULT 0,
+    tickets_deleted BIGINT NOT NULL DEFAULT 0,
+    comments_deleted BIGINT NOT NULL DEFAULT 0,
+    audit_entries_deleted BIGINT NOT NULL DEFAULT 0,
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_user_deletion_jobs_status ON user_deletion_jobs(status);
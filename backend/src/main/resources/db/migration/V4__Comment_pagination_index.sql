@@ -0,0 +1,4 @@
+-- Comment pages are read in (created_at, id) order per ticket, this index serves both the filter and the sort
+CREATE INDEX idx_comments_ticket_created ON comments(ticket_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_comments_ticket_id;
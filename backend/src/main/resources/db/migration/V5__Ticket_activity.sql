@@ -0,0 +1,5 @@
+-- Denormalized comment count and last activity on tickets, backfilled in chunks by V6
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_tickets_last_activity ON tickets(last_activity_at);
@@ -0,0 +1,2 @@
+-- Optimistic lock column, also carried by change events so listeners can drop stale updates
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,69 @@
+-- Brings the V1 schema in line with the entities: email-only users with the USER / SUPPORT_AGENT / ADMIN roles,
+-- ticket assignment, audit entries keyed by ticket, comment and user id, and the email verification table
+
+-- Audit entries name their author by username, resolve it before the column goes
+ALTER TABLE audit_logs ADD COLUMN ticket_id BIGINT;
+ALTER TABLE audit_logs ADD COLUMN comment_id BIGINT;
+ALTER TABLE audit_logs ADD COLUMN user_id BIGINT;
+
+UPDATE audit_logs SET ticket_id = entity_id WHERE UPPER(entity_type) = 'TICKET';
+UPDATE audit_logs SET comment_id = entity_id WHERE UPPER(entity_type) = 'COMMENT';
+UPDATE audit_logs SET user_id = (SELECT u.id FROM users u WHERE u.username = audit_logs.changed_by);
+
+DROP INDEX IF EXISTS idx_audit_logs_entity;
+DROP INDEX IF EXISTS idx_audit_logs_timestamp;
+ALTER TABLE audit_logs DROP COLUMN entity_type;
+ALTER TABLE audit_logs DROP COLUMN entity_id;
+ALTER TABLE audit_logs DROP COLUMN field_name;
+ALTER TABLE audit_logs DROP COLUMN changed_by;
+ALTER TABLE audit_logs ALTER COLUMN action SET DATA TYPE VARCHAR(255);
+
+-- Users sign in by email, accounts created before verification existed count as verified
+ALTER TABLE users DROP CONSTRAINT check_user_role;
+UPDATE users SET role = CASE role WHEN 'EMPLOYEE' THEN 'USER' WHEN 'IT_SUPPORT' THEN 'SUPPORT_AGENT' ELSE role END;
+ALTER TABLE users ALTER COLUMN role DROP DEFAULT;
+ALTER TABLE users ADD CONSTRAINT check_user_role CHECK (role IN ('USER', 'SUPPORT_AGENT', 'ADMIN'));
+
+ALTER TABLE users DROP COLUMN username;
+ALTER TABLE users DROP COLUMN created_at;
+ALTER TABLE users DROP COLUMN updated_at;
+ALTER TABLE users ADD COLUMN email_verified BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE users SET email_verified = TRUE;
+
+-- V1 seeded admin@company.com with the published hash of admin123. The row goes unless it owns tickets or comments,
+-- which would cascade with it; then it stays unverified with a password no login can match
+DELETE FROM users WHERE email = 'admin@company.com' AND password = '$2a$10$8.UnVuG9HHgffUDAlk8qfOuVGkqRzgVymGe07xd00DMxs.AQubh4a'
+    AND NOT EXISTS (SELECT 1 FROM tickets t WHERE t.user_id = users.id)
+    AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.user_id = users.id);
+UPDATE users SET email_verified = FALSE, password = 'disabled'
+    WHERE email = 'admin@company.com' AND password = '$2a$10$8.UnVuG9HHgffUDAlk8qfOuVGkqRzgVymGe07xd00DMxs.AQubh4a';
+
+-- Ticket values the enums no longer have are folded into their nearest one
+ALTER TABLE tickets DROP CONSTRAINT check_ticket_status;
+ALTER TABLE tickets DROP CONSTRAINT check_ticket_category;
+ALTER TABLE tickets DROP CONSTRAINT check_ticket_priority;
+UPDATE tickets SET status = 'RESOLVED' WHERE status = 'CLOSED';
+UPDATE tickets SET category = 'OTHER' WHERE category = 'ACCESS';
+UPDATE tickets SET priority = 'HIGH' WHERE priority = 'CRITICAL';
+ALTER TABLE tickets ADD CONSTRAINT check_ticket_status CHECK (status IN ('NEW', 'IN_PROGRESS', 'RESOLVED'));
+ALTER TABLE tickets ADD CONSTRAINT check_ticket_category CHECK (category IN ('NETWORK', 'HARDWARE', 'SOFTWARE', 'OTHER'));
+ALTER TABLE tickets ADD CONSTRAINT check_ticket_priority CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH'));
+
+ALTER TABLE tickets DROP COLUMN created_at;
+ALTER TABLE tickets DROP COLUMN updated_at;
+
+-- The user deletion job clears these references before it deletes the user row
+ALTER TABLE tickets ADD COLUMN assigned_to BIGINT;
+ALTER TABLE tickets ADD COLUMN assigned_by BIGINT;
+ALTER TABLE tickets ADD COLUMN assigned_at TIMESTAMP;
+ALTER TABLE tickets ADD CONSTRAINT fk_tickets_assigned_to FOREIGN KEY (assigned_to) REFERENCES users(id);
+ALTER TABLE tickets ADD CONSTRAINT fk_tickets_assigned_by FOREIGN KEY (assigned_by) REFERENCES users(id);
+
+CREATE TABLE email_verification (
+    id BIGSERIAL PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    otp VARCHAR(6) NOT NULL,
+    expiry_time TIMESTAMP NOT NULL,
+    verified BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL
+);
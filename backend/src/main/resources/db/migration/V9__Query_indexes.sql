@@ -0,0 +1,33 @@
+-- Indexes for the repository queries, QueryPlanTest checks every one of them against seeded data
+
+-- Creator lists and the deletion job's keyset chunks read (user_id, id), which replaces the single-column index.
+-- The foreign key is recreated around the swap, a database may have bound it to the old index
+CREATE INDEX idx_tickets_creator ON tickets(user_id, id);
+ALTER TABLE tickets DROP CONSTRAINT fk_tickets_user;
+DROP INDEX IF EXISTS idx_tickets_user_id;
+ALTER TABLE tickets ADD CONSTRAINT fk_tickets_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Assignee lists, filtered by status and paged by id; also finds the tickets to unassign from a deleted user
+CREATE INDEX idx_tickets_assignee_status ON tickets(assigned_to, status, id);
+CREATE INDEX IF NOT EXISTS idx_tickets_assignee_last_activity ON tickets(assigned_to, last_activity_at);
+CREATE INDEX idx_tickets_assigned_by ON tickets(assigned_by);
+
+-- Only ever tested together with other filters, they cost every ticket write and no query uses them
+DROP INDEX IF EXISTS idx_tickets_status;
+DROP INDEX IF EXISTS idx_tickets_priority;
+
+-- The deletion job walks a user's comments in id order
+CREATE INDEX idx_comments_author ON comments(user_id, id);
+DROP INDEX IF EXISTS idx_comments_user_id;
+
+-- Audit history of a ticket or a comment, in time order
+CREATE INDEX idx_audit_logs_ticket ON audit_logs(ticket_id, timestamp);
+CREATE INDEX idx_audit_logs_comment ON audit_logs(comment_id, timestamp);
+
+-- The agent directory lists support agents and admins by id
+CREATE INDEX idx_users_role ON users(role, id);
+
+CREATE INDEX idx_email_verification_email ON email_verification(email);
+CREATE INDEX idx_email_verification_expiry ON email_verification(expiry_time);
+
+CREATE INDEX idx_user_deletion_jobs_user ON user_deletion_jobs(user_id, status);
@@ -25,7 +25,10 @@ import org.springframework.http.ResponseEntity;
 
 import com.codelogium.ticketing.dto.SupportAgentDTO;
 import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
+import com.codelogium.ticketing.entity.enums.DeletionStatus;
 import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.service.UserDeletionService;
 import com.codelogium.ticketing.service.UserService;
 import com.codelogium.ticketing.web.AdminController;
 
@@ -35,6 +38,9 @@ public class AdminControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserDeletionService userDeletionService;
+
     @InjectMocks
     private AdminController adminController;
 
@@ -58,20 +64,42 @@ public class AdminControllerTest {
     @Test
     void shouldDeleteUserSuccessfully() {
         // Mock
+        UserDeletionJob job = new UserDeletionJob(1L);
+        job.setId(7L);
         when(userService.retrieveUser(1L)).thenReturn(testUser);
+        when(userService.removeUser(1L)).thenReturn(job);
 
         // Act
-        ResponseEntity<Map<String, String>> response = adminController.deleteUser(1L);
+        ResponseEntity<Map<String, Object>> response = adminController.deleteUser(1L);
 
         // Assert
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("User deleted successfully", response.getBody().get("message"));
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("User deletion scheduled", response.getBody().get("message"));
         assertEquals("user@example.com", response.getBody().get("deletedEmail"));
+        assertEquals(7L, response.getBody().get("jobId"));
+        assertEquals(DeletionStatus.PENDING, response.getBody().get("status"));
 
         verify(userService).retrieveUser(1L);
         verify(userService).removeUser(1L);
     }
 
+    @Test
+    void shouldGetUserDeletionProgress() {
+        // Mock
+        UserDeletionJob job = new UserDeletionJob(1L);
+        job.setStatus(DeletionStatus.RUNNING);
+        job.setTicketsDeleted(500);
+        when(userDeletionService.retrieveJob(7L)).thenReturn(job);
+
+        // Act
+        ResponseEntity<UserDeletionJob> response = adminController.getUserDeletion(7L);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(DeletionStatus.RUNNING, response.getBody().getStatus());
+        assertEquals(500, response.getBody().getTicketsDeleted());
+    }
+
     @Test
     void shouldGetAllUsersPaginated() {
         // Mock
@@ -122,7 +150,8 @@ public class AdminControllerTest {
     @Test
     void shouldGetSupportAgents() {
         // Mock
-        List<User> supportAgents = List.of(testSupportAgent);
+        List<SupportAgentDTO> supportAgents = List.of(
+                new SupportAgentDTO(testSupportAgent.getId(), testSupportAgent.getEmail()));
         when(userService.getSupportAgents()).thenReturn(supportAgents);
 
         // Act
@@ -0,0 +1,127 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codelogium.ticketing.cache.AgentDirectory;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.dto.SupportAgentDTO;
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.LoopbackChangeEventBus;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.UserDeletionService;
+import com.codelogium.ticketing.service.UserServiceImp;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// User writes commit on their own, so the test runs outside the rollback-only transaction
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AgentDirectoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestRows rows;
+    private AgentDirectory agentDirectory;
+    private UserSnapshotCache userSnapshotCache;
+    private UserServiceImp userService;
+    private Statistics statistics;
+    private long agentId;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+        LoopbackChangeEventBus bus = new LoopbackChangeEventBus();
+        userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(), bus);
+        agentDirectory = new AgentDirectory(userRepository, bus);
+        userService = new UserServiceImp(userRepository, new BCryptPasswordEncoder(), mock(UserDeletionService.class),
+                userSnapshotCache, agentDirectory);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        rows.insertUser("admin@example.com", UserRole.ADMIN);
+        agentId = rows.insertUser("agent1@example.com", UserRole.SUPPORT_AGENT);
+        rows.insertUser("agent2@example.com", UserRole.SUPPORT_AGENT);
+        rows.insertUser("customer@example.com", UserRole.USER);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void shouldServeDropdownsFromOneSnapshot() {
+        statistics.clear();
+        for (int i = 0; i < 20; i++) {
+            userService.getSupportAgents();
+            userService.getAssignableSupportAgents(agentId, UserRole.SUPPORT_AGENT);
+            userService.getAssignableSupportAgents(1L, UserRole.ADMIN);
+        }
+
+        // Assert: a single projection query, no user entity loaded
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of("admin@example.com", "agent1@example.com", "agent2@example.com"),
+                emails(userService.getSupportAgents()));
+        assertEquals(List.of("agent1@example.com", "agent2@example.com"),
+                emails(userService.getAssignableSupportAgents(1L, UserRole.ADMIN)));
+        assertEquals(List.of("agent2@example.com"),
+                emails(userService.getAssignableSupportAgents(agentId, UserRole.SUPPORT_AGENT)));
+        // Admins get the snapshot list itself
+        assertSame(agentDirectory.supportAgents(), userService.getAssignableSupportAgents(1L, UserRole.ADMIN));
+    }
+
+    @Test
+    void shouldRebuildOnlyWhenAnAgentChanges() {
+        long version = agentDirectory.version();
+
+        // A customer verifying their email does not touch the directory
+        User customer = userRepository.findByEmail("customer@example.com").orElseThrow();
+        customer.setEmailVerified(true);
+        userService.saveUser(customer);
+        assertEquals(version, agentDirectory.version());
+
+        // A new agent does
+        User agent = new User();
+        agent.setEmail("agent3@example.com");
+        agent.setPassword("secret1");
+        agent.setRole(UserRole.SUPPORT_AGENT);
+        userService.createUser(agent);
+        assertTrue(agentDirectory.version() > version);
+        assertTrue(emails(agentDirectory.supportAgents()).contains("agent3@example.com"));
+
+        // So does a deleted one
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", agentId);
+        userSnapshotCache.evict(agentId);
+        assertFalse(emails(agentDirectory.supportAgents()).contains("agent1@example.com"));
+    }
+
+
+    private static List<String> emails(List<SupportAgentDTO> agents) {
+        return agents.stream().map(SupportAgentDTO::getEmail).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.event.ChangeEventCodec;
+import com.codelogium.ticketing.event.LoopbackChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+
+public class ChangeEventBusTest {
+
+    private EmbeddedDatabase database;
+    private TransactionTemplate transactionTemplate;
+    private LoopbackChangeEventBus bus;
+    private List<TicketEvent> received;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        bus = new LoopbackChangeEventBus();
+        received = new ArrayList<>();
+        bus.subscribe(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldDeliverOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.publish(event(TicketEventType.STATUS_CHANGED, 1L, 3L));
+            bus.publish(event(TicketEventType.COMMENT_ADDED, 1L, null));
+            // Nothing leaves the transaction before it commits
+            assertTrue(received.isEmpty());
+        });
+
+        assertEquals(List.of(TicketEventType.STATUS_CHANGED, TicketEventType.COMMENT_ADDED),
+                received.stream().map(TicketEvent::type).toList());
+    }
+
+    @Test
+    void shouldDropEventsOfRolledBackTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bus.publish(event(TicketEventType.ASSIGNED, 1L, 4L));
+            status.setRollbackOnly();
+        });
+        assertTrue(received.isEmpty());
+
+        // The next transaction starts with an empty batch
+        transactionTemplate.executeWithoutResult(status -> bus.publish(event(TicketEventType.TICKET_DELETED, 2L, 5L)));
+        assertEquals(List.of(TicketEventType.TICKET_DELETED), received.stream().map(TicketEvent::type).toList());
+    }
+
+    @Test
+    void shouldSendAtOnceOutsideTransaction() {
+        bus.publish(event(TicketEventType.TICKET_CREATED, 1L, 0L));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void shouldRoundTripEventsThroughPayloads() {
+        TicketEvent full = event(TicketEventType.ASSIGNED, 42L, 5L);
+        TicketEvent sparse = new TicketEvent(TicketEventType.COMMENT_DELETED, 42L, 7L, null, null, 11L, null, 7L,
+                Instant.parse("2025-01-01T10:00:00Z"), null);
+
+        List<String> payloads = ChangeEventCodec.encode(List.of(full, sparse));
+
+        assertEquals(1, payloads.size());
+        assertEquals(List.of(full, sparse), ChangeEventCodec.decode(payloads.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> ChangeEventCodec.decode("ASSIGNED,42"));
+    }
+
+    @Test
+    void shouldSplitLargeBatchesUnderPayloadLimit() {
+        List<TicketEvent> batch = new ArrayList<>();
+        for (long ticketId = 1; ticketId <= 1_000; ticketId++) {
+            batch.add(event(TicketEventType.STATUS_CHANGED, ticketId, ticketId));
+        }
+
+        List<String> payloads = ChangeEventCodec.encode(batch);
+
+        assertTrue(payloads.size() > 1);
+        List<TicketEvent> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= ChangeEventCodec.MAX_PAYLOAD_BYTES);
+            decoded.addAll(ChangeEventCodec.decode(payload));
+        }
+        assertEquals(batch, decoded);
+    }
+
+    private static TicketEvent event(TicketEventType type, Long ticketId, Long version) {
+        return new TicketEvent(type, ticketId, 7L, 9L, 3L, null, Status.IN_PROGRESS, 1L,
+                Instant.parse("2025-01-01T10:00:00Z"), version);
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -22,7 +23,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import com.codelogium.ticketing.cache.UserSnapshot;
 import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
 import com.codelogium.ticketing.entity.Comment;
 import com.codelogium.ticketing.entity.Ticket;
 import com.codelogium.ticketing.entity.User;
@@ -67,7 +70,7 @@ public class CommentControllerTest {
                 new ArrayList<>());
 
         testTicket = new Ticket(1L, "Test Ticket", "Test Description",
-                Instant.now(), Status.NEW, Category.NETWORK, Priority.HIGH, testUser, null, null, null,
+                Instant.now(), Status.NEW, Category.NETWORK, Priority.HIGH, testUser, null, null, null, 0L, null, 0L,
                 new ArrayList<>());
 
         testComment = new Comment();
@@ -90,7 +93,7 @@ public class CommentControllerTest {
     void shouldCreateCommentSuccessfully() {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
         when(commentService.createComment(anyLong(), anyLong(), any(Comment.class))).thenReturn(testComment);
 
         // Act
@@ -105,34 +108,35 @@ public class CommentControllerTest {
     void shouldRetrieveCommentsForUser() {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
-        when(commentService.getAllCommentsForTicket(1L, testUser.getId())).thenReturn(List.of(testComment));
-        when(commentService.convertToDTOList(any())).thenReturn(List.of(testCommentDTO));
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
+        when(commentService.retrieveComments(1L, testUser.getId(), UserRole.USER, null, null))
+                .thenReturn(new CommentPage(List.of(testCommentDTO), null));
 
         // Act
-        ResponseEntity<List<CommentDTO>> response = commentController.getAllComments(1L);
+        ResponseEntity<List<CommentDTO>> response = commentController.getAllComments(1L, null, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals(testCommentDTO, response.getBody().get(0));
+        assertNull(response.getHeaders().getFirst("X-Next-Cursor"));
     }
 
     @Test
     void shouldRetrieveCommentsForAdmin() {
         // Mock
         when(authentication.getName()).thenReturn("admin@example.com");
-        when(userService.retrieveUser("admin@example.com")).thenReturn(testAdmin);
-        when(commentService.getAllCommentsForTicketByRole(eq(1L), eq(testAdmin.getId()), eq(UserRole.ADMIN)))
-                .thenReturn(List.of(testComment));
-        when(commentService.convertToDTOList(any())).thenReturn(List.of(testCommentDTO));
+        when(userService.retrieveUser("admin@example.com")).thenReturn(UserSnapshot.of(testAdmin));
+        when(commentService.retrieveComments(eq(1L), eq(testAdmin.getId()), eq(UserRole.ADMIN), eq(1), isNull()))
+                .thenReturn(new CommentPage(List.of(testCommentDTO), "next"));
 
         // Act
-        ResponseEntity<List<CommentDTO>> response = commentController.getAllComments(1L);
+        ResponseEntity<List<CommentDTO>> response = commentController.getAllComments(1L, 1, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1, response.getBody().size());
         assertEquals(testCommentDTO, response.getBody().get(0));
+        assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
     }
 }
@@ -0,0 +1,128 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.exception.InvalidCursorException;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.repository.CommentRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.CommentServiceImp;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false" })
+public class CommentPaginationTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestRows rows;
+    private CommentServiceImp commentService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(),
+                mock(ChangeEventBus.class));
+        commentService = new CommentServiceImp(commentRepository, ticketRepository, mock(AuditSink.class),
+                userRepository, mock(ChangeEventBus.class), userSnapshotCache);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldLoadCommentsAndAuthorsWithConstantStatements() {
+        long owner = rows.insertUser("owner@example.com");
+        long ticketId = rows.insertTicket(owner);
+        List<Long> authors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            authors.add(rows.insertUser("author" + i + "@example.com"));
+        }
+        rows.insertComments(ticketId, authors, 200, Instant.now());
+
+        entityManager.clear();
+        statistics.clear();
+        CommentPage page = commentService.retrieveComments(ticketId, owner, UserRole.USER, null, null);
+
+        // Assert: user check, ticket check and one joined select, however many distinct authors
+        assertEquals(200, page.comments().size());
+        assertNull(page.nextCursor());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "issued " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNotNull(page.comments().get(0).getAuthor().getEmail());
+    }
+
+    @Test
+    void shouldWalkEveryCommentExactlyOnceInOrder() {
+        long owner = rows.insertUser("owner@example.com");
+        long ticketId = rows.insertTicket(owner);
+        // Shared timestamps force the id tie-breaker to be used across page boundaries
+        Instant base = Instant.parse("2025-01-01T10:00:00Z");
+        rows.insertComments(ticketId, List.of(owner), 25, base);
+        rows.insertComments(ticketId, List.of(owner), 25, base.plusSeconds(60));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CommentPage page = commentService.retrieveComments(ticketId, owner, UserRole.USER, 7, cursor);
+            page.comments().stream().map(CommentDTO::getId).forEach(seen::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM comments WHERE ticket_id = ? ORDER BY created_at, id", Long.class, ticketId);
+        assertEquals(expected, seen);
+        assertEquals(8, pages);
+    }
+
+    @Test
+    void shouldRejectInaccessibleTicketAndBrokenCursor() {
+        long owner = rows.insertUser("owner@example.com");
+        long other = rows.insertUser("other@example.com");
+        long ticketId = rows.insertTicket(owner);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> commentService.retrieveComments(ticketId, other, UserRole.USER, 10, null));
+        assertDoesNotThrow(() -> commentService.retrieveComments(ticketId, other, UserRole.SUPPORT_AGENT, 10, null));
+        assertThrows(InvalidCursorException.class,
+                () -> commentService.retrieveComments(ticketId, owner, UserRole.USER, 10, "not-a-cursor"));
+    }
+}
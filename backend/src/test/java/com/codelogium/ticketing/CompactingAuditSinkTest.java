@@ -0,0 +1,179 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.codelogium.ticketing.audit.AuditContentStore;
+import com.codelogium.ticketing.audit.AuditPayloadCodec;
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.audit.CompactingAuditSink;
+import com.codelogium.ticketing.entity.AuditContent;
+import com.codelogium.ticketing.entity.AuditLog;
+
+public class CompactingAuditSinkTest {
+
+    private InMemoryAuditSink rawSink;
+    private InMemoryContentStore contentStore;
+    private CompactingAuditSink sink;
+
+    @BeforeEach
+    void setUp() {
+        rawSink = new InMemoryAuditSink();
+        contentStore = new InMemoryContentStore();
+        sink = new CompactingAuditSink(rawSink, new AuditPayloadCodec(contentStore, 128, 256, 16));
+    }
+
+    private AuditLog entry(Long commentId, String action, String oldValue, String newValue) {
+        return new AuditLog(null, 1L, commentId, 1L, action, oldValue, newValue, Instant.now());
+    }
+
+    @Test
+    void shouldRebuildCompactedValuesOnRead() {
+        String body = "The printer on the third floor jams on every duplex job. "
+                + sentence(new Random(7), new String[] { "paper", "tray", "toner", "drum", "fuser", "queue" }, 60)
+                + " Ünïcødé ✓ 🎫";
+        String edited = body + " Update: toner replaced.";
+
+        // Act
+        AuditLog created = sink.append(entry(10L, "COMMENT_ADDED", null, body));
+        sink.append(entry(10L, "COMMENT_UPDATED", body, edited));
+        sink.append(entry(null, "STATUS_UPDATED", "NEW", "IN_PROGRESS"));
+        sink.append(entry(11L, "COMMENT_ADDED", null, "#hashtag"));
+
+        // Assert
+        assertEquals(body, created.getNewValue());
+        assertTrue(rawSink.entries.get(0).getNewValue().startsWith("#h:"));
+        assertEquals("NEW", rawSink.entries.get(2).getOldValue());
+        assertEquals("#hashtag", rawSink.entries.get(3).getNewValue());
+
+        List<AuditLog> logs = sink.findByTicketId(1L);
+        assertEquals(4, logs.size());
+        assertEquals(body, logs.get(0).getNewValue());
+        assertEquals(body, logs.get(1).getOldValue());
+        assertEquals(edited, logs.get(1).getNewValue());
+        assertEquals("IN_PROGRESS", logs.get(2).getNewValue());
+        assertEquals("#hashtag", sink.findByCommentId(11L).get(0).getNewValue());
+
+        // The edit is kept as a delta on top of the original body
+        assertEquals(2, contentStore.contents.size());
+        assertTrue(contentStore.contents.values().stream().anyMatch(content -> content.getBaseHash() != null));
+    }
+
+    @Test
+    void shouldReadEntriesWrittenBeforeCompactionUnchanged() {
+        String lookalike = "#h:" + "ab".repeat(32);
+        rawSink.append(entry(12L, "COMMENT_ADDED", null, "## Steps"));
+        rawSink.append(entry(12L, "COMMENT_UPDATED", "## Steps", lookalike));
+
+        // Act
+        List<AuditLog> logs = sink.findByCommentId(12L);
+        sink.append(entry(13L, "COMMENT_ADDED", null, lookalike));
+
+        // Assert
+        assertEquals("## Steps", logs.get(0).getNewValue());
+        assertEquals("## Steps", logs.get(1).getOldValue());
+        assertEquals(lookalike, logs.get(1).getNewValue());
+        // A new value shaped like a reference is stored as content, so it cannot be mistaken for one
+        assertNotEquals(lookalike, rawSink.entries.get(2).getNewValue());
+        assertEquals(lookalike, sink.findByCommentId(13L).get(0).getNewValue());
+    }
+
+    @Test
+    void shouldStoreSyntheticDatasetInAFractionOfTheRawSize() {
+        Random random = new Random(42);
+        String[] words = { "printer", "network", "password", "reset", "laptop", "screen", "the", "is", "not",
+                "working", "after", "update", "please", "urgent", "since", "monday", "vpn", "email", "access" };
+        String[] templates = new String[5];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = sentence(random, words, 120);
+        }
+
+        long rawBytes = 0;
+        for (long commentId = 1; commentId <= 500; commentId++) {
+            // A fifth of the comments are canned replies, the rest are unique and edited a few times
+            String body = commentId % 5 == 0 ? templates[random.nextInt(templates.length)] : sentence(random, words, 80);
+            rawBytes += size(body);
+            sink.append(entry(commentId, "COMMENT_ADDED", null, body));
+
+            for (int edit = 0; edit < 3; edit++) {
+                String updated = body + " " + sentence(random, words, 4);
+                rawBytes += size(body) + size(updated);
+                sink.append(entry(commentId, "COMMENT_UPDATED", body, updated));
+                body = updated;
+            }
+        }
+
+        long compactBytes = rawSink.entries.stream().mapToLong(e -> size(e.getOldValue()) + size(e.getNewValue())).sum()
+                + contentStore.contents.values().stream().mapToLong(c -> c.getData().length + c.getHash().length()).sum();
+
+        // Assert: at least a 4x reduction, and everything still reads back
+        assertTrue(compactBytes * 4 < rawBytes, "raw " + rawBytes + " bytes, compacted " + compactBytes + " bytes");
+        List<AuditLog> logs = sink.findByCommentId(7L);
+        assertEquals(4, logs.size());
+        assertEquals(logs.get(2).getNewValue(), logs.get(3).getOldValue());
+        assertTrue(logs.get(3).getNewValue().startsWith(logs.get(0).getNewValue()));
+    }
+
+    private static String sentence(Random random, String[] words, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(i == 0 ? "" : " ").append(words[random.nextInt(words.length)]);
+        }
+        return builder.append('.').toString();
+    }
+
+    private static long size(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static class InMemoryAuditSink implements AuditSink {
+        private final List<AuditLog> entries = new ArrayList<>();
+
+        @Override
+        public AuditLog append(AuditLog entry) {
+            entry.setId((long) entries.size() + 1);
+            entries.add(entry);
+            return entry;
+        }
+
+        @Override
+        public List<AuditLog> findByTicketId(Long ticketId) {
+            return entries.stream().filter(entry -> ticketId.equals(entry.getTicketId())).toList();
+        }
+
+        @Override
+        public List<AuditLog> findByCommentId(Long commentId) {
+            return entries.stream().filter(entry -> commentId.equals(entry.getCommentId())).toList();
+        }
+    }
+
+    private static class InMemoryContentStore implements AuditContentStore {
+        private final Map<String, AuditContent> contents = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean contains(String hash) {
+            return contents.containsKey(hash);
+        }
+
+        @Override
+        public Optional<AuditContent> find(String hash) {
+            return Optional.ofNullable(contents.get(hash));
+        }
+
+        @Override
+        public void putIfAbsent(AuditContent content) {
+            contents.putIfAbsent(content.getHash(), content);
+        }
+    }
+}
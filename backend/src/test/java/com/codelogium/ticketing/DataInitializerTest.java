@@ -0,0 +1,66 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.codelogium.ticketing.config.AdminConfig;
+import com.codelogium.ticketing.config.DataInitializer;
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.UserService;
+
+@ExtendWith(MockitoExtension.class)
+public class DataInitializerTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private TaskExecutor taskExecutor;
+    @Spy
+    private AdminConfig adminConfig = new AdminConfig();
+
+    @InjectMocks
+    private DataInitializer dataInitializer;
+
+    @Test
+    void shouldCreateTheAdminThroughTheUserServiceInTheBackground() throws Exception {
+        // Mock
+        adminConfig.setCreateInBackground(true);
+        when(userRepository.findByEmail(adminConfig.getEmail())).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(adminConfig.getPassword())).thenReturn("hashed");
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+
+        // Act
+        dataInitializer.run();
+
+        // Assert
+        // The service announces the new user, so snapshots built before it still learn about the admin
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userService).saveUser(saved.capture());
+        verify(userRepository, never()).save(any());
+        assertEquals(UserRole.ADMIN, saved.getValue().getRole());
+        assertEquals("hashed", saved.getValue().getPassword());
+        assertTrue(saved.getValue().isEmailVerified());
+    }
+}
@@ -0,0 +1,82 @@
+package com.codelogium.ticketing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.jdbc.DataSourcePoolMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.codelogium.ticketing.config.DatabaseConfig;
+import com.codelogium.ticketing.config.PooledDataSourceCheck;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class DataSourcePoolTest {
+
+    // The prod wiring on an in-memory database
+    private final ApplicationContextRunner prodContext = new ApplicationContextRunner()
+            .withInitializer(context -> context.getEnvironment().setActiveProfiles("prod"))
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class,
+                    MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+                    DataSourcePoolMetricsAutoConfiguration.class))
+            .withUserConfiguration(DatabaseConfig.class, PooledDataSourceCheck.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.hikari.pool-name=ticketing",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.datasource.hikari.minimum-idle=2",
+                    "spring.datasource.hikari.leak-detection-threshold=30000");
+
+    @Test
+    void shouldBackProdWithConfiguredPool() {
+        prodContext.run(context -> {
+            assertThat(context).hasNotFailed();
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+
+            assertEquals(7, dataSource.getMaximumPoolSize());
+            assertEquals(2, dataSource.getMinimumIdle());
+            assertEquals(30000, dataSource.getLeakDetectionThreshold());
+            assertTrue(PooledDataSourceCheck.isPooled(context.getBean(DataSource.class)));
+        });
+    }
+
+    @Test
+    void shouldPublishPoolMetrics() {
+        prodContext.run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertEquals(1.0, registry.get("hikaricp.connections.active").tag("pool", "ticketing").gauge()
+                        .value());
+            }
+            assertNotNull(registry.get("hikaricp.connections.idle").tag("pool", "ticketing").gauge());
+            assertNotNull(registry.get("hikaricp.connections.pending").tag("pool", "ticketing").gauge());
+            assertTrue(registry.get("hikaricp.connections.acquire").tag("pool", "ticketing").timer().count() >= 1);
+        });
+    }
+
+    @Test
+    void shouldRefuseToStartProdOnUnpooledDataSource() {
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.getEnvironment().setActiveProfiles("prod"))
+                .withBean(DataSource.class, () -> new DriverManagerDataSource("jdbc:h2:mem:unpooled"))
+                .withUserConfiguration(PooledDataSourceCheck.class)
+                .run(context -> {
+                    assertThat(context).hasFailed();
+                    assertThat(context.getStartupFailure()).isInstanceOf(IllegalStateException.class)
+                            .hasMessageContaining("pooled HikariDataSource");
+                });
+    }
+}
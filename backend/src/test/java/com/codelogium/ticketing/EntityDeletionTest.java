@@ -0,0 +1,141 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.entity.Comment;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.repository.CommentRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.CommentServiceImp;
+import com.codelogium.ticketing.service.TicketServiceImp;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false" })
+public class EntityDeletionTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestRows rows;
+    private TicketServiceImp ticketService;
+    private CommentServiceImp commentService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+        AuditSink auditSink = mock(AuditSink.class);
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(),
+                mock(ChangeEventBus.class));
+        ticketService = new TicketServiceImp(ticketRepository, userRepository, auditSink,
+                mock(ChangeEventBus.class), userSnapshotCache, mock(TicketDetailCache.class));
+        commentService = new CommentServiceImp(commentRepository, ticketRepository, auditSink, userRepository,
+                mock(ChangeEventBus.class), userSnapshotCache);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldDeleteOneTicketWithConstantStatementsRegardlessOfOwnedTickets() {
+        long smallOwner = rows.insertUser("small@example.com");
+        long largeOwner = rows.insertUser("large@example.com");
+        List<Long> smallTickets = rows.insertTickets(smallOwner, 10);
+        List<Long> largeTickets = rows.insertTickets(largeOwner, 10_000);
+        long commentId = insertComment(largeTickets.get(42), largeOwner);
+
+        long smallStatements = statementsFor(() -> ticketService.removeTicket(smallTickets.get(0), smallOwner));
+        long largeStatements = statementsFor(() -> ticketService.removeTicket(largeTickets.get(42), largeOwner));
+
+        // Assert: user check, the assignee lookup for the event and the DELETE, whatever the number of tickets
+        // the creator owns
+        assertEquals(smallStatements, largeStatements);
+        assertTrue(largeStatements <= 3, "issued " + largeStatements + " statements");
+        assertEquals(9_999, count("SELECT COUNT(*) FROM tickets WHERE user_id = ?", largeOwner));
+        assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE id = ?", commentId)); // cascaded by the FK
+    }
+
+    @Test
+    void shouldNotDeleteTicketOfAnotherUser() {
+        long owner = rows.insertUser("owner@example.com");
+        long other = rows.insertUser("other@example.com");
+        long ticketId = rows.insertTickets(owner, 1).get(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> ticketService.removeTicket(ticketId, other));
+        assertEquals(1, count("SELECT COUNT(*) FROM tickets WHERE id = ?", ticketId));
+    }
+
+    @Test
+    void shouldDeleteOwnedCommentWithSingleStatement() {
+        long owner = rows.insertUser("owner@example.com");
+        long other = rows.insertUser("other@example.com");
+        long ticketId = rows.insertTickets(owner, 1).get(0);
+        long ownComment = insertComment(ticketId, owner);
+        long foreignComment = insertComment(ticketId, other);
+
+        long statements = statementsFor(() -> commentService.removeComment(ownComment, ticketId, owner));
+
+        // Assert: user check, the DELETE, the ticket's comment count update and the assignee lookup for the event
+        assertTrue(statements <= 4, "issued " + statements + " statements");
+        assertFalse(commentRepository.existsById(ownComment));
+        // Written by someone else, or on a ticket the user does not own
+        assertThrows(ResourceNotFoundException.class,
+                () -> commentService.removeComment(foreignComment, ticketId, owner));
+        assertThrows(ResourceNotFoundException.class,
+                () -> commentService.removeComment(foreignComment, ticketId, other));
+        assertTrue(commentRepository.existsById(foreignComment));
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+
+
+    private long insertComment(long ticketId, long userId) {
+        Comment comment = new Comment(null, "Generated comment", Instant.now(),
+                ticketRepository.getReferenceById(ticketId), userRepository.getReferenceById(userId));
+        long id = commentRepository.saveAndFlush(comment).getId();
+        entityManager.clear();
+        return id;
+    }
+
+    private long count(String sql, Object argument) {
+        return jdbcTemplate.queryForObject(sql, Long.class, argument);
+    }
+}
@@ -0,0 +1,45 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.audit.JpaAuditContentStore;
+import com.codelogium.ticketing.entity.AuditContent;
+
+@ActiveProfiles("test")
+@Import(JpaAuditContentStore.class)
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+public class JpaAuditContentStoreTest {
+
+    @Autowired
+    private JpaAuditContentStore contentStore;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldStoreEachHashOnceInTheCallersTransaction() {
+        byte[] body = "Printer is on fire".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        contentStore.putIfAbsent(new AuditContent("a1", null, 0, false, 18, body));
+        contentStore.putIfAbsent(new AuditContent("a1", null, 0, false, 18, body));
+        contentStore.putIfAbsent(new AuditContent("b2", "a1", 1, true, 30, new byte[] { 1, 2, 3 }));
+
+        // Assert
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_contents", Integer.class));
+        assertTrue(contentStore.contains("a1"));
+        AuditContent delta = contentStore.find("b2").orElseThrow();
+        assertEquals("a1", delta.getBaseHash());
+        assertTrue(delta.isCompressed());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, delta.getData());
+        assertArrayEquals(body, contentStore.find("a1").orElseThrow().getData());
+    }
+}
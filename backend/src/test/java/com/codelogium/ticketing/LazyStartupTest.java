@@ -0,0 +1,61 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.cache.UserRegionEvictor;
+import com.codelogium.ticketing.config.AdminConfig;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.web.TicketController;
+
+@ActiveProfiles({ "test", "lazy" })
+@SpringBootTest
+public class LazyStartupTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AdminConfig adminConfig;
+
+    @Test
+    void shouldBuildOnlyTheDataLayerDuringStartup() {
+        assertTrue(isCreated(AbstractEntityManagerFactoryBean.class));
+        assertFalse(isCreated(TicketController.class));
+        assertFalse(isCreated(OpenApiWebMvcResource.class));
+        // Nothing injects it, it has to exist to evict users on USER_CHANGED
+        assertTrue(isCreated(UserRegionEvictor.class));
+    }
+
+    @Test
+    void shouldCreateTheAdminInTheBackground() throws InterruptedException {
+        assertTrue(adminConfig.isCreateInBackground());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (userRepository.findByEmail(adminConfig.getEmail()).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(userRepository.findByEmail(adminConfig.getEmail()).isPresent());
+    }
+
+    // Looks at the singletons created so far without creating any
+    private boolean isCreated(Class<?> type) {
+        ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+        String[] names = beanFactory.getBeanNamesForType(type, true, false);
+        assertTrue(names.length > 0, "no " + type.getSimpleName() + " bean");
+        return Arrays.stream(names)
+                .map(name -> name.startsWith("&") ? name.substring(1) : name)
+                .anyMatch(beanFactory::containsSingleton);
+    }
+}
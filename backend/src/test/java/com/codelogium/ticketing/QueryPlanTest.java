@@ -0,0 +1,287 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.dto.TicketField;
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.enums.DeletionStatus;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.metrics.StatementRecorder;
+import com.codelogium.ticketing.repository.AuditLogRepository;
+import com.codelogium.ticketing.repository.CommentRepository;
+import com.codelogium.ticketing.repository.EmailVerificationRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserDeletionJobRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+
+/*
+ * Runs every repository query against a schema built by the Flyway migrations
+ * (Hibernate only validates it) and seeded with enough rows for the planner to
+ * prefer indexes, then EXPLAINs each SQL statement and fails on table scans.
+ * Each call runs in its own rolled back transaction, so the seed survives
+ * the deletes.
+ */
+@ActiveProfiles("test")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StatementRecorder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class QueryPlanTest {
+
+    private static final int USERS = 200;
+    private static final int AGENTS = 20;
+    private static final int TICKETS = 5000;
+    private static final int COMMENTS = 10000;
+    private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by("id"));
+    private static final Set<UserRole> STAFF = Set.of(UserRole.SUPPORT_AGENT, UserRole.ADMIN);
+    private static final Set<TicketField> FIELDS = TicketField.parse("title,status,assignedTo");
+
+    // Whole-table listings, scanning is what they are for
+    private static final Set<String> FULL_SCANS = Set.of("TicketRepository.findAll",
+            "TicketRepository.findAllFiltered", "TicketRepository.findAllWithCreator");
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> violations = new ArrayList<>();
+    private Long userId;
+    private Long agentId;
+    private Long loneUserId;
+    private Long ticketId;
+    private Long commentId;
+
+    @BeforeEach
+    void seed() {
+        Timestamp now = Timestamp.from(Instant.parse("2025-01-01T10:00:00Z"));
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[] { "user" + i + "@example.com", i < AGENTS ? "SUPPORT_AGENT" : "USER" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password, role, email_verified) VALUES (?, 'secret1', ?, "
+                + "TRUE)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        agentId = userIds.get(0);
+        userId = userIds.get(AGENTS);
+        loneUserId = userIds.get(USERS - 1);
+
+        List<Object[]> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            Long assignee = i % 3 == 0 ? null : userIds.get(i % AGENTS);
+            tickets.add(new Object[] { "Printer " + i, now, Status.values()[i % 3].name(),
+                    userIds.get(AGENTS + i % (USERS - AGENTS - 1)), assignee, assignee == null ? null : agentId, now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                + "user_id, assigned_to, assigned_by, comment_count, last_activity_at) VALUES (?, 'Jammed', ?, ?, "
+                + "'HARDWARE', 'LOW', ?, ?, ?, 0, ?)", tickets);
+        List<Long> ticketIds = jdbcTemplate.queryForList("SELECT id FROM tickets ORDER BY id", Long.class);
+        ticketId = ticketIds.get(0);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(new Object[] { "Comment " + i, now, ticketIds.get(i % TICKETS),
+                    userIds.get(AGENTS + i % (USERS - AGENTS - 1)) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (content, created_at, ticket_id, user_id) VALUES (?, ?, ?, ?)",
+                comments);
+        commentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM comments", Long.class);
+
+        List<Object[]> audits = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            boolean comment = i % 2 == 0;
+            audits.add(new Object[] { comment ? null : ticketIds.get(i % TICKETS), comment ? commentId + i : null,
+                    userId, now });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO audit_logs (ticket_id, comment_id, user_id, action, old_value, new_value, "
+                + "timestamp) VALUES (?, ?, ?, 'STATUS_UPDATED', 'NEW', 'IN_PROGRESS', ?)", audits);
+
+        List<Object[]> verifications = new ArrayList<>();
+        List<Object[]> jobs = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            verifications.add(new Object[] { "user" + i + "@example.com", i % 2 == 0, now, now });
+            jobs.add(new Object[] { userIds.get(i), i % 10 == 0 ? "RUNNING" : "COMPLETED" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO email_verification (email, otp, verified, expiry_time, created_at) VALUES "
+                + "(?, '123456', ?, ?, ?)", verifications);
+        jdbcTemplate.batchUpdate("INSERT INTO user_deletion_jobs (user_id, status, phase) VALUES (?, ?, 'TICKETS')",
+                jobs);
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM user_deletion_jobs");
+        jdbcTemplate.update("DELETE FROM email_verification");
+        jdbcTemplate.update("DELETE FROM audit_logs");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM tickets");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void shouldServeEveryRepositoryQueryFromAnIndex() {
+        User user = userRepository.findById(userId).orElseThrow();
+        User agent = userRepository.findById(agentId).orElseThrow();
+        String email = user.getEmail();
+        Instant at = Instant.now();
+
+        check("TicketRepository.findById", () -> ticketRepository.findById(ticketId));
+        check("TicketRepository.findByIdAndCreatorId", () -> ticketRepository.findByIdAndCreatorId(ticketId, userId));
+        check("TicketRepository.existsByIdAndCreatorId",
+                () -> ticketRepository.existsByIdAndCreatorId(ticketId, userId));
+        check("TicketRepository.findByCreatorId", () -> ticketRepository.findByCreatorId(userId));
+        check("TicketRepository.findByCreatorId(Pageable)", () -> ticketRepository.findByCreatorId(userId, PAGE));
+        check("TicketRepository.compareAndSetStatus",
+                () -> ticketRepository.compareAndSetStatus(ticketId, userId, Status.NEW, Status.IN_PROGRESS, at));
+        check("TicketRepository.assign", () -> ticketRepository.assign(ticketId, agent, agent, at, STAFF));
+        check("TicketRepository.recordCommentActivity",
+                () -> ticketRepository.recordCommentActivity(ticketId, 1, at));
+        check("TicketRepository.discountComments", () -> ticketRepository.discountComments(List.of(commentId)));
+        check("TicketRepository.findStatus", () -> ticketRepository.findStatus(ticketId, userId));
+        check("TicketRepository.deleteByIdAndCreatorId",
+                () -> ticketRepository.deleteByIdAndCreatorId(ticketId, userId));
+        check("TicketRepository.findIdsByCreatorAfter",
+                () -> ticketRepository.findIdsByCreatorAfter(userId, 0L, PageRequest.of(0, 100)));
+        check("TicketRepository.existsByCreatorId", () -> ticketRepository.existsByCreatorId(userId));
+        check("TicketRepository.deleteByIdIn", () -> ticketRepository.deleteByIdIn(List.of(ticketId)));
+        check("TicketRepository.clearAssignee", () -> ticketRepository.clearAssignee(agentId));
+        check("TicketRepository.clearAssigner", () -> ticketRepository.clearAssigner(agentId));
+        check("TicketRepository.findRefsByIdIn", () -> ticketRepository.findRefsByIdIn(List.of(ticketId)));
+        check("TicketRepository.findRefsByCommentIdIn",
+                () -> ticketRepository.findRefsByCommentIdIn(List.of(commentId)));
+        check("TicketRepository.findRefsByAssignee", () -> ticketRepository.findRefsByAssignee(agentId));
+        check("TicketRepository.findRefsByAssigner", () -> ticketRepository.findRefsByAssigner(agentId));
+        check("TicketRepository.findCreatorByTicket", () -> ticketRepository.findCreatorByTicket(ticketId));
+        check("TicketRepository.findByCreatorIdFiltered",
+                () -> ticketRepository.findByCreatorIdFiltered(userId, null, Status.NEW, null, PAGE));
+        check("TicketRepository.findByAssignedToIdFiltered",
+                () -> ticketRepository.findByAssignedToIdFiltered(agentId, null, Status.NEW, null, PAGE));
+        check("TicketRepository.findByAssignedToId", () -> ticketRepository.findByAssignedToId(agentId));
+        check("TicketRepository.findByAssignedToId(Pageable)",
+                () -> ticketRepository.findByAssignedToId(agentId, PAGE));
+        check("TicketRepository.findByAssignedToIsNull", () -> ticketRepository.findByAssignedToIsNull());
+        check("TicketRepository.findByCreatorIdWithCreator",
+                () -> ticketRepository.findByCreatorIdWithCreator(userId));
+        check("TicketRepository.findByAssignedToIdWithCreator",
+                () -> ticketRepository.findByAssignedToIdWithCreator(agentId));
+        check("TicketRepository.findAll", () -> ticketRepository.findAll(PAGE));
+        check("TicketRepository.findAllFiltered", () -> ticketRepository.findAllFiltered(null, null, null, PAGE));
+        check("TicketRepository.findAllWithCreator", () -> ticketRepository.findAllWithCreator());
+        check("TicketRepository.findProjected(creator)",
+                () -> ticketRepository.findProjected(FIELDS, userId, null, null, Status.NEW, null, PAGE));
+        check("TicketRepository.findProjected(assignee)",
+                () -> ticketRepository.findProjected(FIELDS, null, agentId, null, Status.NEW, null, PAGE));
+        check("TicketRepository.findProjectedById",
+                () -> ticketRepository.findProjectedById(FIELDS, ticketId, userId));
+
+        check("CommentRepository.findByIdAndTicketIdAndAuthorId",
+                () -> commentRepository.findByIdAndTicketIdAndAuthorId(commentId, ticketId, userId));
+        check("CommentRepository.findViewsByTicketId",
+                () -> commentRepository.findViewsByTicketId(ticketId, PageRequest.of(0, 20)));
+        check("CommentRepository.findViewsByTicketIdAfter",
+                () -> commentRepository.findViewsByTicketIdAfter(ticketId, at, commentId, PageRequest.of(0, 20)));
+        check("CommentRepository.deleteOwnedComment",
+                () -> commentRepository.deleteOwnedComment(commentId, ticketId, userId));
+        check("CommentRepository.findIdsByAuthorAfter",
+                () -> commentRepository.findIdsByAuthorAfter(userId, 0L, PageRequest.of(0, 100)));
+        check("CommentRepository.existsByAuthorId", () -> commentRepository.existsByAuthorId(userId));
+        check("CommentRepository.deleteByIdIn", () -> commentRepository.deleteByIdIn(List.of(commentId)));
+        check("CommentRepository.deleteByTicketIdIn", () -> commentRepository.deleteByTicketIdIn(List.of(ticketId)));
+
+        check("AuditLogRepository.findByTicketId", () -> auditLogRepository.findByTicketId(ticketId));
+        check("AuditLogRepository.findByCommentId", () -> auditLogRepository.findByCommentId(commentId));
+        check("AuditLogRepository.deleteByTicketIdIn", () -> auditLogRepository.deleteByTicketIdIn(List.of(ticketId)));
+        check("AuditLogRepository.deleteByCommentIdIn",
+                () -> auditLogRepository.deleteByCommentIdIn(List.of(commentId)));
+
+        check("UserRepository.findByEmail", () -> userRepository.findByEmail(email));
+        check("UserRepository.findSnapshotById", () -> userRepository.findSnapshotById(userId));
+        check("UserRepository.findSnapshotByEmail", () -> userRepository.findSnapshotByEmail(email));
+        check("UserRepository.findAgentViews", () -> userRepository.findAgentViews(STAFF));
+        check("UserRepository.deleteUserRow", () -> userRepository.deleteUserRow(loneUserId));
+
+        check("EmailVerificationRepository.findByEmailAndOtpAndVerifiedFalse",
+                () -> emailVerificationRepository.findByEmailAndOtpAndVerifiedFalse(email, "123456"));
+        check("EmailVerificationRepository.findByEmailAndVerifiedFalse",
+                () -> emailVerificationRepository.findByEmailAndVerifiedFalse(email));
+        check("EmailVerificationRepository.deleteByEmailAndVerifiedTrue",
+                () -> emailVerificationRepository.deleteByEmailAndVerifiedTrue(email));
+        check("EmailVerificationRepository.deleteByExpiryTimeBefore",
+                () -> emailVerificationRepository.deleteByExpiryTimeBefore(LocalDateTime.of(2024, 1, 1, 0, 0)));
+        check("EmailVerificationRepository.deleteByEmail", () -> emailVerificationRepository.deleteByEmail(email));
+
+        check("UserDeletionJobRepository.findByStatusIn",
+                () -> userDeletionJobRepository.findByStatusIn(Set.of(DeletionStatus.PENDING, DeletionStatus.RUNNING)));
+        check("UserDeletionJobRepository.findFirstByUserIdAndStatusIn",
+                () -> userDeletionJobRepository.findFirstByUserIdAndStatusIn(userId, Set.of(DeletionStatus.RUNNING)));
+
+        assertTrue(violations.isEmpty(), () -> "Table scans:\n" + String.join("\n\n", violations));
+    }
+
+    // Runs the call in a rolled back transaction and EXPLAINs every statement it sent
+    private void check(String query, Runnable call) {
+        List<String> statements = new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            StatementRecorder.Recording recording = statementRecorder.begin();
+            try {
+                call.run();
+                return recording.keptSince(0, Integer.MAX_VALUE);
+            } finally {
+                statementRecorder.end(recording);
+            }
+        });
+        assertFalse(statements.isEmpty(), query + " sent no SQL");
+        if (FULL_SCANS.contains(query)) {
+            return;
+        }
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            if (plan.contains(".tableScan")) {
+                violations.add(query + ":\n" + plan);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.cache.AgentDirectory;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.datasource.ReadRouting;
+import com.codelogium.ticketing.datasource.ReadRoutingTaskDecorator;
+import com.codelogium.ticketing.datasource.ReadWriteRoutingDataSource;
+import com.codelogium.ticketing.datasource.ReadYourWritesListener;
+import com.codelogium.ticketing.event.LoopbackChangeEventBus;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.UserDeletionService;
+import com.codelogium.ticketing.service.UserService;
+import com.codelogium.ticketing.service.UserServiceImp;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Two in-memory databases, the replica is a copy of the primary that misses the latest change
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReadReplicaRoutingTest {
+
+    @TestConfiguration
+    static class RoutingConfig {
+
+        @Bean
+        HikariDataSource primaryDataSource() {
+            return database("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1");
+        }
+
+        @Bean
+        HikariDataSource replicaDataSource() {
+            return database("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1");
+        }
+
+        @Bean
+        ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                HikariDataSource replicaDataSource) {
+            return new ReadWriteRoutingDataSource(primaryDataSource, Map.of("replica-0", replicaDataSource), 60000);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        }
+
+        @Bean
+        ReadYourWritesListener readYourWritesListener() {
+            return new ReadYourWritesListener();
+        }
+
+        @Bean
+        UserSnapshotCache userSnapshotCache(UserRepository userRepository) {
+            return new UserSnapshotCache(userRepository, new UserCacheConfig(), new LoopbackChangeEventBus());
+        }
+
+        @Bean
+        UserService userService(UserRepository userRepository, UserSnapshotCache userSnapshotCache) {
+            return new UserServiceImp(userRepository, new BCryptPasswordEncoder(), mock(UserDeletionService.class),
+                    userSnapshotCache, mock(AgentDirectory.class));
+        }
+
+        private static HikariDataSource database(String url) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername("sa");
+            dataSource.setMaximumPoolSize(4);
+            return dataSource;
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserSnapshotCache userSnapshotCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    @Autowired
+    private HikariDataSource replicaDataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate primary;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        primary.update("INSERT INTO users (email, password, role, email_verified) VALUES "
+                + "('agent@example.com', 'secret1', 'SUPPORT_AGENT', true)");
+        userId = primary.queryForObject("SELECT id FROM users WHERE email = 'agent@example.com'", Long.class);
+
+        // Replicate, then change the row on the primary only: the replica lags behind
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        primary.queryForList("SCRIPT", String.class).forEach(replica::execute);
+        primary.update("UPDATE users SET email = 'renamed@example.com' WHERE id = ?", userId);
+
+        routingDataSource.checkReplicas();
+        ReadRouting.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        primary.update("DELETE FROM users");
+        ReadRouting.clear();
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromTheReplica() {
+        assertTrue(routingDataSource.isHealthy("replica-0"));
+
+        assertEquals("agent@example.com", userService.retrieveUser(userId).getEmail());
+        // Not read-only: the primary
+        assertTrue(userRepository.existsById(userId));
+        assertEquals("renamed@example.com", new TransactionTemplate(transactionManager)
+                .execute(status -> userRepository.findById(userId).orElseThrow().getEmail()));
+    }
+
+    @Test
+    void shouldReadOwnWritesFromThePrimaryUntilTheRequestEnds() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository
+                .findById(userId).orElseThrow().setEmailVerified(false));
+
+        assertEquals("renamed@example.com", userService.retrieveUser(userId).getEmail());
+
+        // What ReadRoutingFilter does when the request ends
+        ReadRouting.clear();
+        assertEquals("agent@example.com", userService.retrieveUser(userId).getEmail());
+    }
+
+    @Test
+    void shouldUnpinPooledThreadsAfterEachTask() throws Exception {
+        ReadRoutingTaskDecorator decorator = new ReadRoutingTaskDecorator();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(decorator.decorate(() -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> userRepository.findById(userId).orElseThrow().setEmailVerified(false)))).get();
+
+            // Same thread, next task: the write of the previous one no longer sends reads to the primary
+            assertFalse(pool.submit(ReadRouting::readsFromPrimary).get());
+            assertEquals("agent@example.com", pool.submit(() -> userService.retrieveUser(userId).getEmail()).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldLoadCachedSnapshotsFromThePrimary() {
+        assertEquals("renamed@example.com", userSnapshotCache.findById(userId).orElseThrow().getEmail());
+    }
+
+    @Test
+    void shouldFallBackToThePrimaryWithoutAHealthyReplica() throws Exception {
+        HikariDataSource missing = new HikariDataSource();
+        missing.setJdbcUrl("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE");
+        missing.setInitializationFailTimeout(-1);
+        missing.setConnectionTimeout(250);
+        try (ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource,
+                Map.of("replica-0", missing), 60000)) {
+            routing.checkReplicas();
+            assertFalse(routing.isHealthy("replica-0"));
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = routing.getConnection()) {
+                assertEquals("jdbc:h2:mem:routing-primary", connection.getMetaData().getURL());
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }
+    }
+
+    @Test
+    void shouldRouteConnectionsOpenedWithCredentials() throws Exception {
+        // Hikari pools only hand out connections with their own credentials, plain sources on the same databases
+        try (ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:routing-primary", "sa", ""),
+                Map.of("replica-0", new DriverManagerDataSource("jdbc:h2:mem:routing-replica", "sa", "")), 60000)) {
+            routing.checkReplicas();
+
+            try (Connection connection = routing.getConnection("sa", "")) {
+                assertEquals("jdbc:h2:mem:routing-primary", connection.getMetaData().getURL());
+            }
+            assertThrows(SQLException.class, () -> routing.getConnection("sa", "wrong"));
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = routing.getConnection("sa", "")) {
+                assertEquals("jdbc:h2:mem:routing-replica", connection.getMetaData().getURL());
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.codelogium.ticketing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.config.RepositoryMetricsConfig;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.metrics.RepositoryInvocationMetrics;
+import com.codelogium.ticketing.metrics.RepositoryMetricsPostProcessor;
+import com.codelogium.ticketing.metrics.StatementRecorder;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+// Every call counts as slow, so each one is logged
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.flyway.enabled=false",
+        "management.metrics.data.repository.autotime.percentiles=0.5,0.95,0.99",
+        "app.repository-metrics.slow-query-threshold-ms=0" })
+@ImportAutoConfiguration({ MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+        RepositoryMetricsAutoConfiguration.class })
+@Import({ RepositoryMetricsConfig.class, StatementRecorder.class, RepositoryInvocationMetrics.class,
+        RepositoryMetricsPostProcessor.class })
+@ExtendWith(OutputCaptureExtension.class)
+public class RepositoryMetricsTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES "
+                + "('reporter@example.com', 'secret1', 'USER', true)");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'reporter@example.com'",
+                Long.class);
+        Timestamp now = Timestamp.from(Instant.parse("2025-01-01T10:00:00Z"));
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                    + "user_id, comment_count, last_activity_at) VALUES (?, 'Jammed', ?, 'NEW', 'HARDWARE', 'LOW', ?, "
+                    + "0, ?)", "Printer " + i, now, userId, now);
+        }
+    }
+
+    @Test
+    void shouldRecordRowsAndStatementsPerMethod() {
+        ticketRepository.findAllFiltered(null, Status.NEW, null, PageRequest.of(0, 2, Sort.by("id")));
+
+        assertEquals(2.0, registry.get("repository.rows").tag("repository", "TicketRepository")
+                .tag("method", "findAllFiltered").summary().totalAmount());
+        // The page, its count query and the creator
+        assertEquals(3.0, registry.get("repository.statements").tag("repository", "TicketRepository")
+                .tag("method", "findAllFiltered").summary().totalAmount());
+    }
+
+    @Test
+    void shouldPublishLatencyPercentiles() {
+        userRepository.findByEmail("reporter@example.com");
+
+        HistogramSnapshot latency = registry.get("spring.data.repository.invocations")
+                .tag("repository", "UserRepository").tag("method", "findByEmail").timer().takeSnapshot();
+        assertTrue(latency.count() >= 1);
+        assertEquals(3, latency.percentileValues().length);
+        // What /actuator/metrics lists next to the timer
+        assertTrue(registry.get("spring.data.repository.invocations.percentile").tag("repository", "UserRepository")
+                .tag("method", "findByEmail").tag("phi", "0.95").gauge().value() > 0);
+    }
+
+    @Test
+    void shouldLogSlowCallsWithRedactedArguments(CapturedOutput output) {
+        userRepository.findByEmail("reporter@example.com");
+        double slow = slowFindByEmailCalls();
+        userRepository.findByEmail("reporter@example.com");
+
+        assertEquals(slow + 1, slowFindByEmailCalls());
+        assertThat(output).contains("Slow repository call UserRepository.findByEmail")
+                .contains("args [String(redacted)]")
+                .contains("hints org.hibernate.cacheable=true")
+                .contains("from users")
+                .doesNotContain("reporter@example.com]");
+    }
+
+    private double slowFindByEmailCalls() {
+        return registry.get("repository.slow.invocations").tag("repository", "UserRepository")
+                .tag("method", "findByEmail").counter().count();
+    }
+}
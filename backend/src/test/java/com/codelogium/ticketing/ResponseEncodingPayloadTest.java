@@ -0,0 +1,65 @@
+package com.codelogium.ticketing;
+
+import static com.codelogium.ticketing.TicketListFixture.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.service.TicketService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+// Size, encode and decode time of a 500-ticket list page as JSON (plain and gzipped) against CBOR
+public class ResponseEncodingPayloadTest {
+
+    // Built like the application's mappers, see ResponseEncodingConfig
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+    // Run with: mvn test -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmarkTicketListEncodings() throws IOException {
+        TicketService ticketService = ticketService(jsonMapper);
+        Map<String, Object> response = new HashMap<>();
+        response.put("tickets", ticketService.convertToDTOList(page()));
+        byte[] json = jsonMapper.writeValueAsBytes(response);
+        byte[] cbor = cborMapper.writeValueAsBytes(response);
+
+        double jsonEncodeMicros = microsPerCall(() -> jsonMapper.writeValueAsBytes(response));
+        double cborEncodeMicros = microsPerCall(() -> cborMapper.writeValueAsBytes(response));
+        double jsonDecodeMicros = microsPerCall(() -> decode(jsonMapper, json));
+        double cborDecodeMicros = microsPerCall(() -> decode(cborMapper, cbor));
+
+        System.out.printf("Ticket list (%d tickets): JSON %d bytes (%d gzipped) encode %.1f us decode %.1f us, "
+                + "CBOR %d bytes encode %.1f us decode %.1f us per page%n", TICKETS, json.length, gzip(json).length,
+                jsonEncodeMicros, jsonDecodeMicros, cbor.length, cborEncodeMicros, cborDecodeMicros);
+        assertTrue(cbor.length < json.length);
+        assertEquals(jsonMapper.readTree(json), cborMapper.readTree(cbor));
+    }
+
+    // What a dashboard does with the page: bind it back to the DTOs
+    private static Map<String, List<TicketDTO>> decode(ObjectMapper mapper, byte[] body) throws IOException {
+        return mapper.readValue(body, new TypeReference<Map<String, List<TicketDTO>>>() {
+        });
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
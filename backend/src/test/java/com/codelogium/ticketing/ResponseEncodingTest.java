@@ -0,0 +1,163 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.io.ByteArrayInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codelogium.ticketing.security.SecurityConstants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+// The same endpoints answered in JSON and in CBOR, and gzip for JSON over the real connector
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:encoding", "app.admin.create-on-startup=false" })
+public class ResponseEncodingTest {
+
+    private static final String EMAIL = "admin@example.com";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+    private Long ticketId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("DELETE FROM audit_logs");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM tickets");
+        // The user stays, its snapshot is cached for the whole context
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class) == 0) {
+            jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES (?, 'secret1', "
+                    + "'ADMIN', true)", EMAIL);
+        }
+        send(post("/tickets", "{\"title\":\"Printer jammed\",\"description\":\"Paper is stuck\","
+                + "\"category\":\"HARDWARE\",\"priority\":\"HIGH\"}"));
+        ticketId = jdbcTemplate.queryForObject("SELECT id FROM tickets", Long.class);
+        send(post("/tickets/" + ticketId + "/comments", "{\"content\":\"Tray 2 is empty\"}"));
+    }
+
+    @Test
+    void shouldAnswerInCborWhenAccepted() throws Exception {
+        for (String path : List.of("/tickets", "/tickets?fields=title,createdBy", "/tickets/" + ticketId,
+                "/tickets/" + ticketId + "?fields=status", "/tickets/" + ticketId + "/comments",
+                "/tickets/" + ticketId + "/audit-logs", "/tickets/" + ticketId + "/full")) {
+            HttpResponse<byte[]> json = send(get(path, MediaType.APPLICATION_JSON_VALUE));
+            HttpResponse<byte[]> cbor = send(get(path, MediaType.APPLICATION_CBOR_VALUE));
+
+            assertEquals(200, cbor.statusCode(), path);
+            assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                    .orElseThrow(), path);
+            JsonNode expected = jsonMapper.readTree(json.body());
+            assertFalse(expected.isEmpty(), path);
+            assertEquals(expected, cborMapper.readTree(cbor.body()), path);
+        }
+    }
+
+    @Test
+    void shouldKeepJsonAsTheDefault() throws Exception {
+        HttpResponse<byte[]> response = send(get("/tickets/" + ticketId, "*/*"));
+
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .orElseThrow());
+        assertEquals("Printer jammed", jsonMapper.readTree(response.body()).get("title").asText());
+    }
+
+    @Test
+    void shouldNegotiateTheCachedTicketByQuality() throws Exception {
+        String path = "/tickets/" + ticketId;
+
+        // Act
+        HttpResponse<byte[]> cbor = send(get(path, "application/json;q=0, */*"));
+        HttpResponse<byte[]> malformed = send(get(path, "application/"));
+        HttpResponse<byte[]> refused = client.send(get(path, "application/json;q=0, application/cbor;q=0").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> created = send(post("/tickets", "{\"title\":\"Mouse is dead\",\"description\":\"No light\","
+                + "\"category\":\"HARDWARE\",\"priority\":\"LOW\"}").header(HttpHeaders.ACCEPT,
+                        MediaType.APPLICATION_CBOR_VALUE));
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertTrue(cbor.headers().allValues(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, malformed.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .orElseThrow());
+        assertEquals(406, refused.statusCode());
+        assertTrue(created.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow()
+                .startsWith(MediaType.TEXT_PLAIN_VALUE));
+    }
+
+    @Test
+    void shouldCompressLargeJsonButNotCbor() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            send(post("/tickets", "{\"title\":\"Monitor " + i + " flickers\",\"description\":\"Since this morning\","
+                    + "\"category\":\"HARDWARE\",\"priority\":\"LOW\"}"));
+        }
+        HttpRequest.Builder json = get("/tickets?size=30", MediaType.APPLICATION_JSON_VALUE);
+        HttpRequest.Builder cbor = get("/tickets?size=30", MediaType.APPLICATION_CBOR_VALUE);
+
+        HttpResponse<byte[]> gzipped = send(json.header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        HttpResponse<byte[]> binary = send(cbor.header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        assertEquals("gzip", gzipped.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertEquals(30, jsonMapper.readTree(gunzip(gzipped.body())).get("tickets").size());
+        assertTrue(binary.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        assertEquals(30, cborMapper.readTree(binary.body()).get("tickets").size());
+    }
+
+    private HttpRequest.Builder get(String path, String accept) {
+        return request(path).header(HttpHeaders.ACCEPT, accept).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return request(path).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        String token = JWT.create()
+                .withSubject(EMAIL)
+                .withClaim("authorities", List.of("ADMIN"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.TOKEN_EXPIRATION))
+                .sign(Algorithm.HMAC512(SecurityConstants.SECRET_KEY));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(SecurityConstants.AUTHORIZATION, SecurityConstants.BEARER + token);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertTrue(response.statusCode() < 300, response.uri() + " answered " + response.statusCode());
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
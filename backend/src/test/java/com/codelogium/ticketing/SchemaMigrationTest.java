@@ -0,0 +1,62 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+// The Flyway chain on H2 in PostgreSQL mode, stopped before V8 to add rows an older install would have
+public class SchemaMigrationTest {
+
+    private static final String SEED_EMAIL = "admin@company.com";
+
+    @Test
+    void shouldDropTheSeededAdmin() {
+        DriverManagerDataSource dataSource = dataSource("seed_dropped");
+        Flyway flyway = flyway(dataSource, "7");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Act
+        flyway.migrate();
+        flyway(dataSource, "latest").migrate();
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class,
+                SEED_EMAIL));
+    }
+
+    @Test
+    void shouldDisableTheSeededAdminWhenItOwnsTickets() {
+        DriverManagerDataSource dataSource = dataSource("seed_disabled");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource, "7").migrate();
+        jdbcTemplate.update("INSERT INTO tickets (title, description, status, category, priority, user_id) "
+                + "SELECT 'Printer jammed', 'Paper is stuck', 'NEW', 'HARDWARE', 'LOW', id FROM users WHERE email = ?",
+                SEED_EMAIL);
+
+        // Act
+        flyway(dataSource, "latest").migrate();
+
+        // Assert
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT password, email_verified FROM users WHERE email = ?", SEED_EMAIL);
+        assertEquals(1, rows.size());
+        assertEquals(false, rows.get(0).get("email_verified"));
+        assertFalse(((String) rows.get(0).get("password")).startsWith("$2a$"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tickets", Integer.class));
+    }
+
+    private static DriverManagerDataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String target) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target(target).load();
+    }
+}
@@ -0,0 +1,208 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.cache.UserRegionEvictor;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.entity.Ticket;
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.event.LoopbackChangeEventBus;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Each page is read in its own transaction, so the test runs outside the rollback-only transaction
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.flyway.enabled=false" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    private static final int USERS = 10;
+    private static final int TICKETS = 200;
+    private static final PageRequest PAGE = PageRequest.of(0, 50, Sort.by("id"));
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+    private UserSnapshotCache userSnapshotCache;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LoopbackChangeEventBus bus = new LoopbackChangeEventBus();
+        userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(), bus);
+        new UserRegionEvictor(entityManagerFactory, bus);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int i = 0; i < USERS; i++) {
+            jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES (?, 'secret1', ?, true)",
+                    "user" + i + "@example.com", i % 2 == 0 ? "USER" : "SUPPORT_AGENT");
+            userIds.add(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                    "user" + i + "@example.com"));
+        }
+        Timestamp now = Timestamp.from(Instant.parse("2025-01-01T10:00:00Z"));
+        for (int i = 0; i < TICKETS; i++) {
+            jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                    + "user_id, assigned_to, comment_count, last_activity_at) VALUES (?, 'Jammed', ?, 'NEW', "
+                    + "'HARDWARE', 'LOW', ?, ?, 0, ?)", "Printer " + i, now, userIds.get(i % USERS),
+                    userIds.get((i + 1) % USERS), now);
+        }
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tickets");
+        jdbcTemplate.update("DELETE FROM users");
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @Test
+    void shouldLoadTicketPageUsersFromTheRegion() {
+        statistics.clear();
+        loadPage(CacheMode.NORMAL);
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Page<Ticket> page = loadPage(CacheMode.NORMAL);
+
+        // Assert: the ticket and count queries only, every creator and assignee is a region hit
+        assertEquals(50, page.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2 + USERS, coldStatements);
+        assertEquals(0, statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getMissCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount() >= USERS);
+
+        // With the cache bypassed every user is selected again
+        statistics.clear();
+        loadPage(CacheMode.IGNORE);
+        assertEquals(2 + USERS, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldEvictUsersChangedOutsideTheSession() {
+        long userId = userIds.get(0);
+        assertEquals("user0@example.com", userRepository.findById(userId).orElseThrow().getEmail());
+        assertTrue(userRepository.findByEmail("user0@example.com").isPresent());
+        jdbcTemplate.update("UPDATE users SET email = 'renamed@example.com' WHERE id = ?", userId);
+
+        // Still the cached row until a writer evicts it
+        assertEquals("user0@example.com", userRepository.findById(userId).orElseThrow().getEmail());
+        userSnapshotCache.evict(userId);
+
+        assertEquals("renamed@example.com", userRepository.findById(userId).orElseThrow().getEmail());
+        assertTrue(userRepository.findByEmail("user0@example.com").isEmpty());
+        assertEquals(userId, userRepository.findByEmail("renamed@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void shouldServeRepeatedEmailLookupsFromTheQueryCache() {
+        userRepository.findByEmail("user1@example.com");
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(userRepository.findByEmail("user1@example.com").isPresent());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(10, statistics.getQueryRegionStatistics(User.QUERY_CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void shouldExportRegionStatisticsAsMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HibernateMetrics(sessionFactory, "entityManagerFactory", Tags.empty()).bindTo(registry);
+
+        loadPage(CacheMode.NORMAL);
+        loadPage(CacheMode.NORMAL);
+
+        assertTrue(registry.get("hibernate.second.level.cache.requests").tag("region", User.CACHE_REGION)
+                .tag("result", "hit").functionCounter().count() >= USERS);
+        assertTrue(registry.get("hibernate.second.level.cache.puts").tag("region", User.CACHE_REGION)
+                .functionCounter().count() >= USERS);
+    }
+
+    // Run with: mvn test -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmarkTicketPageLatency() {
+        int warmup = 200;
+        int iterations = 2000;
+        for (int i = 0; i < warmup; i++) {
+            loadPage(CacheMode.NORMAL);
+            loadPage(CacheMode.IGNORE);
+        }
+
+        long off = time(CacheMode.IGNORE, iterations);
+        long on = time(CacheMode.NORMAL, iterations);
+
+        System.out.printf("Ticket page (%d tickets, %d users): cache off %.1f us, cache on %.1f us per page%n",
+                PAGE.getPageSize(), USERS, off / 1000.0 / iterations, on / 1000.0 / iterations);
+        assertTrue(on < off);
+    }
+
+    private long time(CacheMode mode, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            loadPage(mode);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // The ticket list page, read the way TicketServiceImp reads it
+    private Page<Ticket> loadPage(CacheMode mode) {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(mode);
+            return ticketRepository.findAllFiltered(null, null, null, PAGE);
+        });
+    }
+}
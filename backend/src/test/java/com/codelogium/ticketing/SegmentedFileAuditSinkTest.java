@@ -0,0 +1,214 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.codelogium.ticketing.audit.SegmentedFileAuditSink;
+import com.codelogium.ticketing.entity.AuditLog;
+
+public class SegmentedFileAuditSinkTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private AuditLog entry(Long ticketId, Long commentId, String action, String oldValue, String newValue) {
+        return new AuditLog(null, ticketId, commentId, 1L, action, oldValue, newValue, Instant.now());
+    }
+
+    @Test
+    void shouldAppendAndReadBackByTicketAndComment() throws Exception {
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 1, 5000);
+
+        // Act
+        AuditLog created = sink.append(entry(1L, null, "TICKET_CREATED", null, "NEW"));
+        sink.append(entry(2L, null, "TICKET_CREATED", null, "NEW"));
+        sink.append(entry(1L, 10L, "COMMENT_ADDED", null, "Printer is on fire ✓"));
+        sink.append(entry(1L, null, "STATUS_UPDATED", "NEW", "IN_PROGRESS"));
+
+        // Assert
+        assertEquals(1L, created.getId());
+
+        List<AuditLog> ticketLogs = sink.findByTicketId(1L);
+        assertEquals(3, ticketLogs.size());
+        assertEquals("TICKET_CREATED", ticketLogs.get(0).getAction());
+        assertNull(ticketLogs.get(0).getOldValue());
+        assertEquals("IN_PROGRESS", ticketLogs.get(2).getNewValue());
+
+        List<AuditLog> commentLogs = sink.findByCommentId(10L);
+        assertEquals(1, commentLogs.size());
+        assertEquals("Printer is on fire ✓", commentLogs.get(0).getNewValue());
+        assertTrue(sink.findByTicketId(99L).isEmpty());
+
+        sink.destroy();
+    }
+
+    @Test
+    void shouldOnlyScanSegmentsContainingTheTicket() throws Exception {
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 1, 5000);
+
+        // Ticket 1 lands in the first segment only, the rest of the traffic rolls several segments
+        sink.append(entry(1L, null, "TICKET_CREATED", null, "NEW"));
+        for (long i = 0; i < 200; i++) {
+            sink.append(entry(100L + i, null, "STATUS_UPDATED", "NEW", "IN_PROGRESS"));
+        }
+
+        assertTrue(sink.getSegmentCount() > 3);
+        assertEquals(1, sink.countSegmentsForTicket(1L));
+        assertEquals(1, sink.findByTicketId(1L).size());
+
+        sink.destroy();
+    }
+
+    @Test
+    void shouldOnlyScanSegmentsOverlappingTheTimeRange() throws Exception {
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 1, 5000);
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+
+        // One entry of ticket 1 per hour, enough to roll several segments
+        for (int i = 0; i < 200; i++) {
+            AuditLog entry = entry(1L, null, "STATUS_UPDATED", "NEW", "IN_PROGRESS");
+            entry.setTimestamp(start.plus(Duration.ofHours(i)));
+            sink.append(entry);
+        }
+        Instant from = start.plus(Duration.ofHours(10));
+        Instant to = start.plus(Duration.ofHours(15));
+
+        // Act
+        List<AuditLog> logs = sink.findByTicketIdBetween(1L, from, to);
+
+        // Assert
+        assertEquals(5, logs.size());
+        assertEquals(from, logs.get(0).getTimestamp());
+        assertTrue(sink.getSegmentCount() > 3);
+        assertEquals(1, sink.countSegmentsForTicket(1L, from, to));
+        assertTrue(sink.findByTicketIdBetween(1L, start.minus(Duration.ofDays(1)), start).isEmpty());
+
+        sink.destroy();
+    }
+
+    @Test
+    void shouldRecoverSegmentsAfterReopen() throws Exception {
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 1, 5000);
+        for (long i = 0; i < 100; i++) {
+            sink.append(entry(i % 5, null, "STATUS_UPDATED", "NEW", "RESOLVED"));
+        }
+        sink.destroy();
+
+        // Act
+        SegmentedFileAuditSink reopened = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 1, 5000);
+        AuditLog next = reopened.append(entry(3L, null, "STATUS_UPDATED", "RESOLVED", "IN_PROGRESS"));
+
+        // Assert
+        assertEquals(101L, next.getId());
+        assertEquals(21, reopened.findByTicketId(3L).size());
+        reopened.destroy();
+    }
+
+    @Test
+    void shouldGroupCommitConcurrentAppends() throws Exception {
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE * 16, 2, 5000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 400; i++) {
+            long ticketId = i % 4;
+            executor.submit(() -> sink.append(entry(ticketId, null, "STATUS_UPDATED", "NEW", "IN_PROGRESS")));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        long total = 0;
+        for (long ticketId = 0; ticketId < 4; ticketId++) {
+            total += sink.findByTicketId(ticketId).size();
+        }
+        assertEquals(400, total);
+        sink.destroy();
+    }
+
+    @Test
+    void shouldFailAppendsWhoseCommitTakesTooLong() throws Exception {
+        // The flusher's first run is an hour away
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 3_600_000, 100);
+
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> sink.append(entry(1L, null, "TICKET_CREATED", null, "NEW")));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        sink.destroy();
+    }
+
+    @Test
+    void shouldWriteOnlyAfterTheTransactionCommitsWithoutWaitingForTheFsync() throws Exception {
+        // The flusher's first run is an hour away, a caller waiting for it would time out
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 3_600_000, 100);
+
+        // Act
+        inTransaction(() -> sink.append(entry(1L, null, "TICKET_CREATED", null, "NEW")),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        inTransaction(() -> sink.append(entry(2L, null, "TICKET_CREATED", null, "NEW")),
+                TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertTrue(sink.findByTicketId(1L).isEmpty());
+        assertEquals(1, sink.findByTicketId(2L).size());
+        sink.destroy();
+    }
+
+    @Test
+    void shouldReadWhileSegmentsAreSealed() throws Exception {
+        SegmentedFileAuditSink sink = new SegmentedFileAuditSink(directory, SEGMENT_SIZE, 1, 5000);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        Future<?> reads = reader.submit(() -> {
+            while (writing.get()) {
+                sink.findByTicketId(1L);
+                sink.findByCommentId(10L);
+            }
+        });
+        List<AuditLog> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(entry(1L, 10L, "COMMENT_ADDED", null, "Still jammed"));
+        }
+        sink.appendAll(batch);
+        writing.set(false);
+
+        // Assert
+        reads.get(30, TimeUnit.SECONDS);
+        assertTrue(sink.getSegmentCount() > 1);
+        assertEquals(500, sink.findByTicketId(1L).size());
+        reader.shutdown();
+        sink.destroy();
+    }
+
+    private static void inTransaction(Runnable work, int outcome) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (outcome == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            synchronizations.forEach(sync -> sync.afterCompletion(outcome));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
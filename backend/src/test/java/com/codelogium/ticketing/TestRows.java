@@ -0,0 +1,64 @@
+package com.codelogium.ticketing;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.codelogium.ticketing.entity.enums.UserRole;
+
+// Rows written straight with JDBC, so a test's setup does not go through the code it measures
+public class TestRows {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestRows(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long insertUser(String email) {
+        return insertUser(email, UserRole.USER);
+    }
+
+    public long insertUser(String email, UserRole role) {
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES (?, 'secret1', ?, true)",
+                email, role.name());
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    public long insertTicket(long userId) {
+        jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                + "user_id) VALUES ('Ticket', 'Generated ticket', ?, 'NEW', 'HARDWARE', 'LOW', ?)",
+                Timestamp.from(Instant.now()), userId);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM tickets WHERE user_id = ?", Long.class, userId);
+    }
+
+    // Ids of all the user's tickets, in insertion order
+    public List<Long> insertTickets(long userId, int amount) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            rows.add(new Object[] { "Ticket " + i, "Generated ticket", now, "NEW", "HARDWARE", "LOW", userId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                + "user_id) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM tickets WHERE user_id = ? ORDER BY id", Long.class, userId);
+    }
+
+    public void insertComment(long ticketId, long userId) {
+        insertComments(ticketId, List.of(userId), 1, Instant.now());
+    }
+
+    // Authors take turns, all comments share the same timestamp
+    public void insertComments(long ticketId, List<Long> authors, int amount, Instant createdAt) {
+        Timestamp timestamp = Timestamp.from(createdAt);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            rows.add(new Object[] { "Comment " + i, timestamp, ticketId, authors.get(i % authors.size()) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (content, created_at, ticket_id, user_id) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+}
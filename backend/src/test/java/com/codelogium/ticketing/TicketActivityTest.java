@@ -0,0 +1,145 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketInfoUpdateDTO;
+import com.codelogium.ticketing.dto.TicketStatusUpdateDTO;
+import com.codelogium.ticketing.entity.Comment;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.repository.CommentRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.CommentServiceImp;
+import com.codelogium.ticketing.service.TicketServiceImp;
+
+// Comments are added from several threads that each commit, so the test runs outside the rollback-only transaction
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TicketActivityTest {
+
+    private static final int WRITERS = 8;
+    private static final int COMMENTS_PER_WRITER = 5;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TicketServiceImp ticketService;
+    private CommentServiceImp commentService;
+    private TransactionTemplate transactionTemplate;
+    private long ownerId;
+    private long ticketId;
+    private Instant createdAt;
+
+    @BeforeEach
+    void setUp() {
+        AuditSink auditSink = mock(AuditSink.class);
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(),
+                mock(ChangeEventBus.class));
+        ticketService = new TicketServiceImp(ticketRepository, userRepository, auditSink,
+                mock(ChangeEventBus.class), userSnapshotCache, mock(TicketDetailCache.class));
+        commentService = new CommentServiceImp(commentRepository, ticketRepository, auditSink, userRepository,
+                mock(ChangeEventBus.class), userSnapshotCache);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES ('owner@example.com', "
+                + "'secret1', 'USER', true)");
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users", Long.class);
+        createdAt = Instant.parse("2025-01-01T10:00:00Z");
+        jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                + "user_id, comment_count, last_activity_at) VALUES ('Printer', 'Jammed', ?, 'NEW', 'HARDWARE', 'LOW', "
+                + "?, 0, ?)", Timestamp.from(createdAt), ownerId, Timestamp.from(createdAt));
+        ticketId = jdbcTemplate.queryForObject("SELECT id FROM tickets", Long.class);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM tickets");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void shouldCountConcurrentCommentsWithoutLosingUpdates() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < COMMENTS_PER_WRITER; j++) {
+                    transactionTemplate.executeWithoutResult(status -> commentService.createComment(ticketId, ownerId,
+                            new Comment(null, "Any update?", null, null, null)));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        TicketDTO ticket = ticketService.convertToDTO(ticketRepository.findById(ticketId).orElseThrow());
+        assertEquals(WRITERS * COMMENTS_PER_WRITER, ticket.getCommentCount());
+        assertTrue(ticketRepository.findById(ticketId).orElseThrow().getLastActivityAt().isAfter(createdAt));
+
+        // Removing one takes it off the count
+        long commentId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM comments", Long.class);
+        transactionTemplate.executeWithoutResult(status -> commentService.removeComment(commentId, ticketId, ownerId));
+        assertEquals(WRITERS * COMMENTS_PER_WRITER - 1, ticketRepository.findById(ticketId).orElseThrow()
+                .getCommentCount());
+    }
+
+    @Test
+    void shouldTouchLastActivityOnInfoAndStatusChanges() {
+        transactionTemplate.executeWithoutResult(status -> ticketService.updateTicketInfo(ticketId, ownerId,
+                new TicketInfoUpdateDTO("Printer on floor 2", null, null, null, null)));
+        Instant afterInfo = ticketRepository.findById(ticketId).orElseThrow().getLastActivityAt();
+        assertTrue(afterInfo.isAfter(createdAt));
+
+        transactionTemplate.executeWithoutResult(status -> ticketService.updateTicketStatus(ticketId, ownerId,
+                new TicketStatusUpdateDTO(Status.IN_PROGRESS)));
+        Instant afterStatus = ticketRepository.findById(ticketId).orElseThrow().getLastActivityAt();
+        assertFalse(afterStatus.isBefore(afterInfo));
+
+        // The entity save of an info change never writes the count back
+        assertEquals(0, ticketRepository.findById(ticketId).orElseThrow().getCommentCount());
+    }
+}
@@ -0,0 +1,112 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.dto.TicketAssignmentDTO;
+import com.codelogium.ticketing.entity.Ticket;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.exception.InvalidAssignmentException;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.TicketServiceImp;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false" })
+public class TicketAssignmentTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestRows rows;
+    private TicketServiceImp ticketService;
+    private AuditSink auditSink;
+    private long adminId;
+    private long agentId;
+    private long userId;
+    private long ticketId;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+        auditSink = mock(AuditSink.class);
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(),
+                mock(ChangeEventBus.class));
+        ticketService = new TicketServiceImp(ticketRepository, userRepository, auditSink,
+                mock(ChangeEventBus.class), userSnapshotCache, mock(TicketDetailCache.class));
+
+        adminId = rows.insertUser("admin@example.com", UserRole.ADMIN);
+        agentId = rows.insertUser("agent@example.com", UserRole.SUPPORT_AGENT);
+        userId = rows.insertUser("user@example.com", UserRole.USER);
+        ticketId = rows.insertTicket(userId);
+    }
+
+    @Test
+    void shouldAssignWithSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        int updated = ticketRepository.assign(ticketId, userRepository.getReferenceById(agentId),
+                userRepository.getReferenceById(adminId), Instant.now(), List.of(UserRole.SUPPORT_AGENT, UserRole.ADMIN));
+
+        // Assert: the UPDATE with its role check is the only statement, the proxies are never initialized
+        assertEquals(1, updated);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(agentId, jdbcTemplate.queryForObject("SELECT assigned_to FROM tickets WHERE id = ?", Long.class,
+                ticketId));
+    }
+
+    @Test
+    void shouldAssignTicketAndWriteAuditEntry() {
+        Ticket ticket = ticketService.assignTicket(ticketId, new TicketAssignmentDTO(agentId), adminId);
+
+        assertEquals(agentId, ticket.getAssignedTo().getId());
+        assertEquals(adminId, ticket.getAssignedBy().getId());
+        assertNotNull(ticket.getAssignedAt());
+        verify(auditSink).append(argThat(log -> "ASSIGNED".equals(log.getAction())));
+    }
+
+    @Test
+    void shouldRejectInvalidAssignments() {
+        assertThrows(InvalidAssignmentException.class,
+                () -> ticketService.assignTicket(ticketId, new TicketAssignmentDTO(userId), adminId));
+        assertThrows(ResourceNotFoundException.class,
+                () -> ticketService.assignTicket(ticketId, new TicketAssignmentDTO(9_999L), adminId));
+        assertThrows(ResourceNotFoundException.class,
+                () -> ticketService.assignTicket(9_999L, new TicketAssignmentDTO(agentId), adminId));
+
+        assertNull(jdbcTemplate.queryForObject("SELECT assigned_to FROM tickets WHERE id = ?", Long.class, ticketId));
+        verifyNoInteractions(auditSink);
+    }
+}
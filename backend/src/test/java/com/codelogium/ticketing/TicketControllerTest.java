@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -24,13 +26,21 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.dto.NormalizedTicketDTO;
+import com.codelogium.ticketing.dto.NormalizedTicketList;
 import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.UserBasicDTO;
 import com.codelogium.ticketing.entity.Ticket;
 import com.codelogium.ticketing.entity.User;
 import com.codelogium.ticketing.entity.enums.Category;
@@ -39,7 +49,11 @@ import com.codelogium.ticketing.entity.enums.Status;
 import com.codelogium.ticketing.entity.enums.UserRole;
 import com.codelogium.ticketing.service.TicketService;
 import com.codelogium.ticketing.service.UserService;
+import com.codelogium.ticketing.web.ResponseEncoding;
 import com.codelogium.ticketing.web.TicketController;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 
 @ExtendWith(MockitoExtension.class)
 public class TicketControllerTest {
@@ -56,6 +70,9 @@ public class TicketControllerTest {
     @Mock
     private SecurityContext securityContext;
 
+    @Spy
+    private ResponseEncoding responseEncoding = new ResponseEncoding(new MappingJackson2CborHttpMessageConverter());
+
     @InjectMocks
     private TicketController ticketController;
 
@@ -78,7 +95,7 @@ public class TicketControllerTest {
                 new ArrayList<>());
 
         testTicket = new Ticket(1L, "Test Ticket", "Test Description",
-                Instant.now(), Status.NEW, Category.NETWORK, Priority.HIGH, testUser, null, null, null,
+                Instant.now(), Status.NEW, Category.NETWORK, Priority.HIGH, testUser, null, null, null, 0L, null, 0L,
                 new ArrayList<>());
 
         testTicketDTO = new TicketDTO();
@@ -98,7 +115,7 @@ public class TicketControllerTest {
     void shouldGetUserTicketsPaginated() {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
 
         List<TicketDTO> ticketDTOs = List.of(testTicketDTO);
         Page<Ticket> ticketPage = new PageImpl<>(List.of(testTicket), PageRequest.of(0, 10), 1);
@@ -122,7 +139,7 @@ public class TicketControllerTest {
     void shouldGetAllTicketsForAdmin() {
         // Mock
         when(authentication.getName()).thenReturn("admin@example.com");
-        when(userService.retrieveUser("admin@example.com")).thenReturn(testAdmin);
+        when(userService.retrieveUser("admin@example.com")).thenReturn(UserSnapshot.of(testAdmin));
 
         List<TicketDTO> ticketDTOs = List.of(testTicketDTO);
         Page<Ticket> ticketPage = new PageImpl<>(List.of(testTicket), PageRequest.of(0, 10), 1);
@@ -139,11 +156,39 @@ public class TicketControllerTest {
         assertEquals(1L, response.getBody().get("totalItems"));
     }
 
+    @Test
+    void shouldReturnNormalizedTicketsWhenRequested() {
+        // Mock
+        when(authentication.getName()).thenReturn("admin@example.com");
+        when(userService.retrieveUser("admin@example.com")).thenReturn(UserSnapshot.of(testAdmin));
+
+        Page<Ticket> ticketPage = new PageImpl<>(List.of(testTicket), PageRequest.of(0, 10), 1);
+        NormalizedTicketDTO normalizedTicket = new NormalizedTicketDTO();
+        normalizedTicket.setId(1L);
+        normalizedTicket.setCreatedBy(testUser.getId());
+        Map<Long, UserBasicDTO> users = Map.of(testUser.getId(),
+                new UserBasicDTO(testUser.getId(), testUser.getEmail(), testUser.getRole()));
+
+        when(ticketService.getAllTicketsPaginated(any(Pageable.class))).thenReturn(ticketPage);
+        when(ticketService.convertToNormalizedList(any()))
+                .thenReturn(new NormalizedTicketList(List.of(normalizedTicket), users));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = ticketController.getTickets(0, 10, "id", "desc", null, null,
+                null, true);
+
+        // Assert
+        assertEquals(List.of(normalizedTicket), response.getBody().get("tickets"));
+        assertEquals(users, response.getBody().get("users"));
+        assertEquals(1L, response.getBody().get("totalItems"));
+        verify(ticketService, never()).convertToDTOList(any());
+    }
+
     @Test
     void shouldPassCorrectSortParamsForUserTickets() {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
 
         Page<Ticket> ticketPage = new PageImpl<>(List.of(testTicket), PageRequest.of(0, 10), 1);
         when(ticketService.retrieveTicketsByCreatorPaginated(eq(testUser.getId()), any(Pageable.class)))
@@ -169,7 +214,7 @@ public class TicketControllerTest {
     void shouldPassCorrectSortParamsForAdminTickets() {
         // Mock
         when(authentication.getName()).thenReturn("admin@example.com");
-        when(userService.retrieveUser("admin@example.com")).thenReturn(testAdmin);
+        when(userService.retrieveUser("admin@example.com")).thenReturn(UserSnapshot.of(testAdmin));
 
         Page<Ticket> ticketPage = new PageImpl<>(List.of(testTicket), PageRequest.of(0, 10), 1);
         when(ticketService.getAllTicketsPaginated(any(Pageable.class))).thenReturn(ticketPage);
@@ -192,7 +237,7 @@ public class TicketControllerTest {
     void shouldCreateTicketSuccessfully() {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
         when(ticketService.createTicket(anyLong(), any(Ticket.class))).thenReturn(testTicket);
 
         // Act
@@ -201,45 +246,78 @@ public class TicketControllerTest {
         // Assert
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals("Ticket created successfully", response.getBody());
+        assertEquals(MediaType.TEXT_PLAIN, response.getHeaders().getContentType());
     }
 
     @Test
-    void shouldRetrieveUserTicketById() {
+    void shouldRetrieveUserTicketById() throws Exception {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
-        when(ticketService.retrieveTicket(1L, testUser.getId())).thenReturn(testTicket);
-        when(ticketService.convertToDTO(testTicket)).thenReturn(testTicketDTO);
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
+        byte[] json = "{\"id\":1}".getBytes();
+        when(ticketService.retrieveTicketJson(1L, testUser.getId(), UserRole.USER)).thenReturn(json);
 
         // Act
-        ResponseEntity<TicketDTO> response = ticketController.retrieveTicket(1L);
+        ResponseEntity<byte[]> response = ticketController.retrieveTicket(1L, MediaType.APPLICATION_JSON_VALUE);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(testTicketDTO, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+        assertSame(json, response.getBody());
     }
 
     @Test
-    void shouldRetrieveAnyTicketForAdmin() {
+    void shouldRetrieveAnyTicketForAdmin() throws Exception {
         // Mock
         when(authentication.getName()).thenReturn("admin@example.com");
-        when(userService.retrieveUser("admin@example.com")).thenReturn(testAdmin);
-        when(ticketService.retrieveTicketById(1L)).thenReturn(testTicket);
-        when(ticketService.convertToDTO(testTicket)).thenReturn(testTicketDTO);
+        when(userService.retrieveUser("admin@example.com")).thenReturn(UserSnapshot.of(testAdmin));
+        byte[] json = "{\"id\":1}".getBytes();
+        when(ticketService.retrieveTicketJson(1L, testAdmin.getId(), UserRole.ADMIN)).thenReturn(json);
 
         // Act
-        ResponseEntity<TicketDTO> response = ticketController.retrieveTicket(1L);
+        ResponseEntity<byte[]> response = ticketController.retrieveTicket(1L, MediaType.APPLICATION_JSON_VALUE);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(testTicketDTO, response.getBody());
+        assertSame(json, response.getBody());
+    }
+
+    @Test
+    void shouldTranscodeTheCachedTicketWhenCborIsAccepted() throws Exception {
+        // Mock
+        when(authentication.getName()).thenReturn("tupac@gmail.com");
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
+        byte[] json = "{\"id\":1,\"title\":\"Printer jammed\",\"createdBy\":{\"id\":1}}".getBytes();
+        when(ticketService.retrieveTicketJson(1L, testUser.getId(), UserRole.USER)).thenReturn(json);
+
+        // Act
+        ResponseEntity<byte[]> response = ticketController.retrieveTicket(1L,
+                "application/json;q=0.5, application/cbor");
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        JsonNode decoded = new CBORMapper().readTree(response.getBody());
+        assertEquals(new ObjectMapper().readTree(json), decoded);
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("application/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("application/cbor;q=0.1, */*"));
+        assertEquals(MediaType.APPLICATION_CBOR, ResponseEncoding.negotiate("application/json;q=0, */*"));
+        assertEquals(MediaType.APPLICATION_CBOR, ResponseEncoding.negotiate("*/*;q=0.9, application/cbor"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("application/cbor, application/json"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("application/cbor;q=0, application/*"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate("application/"));
+        assertEquals(MediaType.APPLICATION_JSON, ResponseEncoding.negotiate(""));
+        assertThrows(HttpMediaTypeNotAcceptableException.class, () -> ResponseEncoding.negotiate("text/html"));
+        assertThrows(HttpMediaTypeNotAcceptableException.class,
+                () -> ResponseEncoding.negotiate("application/json;q=0, application/cbor;q=0"));
     }
 
     @Test
     void shouldDeleteUserTicket() {
         // Mock
         when(authentication.getName()).thenReturn("tupac@gmail.com");
-        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(testUser);
+        when(userService.retrieveUser("tupac@gmail.com")).thenReturn(UserSnapshot.of(testUser));
 
         // Act
         ResponseEntity<Void> response = ticketController.removeTicket(1L);
@@ -252,7 +330,7 @@ public class TicketControllerTest {
     void shouldForbidSupportAgentFromDeletingTicket() {
         // Mock
         when(authentication.getName()).thenReturn("agent@example.com");
-        when(userService.retrieveUser("agent@example.com")).thenReturn(testSupportAgent);
+        when(userService.retrieveUser("agent@example.com")).thenReturn(UserSnapshot.of(testSupportAgent));
 
         // Act
         ResponseEntity<Void> response = ticketController.removeTicket(1L);
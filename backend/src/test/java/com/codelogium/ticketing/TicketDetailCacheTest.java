@@ -0,0 +1,106 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.config.TicketCacheConfig;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.event.LoopbackChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TicketDetailCacheTest {
+
+    private LoopbackChangeEventBus bus;
+    private TicketDetailCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoopbackChangeEventBus();
+        cache = new TicketDetailCache(Jackson2ObjectMapperBuilder.json().build(), new TicketCacheConfig(), bus);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldKeepEntriesNotOlderThanTheEventVersion() {
+        cache.get(1L, id -> load(id, 3));
+
+        // An event for a version already cached (this node's own write) keeps the entry
+        bus.publish(event(TicketEventType.STATUS_CHANGED, 1L, 3L));
+        cache.get(1L, id -> load(id, 3));
+        assertEquals(1, loads.get());
+
+        // A newer version, or an event without one, drops it
+        bus.publish(event(TicketEventType.ASSIGNED, 1L, 4L));
+        assertEquals(4, cache.get(1L, id -> load(id, 4)).version());
+        bus.publish(event(TicketEventType.INFO_UPDATED, 1L, null));
+        cache.get(1L, id -> load(id, 5));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheLoadsRacingAnEviction() {
+        // The ticket changes while the old row is being rendered
+        TicketDetailCache.Entry stale = cache.get(1L, id -> {
+            TicketDetailCache.Entry entry = load(id, 1);
+            cache.evict(id);
+            return entry;
+        });
+
+        assertEquals(1, stale.version());
+        assertEquals(2, cache.get(1L, id -> load(id, 2)).version());
+    }
+
+    @Test
+    void shouldDropOnlyTheTicketsRenderingTheChangedUser() {
+        cache.get(1L, id -> load(id, 1, List.of(5L, 7L)));
+        cache.get(2L, id -> load(id, 1, List.of(5L)));
+
+        bus.publish(new TicketEvent(TicketEventType.USER_CHANGED, null, null, null, null, null, null, 7L, Instant.now(),
+                null));
+        cache.get(1L, id -> load(id, 1, List.of(5L, 7L)));
+        cache.get(2L, id -> load(id, 1, List.of(5L)));
+
+        // Ticket 1 shows user 7 and is rendered again, ticket 2 is still served from the cache
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldReportHitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L, id -> load(id, 1));
+        cache.get(1L, id -> load(id, 1));
+
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", "tickets.detail").gauge().value(), 0.001);
+    }
+
+    private TicketDetailCache.Entry load(Long ticketId, long version) {
+        return load(ticketId, version, List.of(5L));
+    }
+
+    private TicketDetailCache.Entry load(Long ticketId, long version, List<Long> userIds) {
+        loads.incrementAndGet();
+        TicketDTO dto = new TicketDTO();
+        dto.setId(ticketId);
+        dto.setTitle("Printer v" + version);
+        return cache.encode(version, 5L, userIds, dto);
+    }
+
+    private static TicketEvent event(TicketEventType type, Long ticketId, Long version) {
+        return new TicketEvent(type, ticketId, 5L, null, null, null, Status.IN_PROGRESS, 5L, Instant.now(), version);
+    }
+}
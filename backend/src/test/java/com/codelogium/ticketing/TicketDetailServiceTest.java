@@ -0,0 +1,162 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.config.TicketDetailConfig;
+import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
+import com.codelogium.ticketing.dto.FullTicketDTO;
+import com.codelogium.ticketing.entity.AuditLog;
+import com.codelogium.ticketing.entity.Ticket;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.service.CommentService;
+import com.codelogium.ticketing.service.TicketDetailServiceImp;
+import com.codelogium.ticketing.service.TicketService;
+import com.codelogium.ticketing.util.BackgroundThreads;
+import com.codelogium.ticketing.util.ServerTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class TicketDetailServiceTest {
+
+    private static final byte[] TICKET_JSON = "{\"id\":1,\"title\":\"Printer jammed\"}".getBytes();
+
+    private final TicketService ticketService = mock(TicketService.class);
+    private final CommentService commentService = mock(CommentService.class);
+    private final AuditSink auditSink = mock(AuditSink.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final TicketDetailConfig config = new TicketDetailConfig();
+    private TicketDetailServiceImp ticketDetailService;
+
+    private final CommentPage comments = new CommentPage(List.of(new CommentDTO()), "next");
+    private final List<AuditLog> auditLogs = List.of(new AuditLog());
+
+    @BeforeEach
+    void setUp() {
+        config.setCommentsTimeoutMs(2000);
+        config.setAuditTimeoutMs(200);
+        ticketDetailService = new TicketDetailServiceImp(ticketService, commentService, auditSink,
+                new ObjectMapper(), transactionManager, config,
+                new BackgroundThreads(new StandardEnvironment()));
+        when(ticketService.retrieveTicketJson(1L, 2L, UserRole.SUPPORT_AGENT)).thenReturn(TICKET_JSON);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketDetailService.destroy();
+    }
+
+    @Test
+    void shouldReadCommentsAndAuditLogsInParallel() {
+        // Each part only finishes once the other one has started
+        CountDownLatch started = new CountDownLatch(2);
+        when(commentService.readComments(1L, 20, null)).thenAnswer(invocation -> awaitBoth(started, comments));
+        when(auditSink.findByTicketId(1L)).thenAnswer(invocation -> awaitBoth(started, auditLogs));
+        ServerTiming timing = new ServerTiming();
+
+        FullTicketDTO fullTicket = ticketDetailService.retrieveFullTicket(1L, 2L, UserRole.SUPPORT_AGENT, 20, timing);
+
+        assertEquals("Printer jammed", fullTicket.ticket().get("title").asText());
+        assertSame(comments.comments(), fullTicket.comments());
+        assertEquals("next", fullTicket.nextCommentCursor());
+        assertSame(auditLogs, fullTicket.auditLogs());
+        assertTrue(fullTicket.unavailable().isEmpty());
+        assertTrue(timing.header().matches("ticket;dur=[0-9.]+, comments;dur=[0-9.]+, audit;dur=[0-9.]+, "
+                + "total;dur=[0-9.]+"), timing.header());
+        verify(ticketService, times(1)).retrieveTicketJson(any(), any(), any());
+    }
+
+    @Test
+    void shouldLeaveOutAPartThatTimesOut() {
+        when(commentService.readComments(1L, null, null)).thenReturn(comments);
+        when(auditSink.findByTicketId(1L)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return auditLogs;
+        });
+        ServerTiming timing = new ServerTiming();
+
+        long start = System.nanoTime();
+        FullTicketDTO fullTicket = ticketDetailService.retrieveFullTicket(1L, 2L, UserRole.SUPPORT_AGENT, null,
+                timing);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertSame(comments.comments(), fullTicket.comments());
+        assertNull(fullTicket.auditLogs());
+        assertEquals(List.of("audit"), fullTicket.unavailable());
+        assertTrue(timing.header().contains("audit;desc=\"timeout\";dur="), timing.header());
+    }
+
+    @Test
+    void shouldTimeOutEachPartsStatementsWithItsDeadline() {
+        when(commentService.readComments(1L, 20, null)).thenReturn(comments);
+        when(auditSink.findByTicketId(1L)).thenReturn(auditLogs);
+
+        ticketDetailService.retrieveFullTicket(1L, 2L, UserRole.SUPPORT_AGENT, 20, new ServerTiming());
+
+        // Whole seconds, rounded up from 2000 ms and 200 ms
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertEquals(List.of(1, 2), definitions.getAllValues().stream().map(TransactionDefinition::getTimeout)
+                .sorted().toList());
+        assertTrue(definitions.getAllValues().stream().allMatch(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void shouldLeaveOutAPartThatFails() {
+        when(commentService.readComments(1L, null, null)).thenThrow(new IllegalStateException("replica down"));
+        when(auditSink.findByTicketId(1L)).thenReturn(auditLogs);
+        ServerTiming timing = new ServerTiming();
+
+        FullTicketDTO fullTicket = ticketDetailService.retrieveFullTicket(1L, 2L, UserRole.SUPPORT_AGENT, null,
+                timing);
+
+        assertNull(fullTicket.comments());
+        assertSame(auditLogs, fullTicket.auditLogs());
+        assertEquals(List.of("comments"), fullTicket.unavailable());
+        assertTrue(timing.header().contains("comments;desc=\"error\""), timing.header());
+    }
+
+    @Test
+    void shouldNotReadTheAuditTrailForUsers() {
+        when(ticketService.retrieveTicketJson(1L, 3L, UserRole.USER)).thenReturn(TICKET_JSON);
+        when(commentService.readComments(1L, null, null)).thenReturn(comments);
+
+        FullTicketDTO fullTicket = ticketDetailService.retrieveFullTicket(1L, 3L, UserRole.USER, null,
+                new ServerTiming());
+
+        assertNull(fullTicket.auditLogs());
+        assertTrue(fullTicket.unavailable().isEmpty());
+        verifyNoInteractions(auditSink);
+    }
+
+    @Test
+    void shouldReadNothingElseWhenTheTicketIsNotAccessible() {
+        when(ticketService.retrieveTicketJson(1L, 3L, UserRole.USER))
+                .thenThrow(new ResourceNotFoundException(1L, Ticket.class));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> ticketDetailService.retrieveFullTicket(1L, 3L, UserRole.USER, null, new ServerTiming()));
+        verifyNoInteractions(commentService, auditSink);
+    }
+
+    private static <T> T awaitBoth(CountDownLatch started, T value) throws InterruptedException {
+        started.countDown();
+        assertTrue(started.await(5, TimeUnit.SECONDS), "the other part never started");
+        return value;
+    }
+}
@@ -0,0 +1,276 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventHub;
+import com.codelogium.ticketing.event.TicketEventType;
+
+public class TicketEventHubTest {
+
+    private static final long ADMIN = 1L;
+    private static final long AGENT = 2L;
+    private static final long OWNER = 3L;
+    private static final long OTHER = 4L;
+    private static final long PREVIOUS_AGENT = 5L;
+
+    private TicketEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new TicketEventHub(8, 1024, 2, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void shouldOnlyStreamEventsInTheSubscriberScope() throws Exception {
+        RecordingEmitter admin = subscribe(ADMIN, UserRole.ADMIN, null);
+        RecordingEmitter agent = subscribe(AGENT, UserRole.SUPPORT_AGENT, null);
+        RecordingEmitter owner = subscribe(OWNER, UserRole.USER, null);
+        RecordingEmitter other = subscribe(OTHER, UserRole.USER, null);
+
+        hub.publish(event(TicketEventType.ASSIGNED, 10L));
+        hub.publish(event(TicketEventType.COMMENT_ADDED, 10L));
+        hub.subscriberCount().get();
+        await(() -> admin.names().size() == 2 && agent.names().size() == 2 && owner.names().size() == 2);
+
+        assertEquals(List.of("ASSIGNED", "COMMENT_ADDED"), admin.names());
+        assertEquals(List.of("ASSIGNED", "COMMENT_ADDED"), agent.names());
+        assertEquals(List.of("ASSIGNED", "COMMENT_ADDED"), owner.names());
+        assertTrue(other.names().isEmpty());
+    }
+
+    @Test
+    void shouldStreamAReassignmentToTheAgentWhoLostTheTicket() throws Exception {
+        RecordingEmitter previous = subscribe(PREVIOUS_AGENT, UserRole.SUPPORT_AGENT, null);
+        RecordingEmitter other = subscribe(OTHER, UserRole.SUPPORT_AGENT, null);
+
+        hub.publish(new TicketEvent(TicketEventType.ASSIGNED, 10L, OWNER, AGENT, PREVIOUS_AGENT, null,
+                Status.IN_PROGRESS, ADMIN, Instant.parse("2025-01-01T10:00:00Z"), 1L));
+        hub.publish(event(TicketEventType.COMMENT_ADDED, 10L));
+        hub.subscriberCount().get();
+        await(() -> previous.names().size() == 1);
+
+        // Later events on the ticket stay in the new agent's queue
+        assertEquals(List.of("ASSIGNED"), previous.names());
+        assertTrue(other.names().isEmpty());
+    }
+
+    @Test
+    void shouldReplayMissedEventsAfterLastEventId() throws Exception {
+        for (long ticketId = 1; ticketId <= 5; ticketId++) {
+            hub.publish(event(TicketEventType.STATUS_CHANGED, ticketId));
+        }
+        String lastId = subscribeAndRead(ADMIN, UserRole.ADMIN);
+        String epoch = lastId.substring(0, lastId.lastIndexOf('-') + 1);
+        assertEquals(epoch + "5", lastId);
+
+        RecordingEmitter resumed = subscribe(OWNER, UserRole.USER, epoch + "3");
+        hub.publish(event(TicketEventType.COMMENT_ADDED, 6L));
+        await(() -> resumed.ids().size() == 3);
+
+        // Assert: the two missed events, then the live one, each exactly once
+        assertEquals(List.of(epoch + "4", epoch + "5", epoch + "6"), resumed.ids());
+    }
+
+    @Test
+    void shouldAskForResetWhenResumePointLeftTheBuffer() throws Exception {
+        for (long ticketId = 1; ticketId <= 20; ticketId++) {
+            hub.publish(event(TicketEventType.STATUS_CHANGED, ticketId));
+        }
+
+        String lastId = subscribeAndRead(OWNER, UserRole.USER);
+        String epoch = lastId.substring(0, lastId.lastIndexOf('-') + 1);
+
+        RecordingEmitter tooOld = subscribe(OWNER, UserRole.USER, epoch + "2");
+        RecordingEmitter ahead = subscribe(OWNER, UserRole.USER, epoch + "99");
+        // Issued by another node or before a restart
+        RecordingEmitter foreign = subscribe(OWNER, UserRole.USER, "other-5");
+        await(() -> !tooOld.names().isEmpty() && !ahead.names().isEmpty() && !foreign.names().isEmpty());
+
+        assertEquals(List.of(TicketEventHub.RESET_EVENT), tooOld.names());
+        assertEquals(List.of(TicketEventHub.RESET_EVENT), ahead.names());
+        assertEquals(List.of(TicketEventHub.RESET_EVENT), foreign.names());
+    }
+
+    @Test
+    void shouldFanOutToThousandsOfSubscribersFromOneDispatcher() throws Exception {
+        int subscribers = 5_000;
+        int events = 200;
+        int threadsBefore = Thread.activeCount();
+
+        List<RecordingEmitter> owners = new ArrayList<>();
+        List<RecordingEmitter> others = new ArrayList<>();
+        for (int i = 0; i < subscribers; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            boolean owner = i % 2 == 0;
+            hub.register(emitter, owner ? OWNER : OTHER, UserRole.USER, null);
+            (owner ? owners : others).add(emitter);
+        }
+        assertEquals(subscribers, hub.subscriberCount().get());
+
+        // Publishers on several threads, as request threads would be
+        ExecutorService publishers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            results.add(publishers.submit(() -> {
+                start.await();
+                for (int i = 0; i < events / 4; i++) {
+                    hub.publish(event(TicketEventType.COMMENT_ADDED, 10L));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        publishers.shutdown();
+        await(() -> owners.stream().allMatch(emitter -> emitter.ids().size() == events));
+
+        for (RecordingEmitter emitter : owners) {
+            assertEquals(events, emitter.ids().size());
+        }
+        for (RecordingEmitter emitter : others) {
+            assertTrue(emitter.ids().isEmpty());
+        }
+        // No thread per subscriber, only the dispatcher and the two senders
+        assertTrue(Thread.activeCount() - threadsBefore < 10, "threads grew by " + (Thread.activeCount() - threadsBefore));
+    }
+
+    @Test
+    void shouldDropASubscriberThatFallsBehindWithoutStallingTheOthers() throws Exception {
+        hub.destroy();
+        hub = new TicketEventHub(64, 4, 2, 0, 0);
+        CountDownLatch unblock = new CountDownLatch(1);
+        hub.register(stalled(unblock), ADMIN, UserRole.ADMIN, null);
+        RecordingEmitter reader = subscribe(ADMIN, UserRole.ADMIN, null);
+
+        // Act: the reader keeps up with every event while the stalled client holds a sender thread
+        for (int published = 1; published <= 20; published++) {
+            hub.publish(event(TicketEventType.STATUS_CHANGED, (long) published));
+            int expected = published;
+            await(() -> reader.ids().size() == expected);
+        }
+
+        // Assert: the stalled client overflowed its queue of 4 and was dropped
+        assertEquals(1, hub.subscriberCount().get());
+        unblock.countDown();
+    }
+
+    @Test
+    void shouldHoldEveryStreamWhileAllSenderThreadsAreStalled() throws Exception {
+        int senderThreads = 2;
+        hub.destroy();
+        hub = new TicketEventHub(64, 4, senderThreads, 0, 0);
+        CountDownLatch unblock = new CountDownLatch(1);
+        for (int i = 0; i < senderThreads + 1; i++) {
+            hub.register(stalled(unblock), ADMIN, UserRole.ADMIN, null);
+        }
+        RecordingEmitter reader = subscribe(ADMIN, UserRole.ADMIN, null);
+
+        // Act
+        hub.publish(event(TicketEventType.STATUS_CHANGED, 10L));
+        hub.subscriberCount().get();
+        Thread.sleep(200);
+
+        // Assert: both sender threads are stuck in a write, so the reader waits with the rest
+        assertTrue(reader.ids().isEmpty());
+        // Once the writes fail or return, the queued streams are served
+        unblock.countDown();
+        await(() -> reader.ids().size() == 1);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 30 s");
+            Thread.sleep(5);
+        }
+    }
+
+    private RecordingEmitter subscribe(long userId, UserRole role, String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(emitter, userId, role, lastEventId);
+        return emitter;
+    }
+
+    // A client that stopped reading: every write blocks until released
+    private static RecordingEmitter stalled(CountDownLatch unblock) {
+        return new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    // Resumes from a foreign id, which answers with a reset carrying the current id
+    private String subscribeAndRead(long userId, UserRole role) throws Exception {
+        RecordingEmitter emitter = subscribe(userId, role, "probe");
+        await(() -> !emitter.ids().isEmpty());
+        return emitter.ids().get(0);
+    }
+
+    private static TicketEvent event(TicketEventType type, Long ticketId) {
+        return new TicketEvent(type, ticketId, OWNER, AGENT, null, null, Status.IN_PROGRESS, ADMIN,
+                Instant.parse("2025-01-01T10:00:00Z"), 1L);
+    }
+
+    // Records the id and name lines instead of writing to a response
+    private static class RecordingEmitter extends SseEmitter {
+        // Written by the sender threads, read by the test
+        private final List<String> ids = new CopyOnWriteArrayList<>();
+        private final List<String> names = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof String text) {
+                    for (String line : text.split("\n")) {
+                        if (line.startsWith("id:")) {
+                            ids.add(line.substring(3));
+                        } else if (line.startsWith("event:")) {
+                            names.add(line.substring(6));
+                        }
+                    }
+                }
+            }
+        }
+
+        List<String> ids() {
+            return ids;
+        }
+
+        List<String> names() {
+            return names;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.codelogium.ticketing.cache.TicketFieldWriters;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.TicketField;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.exception.InvalidFieldsException;
+import com.codelogium.ticketing.metrics.StatementRecorder;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(StatementRecorder.class)
+public class TicketFieldsTest {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Long reporterId;
+    private Long agentId;
+    private Long ticketId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES "
+                + "('reporter@example.com', 'secret1', 'USER', true), ('agent@example.com', 'secret1', "
+                + "'SUPPORT_AGENT', true)");
+        reporterId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'reporter@example.com'",
+                Long.class);
+        agentId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'agent@example.com'", Long.class);
+        Timestamp now = Timestamp.from(Instant.parse("2025-01-01T10:00:00Z"));
+        for (String title : List.of("Printer jammed", "Monitor flickers")) {
+            jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                    + "user_id, assigned_to, comment_count, last_activity_at, version) VALUES (?, 'A long story', ?, "
+                    + "'NEW', 'HARDWARE', 'HIGH', ?, ?, 2, ?, 0)", title, now, reporterId, agentId, now);
+        }
+        ticketId = jdbcTemplate.queryForObject("SELECT id FROM tickets WHERE title = 'Printer jammed'", Long.class);
+    }
+
+    @Test
+    void shouldReadOnlyTheSelectedColumns() {
+        Set<TicketField> fields = TicketField.parse("title,status,priority");
+
+        List<String> statements = recorded(() -> ticketRepository.findProjected(fields, reporterId, null, null, null,
+                null, PageRequest.of(0, 10, Sort.by("title"))));
+
+        assertEquals(1, statements.size());
+        String sql = statements.get(0).toLowerCase();
+        assertFalse(sql.contains("description"), sql);
+        assertFalse(sql.contains("join"), sql);
+    }
+
+    @Test
+    void shouldMapTheSelectedFieldsIntoTheDTO() {
+        Set<TicketField> fields = TicketField.parse("title,priority,assignedTo,commentCount");
+
+        Page<TicketDTO> page = ticketRepository.findProjected(fields, null, agentId, null, Status.NEW, null,
+                PageRequest.of(0, 1, Sort.by("title").ascending()));
+
+        assertEquals(2, page.getTotalElements());
+        TicketDTO ticket = page.getContent().get(0);
+        assertEquals("Monitor flickers", ticket.getTitle());
+        assertEquals(Priority.HIGH, ticket.getPriority());
+        assertEquals(2, ticket.getCommentCount());
+        assertEquals("agent@example.com", ticket.getAssignedTo().getEmail());
+        assertEquals(UserRole.SUPPORT_AGENT, ticket.getAssignedTo().getRole());
+        assertNull(ticket.getDescription());
+        assertNull(ticket.getCreatedBy());
+    }
+
+    @Test
+    void shouldLimitTheDetailToTheCreator() {
+        Set<TicketField> fields = TicketField.parse("id");
+
+        assertEquals(ticketId, ticketRepository.findProjectedById(fields, ticketId, reporterId).orElseThrow().getId());
+        assertTrue(ticketRepository.findProjectedById(fields, ticketId, agentId).isEmpty());
+        assertTrue(ticketRepository.findProjectedById(fields, ticketId, null).isPresent());
+    }
+
+    @Test
+    void shouldRejectUnknownFieldsAndSortProperties() {
+        assertThrows(InvalidFieldsException.class, () -> TicketField.parse("title,password"));
+        Set<TicketField> fields = TicketField.parse("title");
+        PageRequest bySecret = PageRequest.of(0, 10, Sort.by("creator.password"));
+        assertThrows(InvalidFieldsException.class,
+                () -> ticketRepository.findProjected(fields, null, null, null, null, null, bySecret));
+    }
+
+    @Test
+    void shouldParseFieldSetsCanonically() {
+        assertEquals(TicketField.parse("title,id"), TicketField.parse(" id , title,"));
+        assertEquals(Set.of(TicketField.ID), TicketField.parse(""));
+    }
+
+    @Test
+    void shouldWriteOnlyTheSelectedProperties() throws Exception {
+        MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter();
+        TicketFieldWriters writers = new TicketFieldWriters(objectMapper, cborConverter);
+        TicketDTO ticket = new TicketDTO();
+        ticket.setId(7L);
+        ticket.setTitle("Printer jammed");
+        ticket.setDescription("A long story");
+        Map<String, Object> page = Map.of("tickets", List.of(ticket));
+        Set<TicketField> fields = TicketField.parse("title");
+        TypeReference<Map<String, Object>> type = new TypeReference<>() {
+        };
+
+        Map<String, Object> json = objectMapper.readValue(writers.write(page, fields, MediaType.APPLICATION_JSON),
+                type);
+        Map<String, Object> cbor = cborConverter.getObjectMapper()
+                .readValue(writers.write(page, fields, MediaType.APPLICATION_CBOR), type);
+
+        assertEquals(List.of(Map.of("id", 7, "title", "Printer jammed")), json.get("tickets"));
+        assertEquals(json, cbor);
+        // The application's mapper still writes the whole DTO
+        assertTrue(objectMapper.writeValueAsString(ticket).contains("A long story"));
+    }
+
+    private List<String> recorded(Runnable call) {
+        StatementRecorder.Recording recording = statementRecorder.begin();
+        try {
+            int from = recording.keptCount();
+            call.run();
+            return recording.keptSince(from, Integer.MAX_VALUE);
+        } finally {
+            statementRecorder.end(recording);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.codelogium.ticketing;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.codelogium.ticketing.audit.JpaAuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.TicketCacheConfig;
+import com.codelogium.ticketing.entity.Ticket;
+import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.enums.Category;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.repository.AuditLogRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.TicketService;
+import com.codelogium.ticketing.service.TicketServiceImp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// The 500-ticket list page and the timing loop shared by the list payload benchmarks
+final class TicketListFixture {
+
+    static final int TICKETS = 500;
+    static final int REPORTERS = 100;
+    static final int AGENTS = 5;
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    private TicketListFixture() {
+    }
+
+    // Only the DTO conversion is exercised, the repositories are never called
+    static TicketService ticketService(ObjectMapper objectMapper) {
+        ChangeEventBus changeEventBus = mock(ChangeEventBus.class);
+        return new TicketServiceImp(mock(TicketRepository.class), mock(UserRepository.class),
+                new JpaAuditSink(mock(AuditLogRepository.class)), changeEventBus, mock(UserSnapshotCache.class),
+                new TicketDetailCache(objectMapper, new TicketCacheConfig(), changeEventBus));
+    }
+
+    // Every ticket has a creator and an assigner, most are assigned to one of a few agents
+    static List<Ticket> page() {
+        User admin = user(1L, "admin@example.com", UserRole.ADMIN);
+        List<User> agents = new ArrayList<>();
+        for (int i = 0; i < AGENTS; i++) {
+            agents.add(user(10L + i, "agent" + i + "@example.com", UserRole.SUPPORT_AGENT));
+        }
+        List<User> reporters = new ArrayList<>();
+        for (int i = 0; i < REPORTERS; i++) {
+            reporters.add(user(100L + i, "reporter" + i + "@example.com", UserRole.USER));
+        }
+
+        Instant now = Instant.parse("2025-01-01T10:00:00Z");
+        List<Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKETS; i++) {
+            tickets.add(new Ticket((long) i, "Printer " + i + " is jammed", "Paper is stuck in tray " + i, now,
+                    Status.IN_PROGRESS, Category.HARDWARE, Priority.MEDIUM, reporters.get(i % REPORTERS),
+                    agents.get(i % AGENTS), now, admin, 3L, now, 0L, new ArrayList<>()));
+        }
+        return tickets;
+    }
+
+    static User user(Long id, String email, UserRole role) {
+        return new User(id, "secret1", email, role, true, new ArrayList<>(), new ArrayList<>());
+    }
+
+    // Average time of one call in microseconds, measured once the call has been warmed up
+    static double microsPerCall(Call call) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    interface Call {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,57 @@
+package com.codelogium.ticketing;
+
+import static com.codelogium.ticketing.TicketListFixture.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.codelogium.ticketing.dto.NormalizedTicketList;
+import com.codelogium.ticketing.entity.Ticket;
+import com.codelogium.ticketing.service.TicketService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Size and serialization time of a 500-ticket list page, full users in every ticket against the normalized shape
+public class TicketListPayloadTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    // Run with: mvn test -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmarkNormalizedListPayload() throws IOException {
+        TicketService ticketService = ticketService(objectMapper);
+        List<Ticket> page = page();
+
+        double fullMicros = microsPerCall(() -> full(ticketService, page));
+        double normalizedMicros = microsPerCall(() -> normalized(ticketService, page));
+
+        int fullBytes = full(ticketService, page).length;
+        int normalizedBytes = normalized(ticketService, page).length;
+        System.out.printf("Ticket list (%d tickets, %d users): full %d bytes %.1f us, normalized %d bytes %.1f us "
+                + "per page%n", TICKETS, REPORTERS + AGENTS, fullBytes, fullMicros, normalizedBytes, normalizedMicros);
+        assertTrue(normalizedBytes < fullBytes);
+    }
+
+    // DTO conversion and serialization, the work the controller and the message converter do per request
+    private byte[] full(TicketService ticketService, List<Ticket> page) throws JsonProcessingException {
+        Map<String, Object> response = new HashMap<>();
+        response.put("tickets", ticketService.convertToDTOList(page));
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private byte[] normalized(TicketService ticketService, List<Ticket> page) throws JsonProcessingException {
+        NormalizedTicketList normalizedList = ticketService.convertToNormalizedList(page);
+        Map<String, Object> response = new HashMap<>();
+        response.put("tickets", normalizedList.tickets());
+        response.put("users", normalizedList.users());
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
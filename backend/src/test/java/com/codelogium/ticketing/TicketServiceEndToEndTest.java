@@ -1,10 +1,69 @@
 package com.codelogium.ticketing;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codelogium.ticketing.security.SecurityConstants;
 
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:endtoend", "app.admin.create-on-startup=false" })
 public class TicketServiceEndToEndTest {
-    
+
+    private static final String EMAIL = "reporter@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM audit_logs");
+        jdbcTemplate.update("DELETE FROM tickets");
+        // The user stays, its snapshot is cached for the whole context
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class) == 0) {
+            jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES (?, 'secret1', "
+                    + "'USER', true)", EMAIL);
+        }
+    }
+
+    @Test
+    void shouldIgnoreACommentCountSentWithANewTicket() throws Exception {
+        String token = JWT.create()
+                .withSubject(EMAIL)
+                .withClaim("authorities", List.of("USER"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.TOKEN_EXPIRATION))
+                .sign(Algorithm.HMAC512(SecurityConstants.SECRET_KEY));
+
+        // Act
+        mockMvc.perform(post("/tickets-unified")
+                .header(SecurityConstants.AUTHORIZATION, SecurityConstants.BEARER + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Printer jammed\",\"description\":\"Paper is stuck\",\"category\":\"HARDWARE\","
+                        + "\"priority\":\"HIGH\",\"commentCount\":9999}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.commentCount").value(0));
+
+        // Assert
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT comment_count FROM tickets", Long.class));
+    }
 }
@@ -0,0 +1,111 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.codelogium.ticketing.audit.AuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.dto.TicketStatusUpdateDTO;
+import com.codelogium.ticketing.entity.AuditLog;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.exception.StatusConflictException;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.TicketServiceImp;
+
+// Every agent commits on its own, so the test runs outside the usual rollback-only transaction
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TicketStatusTransitionTest {
+
+    private static final int AGENTS = 8;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tickets");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void shouldApplyOnlyOneOfConcurrentStatusChanges() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES ('agent@example.com', "
+                + "'secret1', 'SUPPORT_AGENT', true)");
+        long agentId = jdbcTemplate.queryForObject("SELECT id FROM users", Long.class);
+        jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, user_id) "
+                + "VALUES ('Printer', 'Jammed', ?, 'NEW', 'HARDWARE', 'LOW', ?)", Timestamp.from(Instant.now()), agentId);
+        long ticketId = jdbcTemplate.queryForObject("SELECT id FROM tickets", Long.class);
+
+        AuditSink auditSink = mock(AuditSink.class);
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository, new UserCacheConfig(),
+                mock(ChangeEventBus.class));
+        TicketServiceImp ticketService = new TicketServiceImp(ticketRepository, userRepository, auditSink,
+                mock(ChangeEventBus.class), userSnapshotCache, mock(TicketDetailCache.class));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Every agent saw the ticket as NEW, half of them start work on it and half resolve it
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(AGENTS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < AGENTS; i++) {
+            Status target = i % 2 == 0 ? Status.IN_PROGRESS : Status.RESOLVED;
+            Callable<Boolean> change = () -> {
+                start.await();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> ticketService.updateTicketStatusByRole(
+                            ticketId, agentId, new TicketStatusUpdateDTO(target, Status.NEW), UserRole.SUPPORT_AGENT));
+                    return true;
+                } catch (StatusConflictException e) {
+                    return false;
+                }
+            };
+            results.add(executor.submit(change));
+        }
+        start.countDown();
+
+        int applied = 0;
+        for (Future<Boolean> result : results) {
+            applied += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert: exactly one change won, and only that one was audited
+        assertEquals(1, applied);
+        assertNotEquals(Status.NEW, ticketRepository.findStatus(ticketId, null).orElseThrow());
+        verify(auditSink, times(1)).append(any(AuditLog.class));
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.codelogium.ticketing.entity.User;
+import com.codelogium.ticketing.entity.UserDeletionJob;
 import com.codelogium.ticketing.entity.enums.UserRole;
 import com.codelogium.ticketing.service.UserService;
 import com.codelogium.ticketing.web.UserController;
@@ -66,11 +67,16 @@ public class UserControllerTest {
 
     @Test
     void shouldDeleteUserSuccessfully() {
+        // Mock
+        UserDeletionJob job = new UserDeletionJob(1L);
+        when(userService.removeUser(1L)).thenReturn(job);
+
         // Act
-        ResponseEntity<Void> response = userController.removeUser(1L);
+        ResponseEntity<UserDeletionJob> response = userController.removeUser(1L);
 
         // Assert
-        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(job, response.getBody());
         verify(userService).removeUser(1L);
     }
 }
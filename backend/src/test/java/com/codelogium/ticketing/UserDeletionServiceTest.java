@@ -0,0 +1,216 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codelogium.ticketing.audit.JpaAuditSink;
+import com.codelogium.ticketing.cache.TicketDetailCache;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.config.UserDeletionConfig;
+import com.codelogium.ticketing.entity.UserDeletionJob;
+import com.codelogium.ticketing.entity.enums.DeletionPhase;
+import com.codelogium.ticketing.entity.enums.DeletionStatus;
+import com.codelogium.ticketing.event.ChangeEventBus;
+import com.codelogium.ticketing.event.TicketEvent;
+import com.codelogium.ticketing.event.TicketEventType;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.repository.AuditLogRepository;
+import com.codelogium.ticketing.repository.CommentRepository;
+import com.codelogium.ticketing.repository.EmailVerificationRepository;
+import com.codelogium.ticketing.repository.TicketRepository;
+import com.codelogium.ticketing.repository.UserDeletionJobRepository;
+import com.codelogium.ticketing.repository.UserRepository;
+import com.codelogium.ticketing.service.UserDeletionServiceImp;
+
+// Chunks commit on their own, so the test runs outside the usual rollback-only transaction
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserDeletionServiceTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    @Autowired
+    private UserDeletionJobRepository jobRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EmailVerificationRepository emailVerificationRepository;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestRows rows;
+    private UserDeletionServiceImp deletionService;
+    private List<Runnable> submitted;
+    private TicketDetailCache ticketDetailCache;
+    private ChangeEventBus changeEventBus;
+
+    @BeforeEach
+    void setUp() {
+        rows = new TestRows(jdbcTemplate);
+        UserDeletionConfig config = new UserDeletionConfig();
+        config.setChunkSize(CHUNK_SIZE);
+        submitted = new ArrayList<>();
+        ticketDetailCache = mock(TicketDetailCache.class);
+        changeEventBus = mock(ChangeEventBus.class);
+        deletionService = deletionService(jobRepository, config);
+    }
+
+    private UserDeletionServiceImp deletionService(UserDeletionJobRepository jobs, UserDeletionConfig config) {
+        return new UserDeletionServiceImp(jobs, userRepository, ticketRepository, commentRepository,
+                emailVerificationRepository, new JpaAuditSink(auditLogRepository), transactionManager, submitted::add,
+                new UserSnapshotCache(userRepository, new UserCacheConfig(), mock(ChangeEventBus.class)),
+                ticketDetailCache, changeEventBus, config);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("audit_logs", "comments", "tickets", "user_deletion_jobs", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void shouldDeleteUserDataInChunks() {
+        long heavyUser = rows.insertUser("heavy@example.com");
+        long agent = rows.insertUser("agent@example.com");
+        List<Long> tickets = rows.insertTickets(heavyUser, 1_050);
+        long otherTicket = rows.insertTickets(agent, 1).get(0);
+        rows.insertComment(tickets.get(3), agent);
+        rows.insertComment(otherTicket, heavyUser);
+        jdbcTemplate.update("UPDATE tickets SET assigned_to = ?, comment_count = 1 WHERE id = ?", heavyUser,
+                otherTicket);
+        long versionBefore = count("SELECT version FROM tickets WHERE id = " + otherTicket);
+        jdbcTemplate.update("INSERT INTO audit_logs (ticket_id, user_id, action) VALUES (?, ?, 'TICKET_CREATED')",
+                tickets.get(0), heavyUser);
+
+        // Act
+        UserDeletionJob job = deletionService.scheduleDeletion(heavyUser);
+        assertEquals(DeletionStatus.PENDING, job.getStatus());
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+
+        // Assert
+        UserDeletionJob finished = deletionService.retrieveJob(job.getId());
+        assertEquals(DeletionStatus.COMPLETED, finished.getStatus());
+        assertEquals(1_050, finished.getTicketsDeleted());
+        assertEquals(2, finished.getCommentsDeleted());
+        assertEquals(1, finished.getAuditEntriesDeleted());
+        assertNotNull(finished.getCompletedAt());
+
+        assertFalse(userRepository.existsById(heavyUser));
+        assertEquals(1, count("SELECT COUNT(*) FROM tickets"));
+        assertNull(jdbcTemplate.queryForObject("SELECT assigned_to FROM tickets WHERE id = ?", Long.class,
+                otherTicket));
+        assertEquals(0, count("SELECT COUNT(*) FROM comments"));
+        assertEquals(0, count("SELECT comment_count FROM tickets"));
+        assertTrue(count("SELECT version FROM tickets WHERE id = " + otherTicket) > versionBefore);
+
+        // Every ticket the bulk statements touched was evicted and announced
+        verify(ticketDetailCache).evict(tickets.get(1_049));
+        verify(ticketDetailCache, atLeastOnce()).evict(otherTicket);
+        ArgumentCaptor<TicketEvent> events = ArgumentCaptor.forClass(TicketEvent.class);
+        verify(changeEventBus, atLeastOnce()).publish(events.capture());
+        assertEquals(1_050, events.getAllValues().stream()
+                .filter(event -> event.type() == TicketEventType.TICKET_DELETED).count());
+        TicketEvent unassigned = events.getAllValues().stream()
+                .filter(event -> event.type() == TicketEventType.ASSIGNED).findFirst().orElseThrow();
+        assertEquals(otherTicket, unassigned.ticketId());
+        assertEquals(agent, unassigned.creatorId());
+        assertNull(unassigned.assigneeId());
+        assertTrue(events.getAllValues().stream().anyMatch(event -> event.type() == TicketEventType.COMMENT_DELETED
+                && event.ticketId() == otherTicket));
+    }
+
+    @Test
+    void shouldResumeInterruptedJobFromSavedPosition() {
+        long heavyUser = rows.insertUser("heavy@example.com");
+        List<Long> tickets = rows.insertTickets(heavyUser, 300);
+
+        // Simulate a crash after the first chunk was committed
+        jdbcTemplate.update("DELETE FROM tickets WHERE id <= ?", tickets.get(CHUNK_SIZE - 1));
+        UserDeletionJob interrupted = new UserDeletionJob(heavyUser);
+        interrupted.setStatus(DeletionStatus.RUNNING);
+        interrupted.setPhase(DeletionPhase.TICKETS);
+        interrupted.setLastProcessedId(tickets.get(CHUNK_SIZE - 1));
+        interrupted.setTicketsDeleted(CHUNK_SIZE);
+        interrupted = jobRepository.save(interrupted);
+
+        // Act
+        deletionService.resumeUnfinishedJobs();
+        submitted.forEach(Runnable::run);
+
+        // Assert
+        UserDeletionJob finished = deletionService.retrieveJob(interrupted.getId());
+        assertEquals(DeletionStatus.COMPLETED, finished.getStatus());
+        assertEquals(300, finished.getTicketsDeleted());
+        assertFalse(userRepository.existsById(heavyUser));
+    }
+
+    @Test
+    void shouldReuseUnfinishedJobForSameUser() {
+        long user = rows.insertUser("user@example.com");
+
+        UserDeletionJob first = deletionService.scheduleDeletion(user);
+        UserDeletionJob second = deletionService.scheduleDeletion(user);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, submitted.size());
+        assertThrows(ResourceNotFoundException.class, () -> deletionService.scheduleDeletion(9_999L));
+    }
+
+    @Test
+    void shouldReportTheWinningJobWhenTwoRequestsRace() {
+        long user = rows.insertUser("user@example.com");
+        UserDeletionJob winner = deletionService.scheduleDeletion(user);
+
+        // The losing request checked for an unfinished job before the winner saved it
+        UserDeletionJobRepository racingRepository = mock(UserDeletionJobRepository.class, delegatesTo(jobRepository));
+        doReturn(Optional.empty()).doAnswer(delegatesTo(jobRepository))
+                .when(racingRepository).findFirstByUserIdAndStatusIn(eq(user), any());
+        UserDeletionJob loser = deletionService(racingRepository, new UserDeletionConfig()).scheduleDeletion(user);
+
+        // Assert
+        assertEquals(winner.getId(), loser.getId());
+        assertEquals(1, submitted.size());
+        assertEquals(1, count("SELECT COUNT(*) FROM user_deletion_jobs"));
+
+        // A finished job releases the user
+        submitted.get(0).run();
+        assertNull(deletionService.retrieveJob(winner.getId()).getActiveUserId());
+    }
+
+
+
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.codelogium.ticketing.cache.UserSnapshot;
+import com.codelogium.ticketing.cache.UserSnapshotCache;
+import com.codelogium.ticketing.config.UserCacheConfig;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.event.LoopbackChangeEventBus;
+import com.codelogium.ticketing.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Evictions reach other caches after commit, so the test runs outside the rollback-only transaction
+@ActiveProfiles("test")
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserSnapshotCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private LoopbackChangeEventBus bus;
+    private UserSnapshotCache cache;
+    private Statistics statistics;
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoopbackChangeEventBus();
+        cache = new UserSnapshotCache(userRepository, new UserCacheConfig(), bus);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES ('agent@example.com', "
+                + "'hash', 'USER', false)");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'agent@example.com'", Long.class);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemory() {
+        statistics.clear();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(userId, cache.findByEmail("agent@example.com").orElseThrow().getId());
+            assertTrue(cache.exists(userId));
+        }
+
+        // Assert: one projection query, no entity loaded
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(cache.findByEmail("nobody@example.com").isEmpty());
+        assertFalse(cache.exists(-1L));
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        UserSnapshot before = cache.findByEmail("agent@example.com").orElseThrow();
+        jdbcTemplate.update("UPDATE users SET role = 'SUPPORT_AGENT', email_verified = true WHERE id = ?", userId);
+
+        // Still the cached copy until a writer evicts it
+        assertEquals(UserRole.USER, cache.findByEmail("agent@example.com").orElseThrow().getRole());
+        cache.evict(userId);
+
+        UserSnapshot after = cache.findByEmail("agent@example.com").orElseThrow();
+        assertEquals(UserRole.USER, before.getRole());
+        assertEquals(UserRole.SUPPORT_AGENT, after.getRole());
+        assertTrue(after.isEmailVerified());
+    }
+
+    @Test
+    void shouldDropEntriesEvictedOnAnotherNode() {
+        // Two caches on one bus stand in for two nodes
+        UserSnapshotCache otherNode = new UserSnapshotCache(userRepository, new UserCacheConfig(), bus);
+        otherNode.findById(userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+
+        cache.evict(userId);
+
+        assertFalse(otherNode.exists(userId));
+        assertTrue(otherNode.findByEmail("agent@example.com").isEmpty());
+    }
+
+    @Test
+    void shouldReportHitRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.findById(userId);
+        cache.findById(userId);
+        cache.findById(userId);
+        cache.findById(userId);
+
+        assertEquals(0.75, registry.get("cache.hit.ratio").tag("cache", "users.by-id").gauge().value(), 0.001);
+        assertEquals(3.0, registry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit")
+                .functionCounter().count(), 0.001);
+    }
+}
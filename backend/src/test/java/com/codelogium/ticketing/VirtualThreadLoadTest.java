@@ -0,0 +1,119 @@
+package com.codelogium.ticketing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codelogium.ticketing.security.SecurityConstants;
+import com.codelogium.ticketing.util.BackgroundThreads;
+
+// Starts the app twice, on platform and on virtual threads, and loads the ticket list from 2,000 clients at once
+@Tag("benchmark")
+public class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = 2000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int TICKETS = 200;
+    private static final String EMAIL = "reporter@example.com";
+
+    // Run with: mvn test -Pbenchmark, on Java 21 or later for the virtual thread numbers
+    @Test
+    void benchmarkTicketListThroughput() {
+        Result platform = measure(false);
+        Result virtual = measure(true);
+
+        System.out.printf("Ticket list, %d clients x %d requests: %s %.0f req/s, %s %.0f req/s%n", CLIENTS,
+                REQUESTS_PER_CLIENT, platform.mode(), platform.requestsPerSecond(), virtual.mode(),
+                virtual.requestsPerSecond());
+    }
+
+    private Result measure(boolean virtualThreads) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketingApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "--app.admin.create-on-startup=false",
+                        "--logging.level.root=WARN")) {
+            seed(context.getBean(JdbcTemplate.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String token = JWT.create()
+                    .withSubject(EMAIL)
+                    .withClaim("authorities", List.of("USER"))
+                    .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.TOKEN_EXPIRATION))
+                    .sign(Algorithm.HMAC512(SecurityConstants.SECRET_KEY));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tickets?size=20"))
+                    .header(SecurityConstants.AUTHORIZATION, SecurityConstants.BEARER + token)
+                    .build();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            run(client, request, 100, REQUESTS_PER_CLIENT);
+            long start = System.nanoTime();
+            int succeeded = run(client, request, CLIENTS, REQUESTS_PER_CLIENT);
+            long elapsedNanos = System.nanoTime() - start;
+
+            assertEquals(CLIENTS * REQUESTS_PER_CLIENT, succeeded);
+            // Boot only switches to virtual threads on Java 21 or later
+            String mode = context.getBean(BackgroundThreads.class).isVirtual() ? "virtual threads"
+                    : virtualThreads ? "platform threads (no virtual threads on this JVM)" : "platform threads";
+            return new Result(mode, succeeded / (elapsedNanos / 1e9));
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO users (email, password, role, email_verified) VALUES (?, 'secret1', 'USER', "
+                + "true)", EMAIL);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        Timestamp now = Timestamp.from(Instant.parse("2025-01-01T10:00:00Z"));
+        for (int i = 0; i < TICKETS; i++) {
+            jdbcTemplate.update("INSERT INTO tickets (title, description, creation_date, status, category, priority, "
+                    + "user_id, comment_count, last_activity_at) VALUES (?, 'Jammed', ?, 'NEW', 'HARDWARE', 'LOW', ?, "
+                    + "0, ?)", "Printer " + i, now, userId, now);
+        }
+    }
+
+    // Every client sends its requests one after another, all clients at the same time
+    private int run(HttpClient client, HttpRequest request, int clients, int requestsPerClient) {
+        AtomicInteger succeeded = new AtomicInteger();
+        CompletableFuture<?>[] clientRuns = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            clientRuns[i] = send(client, request, requestsPerClient, succeeded);
+        }
+        CompletableFuture.allOf(clientRuns).join();
+        return succeeded.get();
+    }
+
+    private CompletableFuture<Void> send(HttpClient client, HttpRequest request, int remaining,
+            AtomicInteger succeeded) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenCompose(response -> {
+            if (response.statusCode() == 200) {
+                succeeded.incrementAndGet();
+            }
+            return send(client, request, remaining - 1, succeeded);
+        });
+    }
+
+    private record Result(String mode, double requestsPerSecond) {
+    }
+}
@@ -0,0 +1,90 @@
+#!/bin/bash
+
+# IT Support Ticket System - Startup Benchmark
+# Measures the time from launching the JVM to the first successful request for each startup mode.
+# Build first with: ./mvnw package -Pstartup -DskipTests
+#
+# Usage: ./startup-benchmark.sh [runs]
+#   PROFILE            profile the AOT build was made for (default: prod)
+#   PORT               port to start on (default: 8080)
+#   FIRST_REQUEST_URL  request that has to succeed (default: /actuator/health, it checks the database)
+#   JAVA_OPTS          extra JVM options for every mode
+# The database settings (DB_URL, DB_USERNAME, DB_PASSWORD) are passed through from the environment.
+
+set -e
+
+RUNS=${1:-5}
+PROFILE=${PROFILE:-prod}
+PORT=${PORT:-8080}
+FIRST_REQUEST_URL=${FIRST_REQUEST_URL:-http://localhost:$PORT/actuator/health}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+APP_DIR="$(cd "$(dirname "$0")" && pwd)/target/application"
+JAR=$(ls "$APP_DIR"/*.jar 2>/dev/null | head -1)
+LOG_FILE=$(mktemp)
+
+if [ -z "$JAR" ]; then
+    echo "❌ No application in $APP_DIR, run ./mvnw package -Pstartup -DskipTests first"
+    exit 1
+fi
+
+# mode name|JVM options|profiles
+MODES=(
+    "default||$PROFILE"
+    "lazy||$PROFILE,lazy"
+    "aot|-Dspring.aot.enabled=true|$PROFILE"
+    "aot+lazy|-Dspring.aot.enabled=true|$PROFILE,lazy"
+)
+if [ -f "$APP_DIR/application.jsa" ]; then
+    MODES+=("aot+lazy+cds|-Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa|$PROFILE,lazy")
+else
+    echo "⚠️  No application.jsa, the cds mode is skipped (the training run needs the database)"
+fi
+
+# Launches the app once and prints the milliseconds until FIRST_REQUEST_URL answered with a 2xx
+measure() {
+    local jvm_options=$1
+    local profiles=$2
+    local start end pid
+
+    start=$(date +%s%N)
+    (cd "$APP_DIR" && exec java $JAVA_OPTS $jvm_options -Dspring.profiles.active="$profiles" \
+        -Dserver.port="$PORT" -jar "$(basename "$JAR")") > "$LOG_FILE" 2>&1 &
+    pid=$!
+
+    while ! curl -sf -o /dev/null "$FIRST_REQUEST_URL"; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "❌ The application exited, last log lines:" >&2
+            tail -20 "$LOG_FILE" >&2
+            return 1
+        fi
+        if [ $(( ($(date +%s%N) - start) / 1000000000 )) -ge "$TIMEOUT_SECONDS" ]; then
+            echo "❌ No answer from $FIRST_REQUEST_URL within ${TIMEOUT_SECONDS}s" >&2
+            kill $pid
+            return 1
+        fi
+        sleep 0.01
+    done
+    end=$(date +%s%N)
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+echo "🚀 Time to first request ($FIRST_REQUEST_URL), $RUNS runs per mode"
+printf "%-16s %10s %10s %10s\n" "mode" "min ms" "median ms" "max ms"
+
+for mode in "${MODES[@]}"; do
+    IFS='|' read -r name jvm_options profiles <<< "$mode"
+    # The first launch warms the file system cache and is not counted
+    measure "$jvm_options" "$profiles" > /dev/null
+    results=()
+    for ((run = 0; run < RUNS; run++)); do
+        results+=("$(measure "$jvm_options" "$profiles")")
+    done
+    sorted=($(printf "%s\n" "${results[@]}" | sort -n))
+    printf "%-16s %10s %10s %10s\n" "$name" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}"
+done
+
+rm -f "$LOG_FILE"
@@ -32,6 +32,8 @@ export interface Ticket {
   assignedAt?: string;
   resolvedAt?: string;
   closedAt?: string;
+  commentCount?: number;
+  lastActivityAt?: string;
 }
 
 export interface TicketComment {
@@ -0,0 +1,18 @@
+package com.codelogium.ticketing.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+	// The backend jar on the classpath ships its own application.properties, this module reads reactive-read.properties
+	public static final String CONFIG_NAME = "spring.config.name=reactive-read";
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveReadApplication.class)
+				.properties(CONFIG_NAME)
+				.run(args);
+	}
+
+}
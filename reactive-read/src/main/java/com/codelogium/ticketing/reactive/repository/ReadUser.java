@@ -0,0 +1,7 @@
+package com.codelogium.ticketing.reactive.repository;
+
+import com.codelogium.ticketing.entity.enums.UserRole;
+
+// The caller behind a token, the servlet app's UserSnapshot without the fields reads never need
+public record ReadUser(Long id, UserRole role) {
+}
@@ -0,0 +1,14 @@
+package com.codelogium.ticketing.reactive.repository;
+
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+
+// Optional list filters, search is null when blank
+public record TicketFilter(String search, Status status, Priority priority) {
+
+    public TicketFilter {
+        if (search != null && search.isBlank()) {
+            search = null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.codelogium.ticketing.reactive.repository;
+
+import java.util.List;
+
+import com.codelogium.ticketing.dto.TicketDTO;
+
+// One page of tickets and the total across all pages, the same numbers Spring Data's Page reports
+public record TicketPage(List<TicketDTO> tickets, int page, int size, long totalItems) {
+
+    public int totalPages() {
+        return (int) Math.ceil((double) totalItems / size);
+    }
+
+    public boolean hasNext() {
+        return page + 1 < totalPages();
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+}
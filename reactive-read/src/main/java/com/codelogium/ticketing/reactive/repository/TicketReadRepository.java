@@ -0,0 +1,221 @@
+package com.codelogium.ticketing.reactive.repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.dto.UserBasicDTO;
+import com.codelogium.ticketing.entity.enums.Category;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.entity.enums.UserRole;
+import com.codelogium.ticketing.security.rbac.TicketScope;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Read queries against the servlet app's schema over R2DBC. Flyway in the
+ * servlet app owns the tables, the SQL here follows the JPQL of
+ * TicketRepository and CommentRepository so both APIs return the same rows.
+ */
+@Repository
+public class TicketReadRepository {
+
+    // Request sort properties (TicketDTO field names) and their columns, anything else is rejected
+    public static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "title", "t.title",
+            "creationDate", "t.creation_date",
+            "status", "t.status",
+            "category", "t.category",
+            "priority", "t.priority",
+            "assignedAt", "t.assigned_at",
+            "commentCount", "t.comment_count",
+            "lastActivityAt", "t.last_activity_at");
+
+    private static final String TICKET_COLUMNS = """
+            SELECT t.id, t.title, t.description, t.creation_date, t.status, t.category, t.priority, t.assigned_at,
+                   t.comment_count, t.last_activity_at,
+                   c.id AS creator_id, c.email AS creator_email, c.role AS creator_role,
+                   a.id AS assignee_id, a.email AS assignee_email, a.role AS assignee_role,
+                   b.id AS assigner_id, b.email AS assigner_email, b.role AS assigner_role
+            FROM tickets t
+            LEFT JOIN users c ON c.id = t.user_id
+            LEFT JOIN users a ON a.id = t.assigned_to
+            LEFT JOIN users b ON b.id = t.assigned_by
+            """;
+
+    private static final String COMMENT_COLUMNS = """
+            SELECT c.id, c.content, c.created_at, a.id AS author_id, a.email AS author_email, a.role AS author_role
+            FROM comments c
+            LEFT JOIN users a ON a.id = c.user_id
+            WHERE c.ticket_id = :ticketId
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public TicketReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ReadUser> findUserByEmail(String email) {
+        return databaseClient.sql("SELECT id, role FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> new ReadUser(row.get("id", Long.class), UserRole.valueOf(row.get("role", String.class))))
+                .one();
+    }
+
+    // A page of the tickets in the user's scope, the count runs alongside the page query
+    public Mono<TicketPage> findTickets(ReadUser user, TicketFilter filter, String sortColumn, boolean descending,
+            int page, int size) {
+        List<String> conditions = new ArrayList<>();
+        switch (TicketScope.forRole(user.role())) {
+            case CREATED -> conditions.add("t.user_id = :userId");
+            case ASSIGNED -> conditions.add("t.assigned_to = :userId");
+            case ALL -> {
+            }
+        }
+        if (filter.search() != null) {
+            conditions.add("(LOWER(t.title) LIKE :search OR LOWER(t.description) LIKE :search)");
+        }
+        if (filter.status() != null) {
+            conditions.add("t.status = :status");
+        }
+        if (filter.priority() != null) {
+            conditions.add("t.priority = :priority");
+        }
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n";
+
+        Mono<List<TicketDTO>> tickets = bind(databaseClient.sql(TICKET_COLUMNS + where
+                + "ORDER BY " + sortColumn + (descending ? " DESC" : " ASC") + "\nLIMIT :limit OFFSET :offset"),
+                user, filter)
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(TicketReadRepository::toTicketDTO)
+                .all()
+                .collectList();
+        Mono<Long> total = bind(databaseClient.sql("SELECT COUNT(*) FROM tickets t\n" + where), user, filter)
+                .map(row -> row.get(0, Long.class))
+                .one();
+
+        return Mono.zip(tickets, total, (content, count) -> new TicketPage(content, page, size, count));
+    }
+
+    public Mono<TicketDTO> findTicket(Long ticketId) {
+        return databaseClient.sql(TICKET_COLUMNS + "WHERE t.id = :ticketId")
+                .bind("ticketId", ticketId)
+                .map(TicketReadRepository::toTicketDTO)
+                .one();
+    }
+
+    // Empty when the ticket does not exist, an empty Optional inside when it has no creator
+    public Mono<Optional<Long>> findCreatorId(Long ticketId) {
+        return databaseClient.sql("SELECT user_id FROM tickets WHERE id = :ticketId")
+                .bind("ticketId", ticketId)
+                .map(row -> Optional.ofNullable(row.get("user_id", Long.class)))
+                .one();
+    }
+
+    // Comments in (createdAt, id) order after the given position, limit null reads them all
+    public Flux<CommentDTO> findComments(Long ticketId, Instant afterCreatedAt, Long afterId, Integer limit) {
+        String sql = COMMENT_COLUMNS
+                + (afterCreatedAt != null
+                        ? "AND (c.created_at > :afterCreatedAt OR (c.created_at = :afterCreatedAt AND c.id > :afterId))\n"
+                        : "")
+                + "ORDER BY c.created_at, c.id"
+                + (limit != null ? "\nLIMIT :limit" : "");
+        GenericExecuteSpec spec = databaseClient.sql(sql).bind("ticketId", ticketId);
+        if (afterCreatedAt != null) {
+            spec = spec.bind("afterCreatedAt", LocalDateTime.ofInstant(afterCreatedAt, ZoneOffset.UTC))
+                    .bind("afterId", afterId);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec.map(TicketReadRepository::toCommentDTO).all();
+    }
+
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, ReadUser user, TicketFilter filter) {
+        if (TicketScope.forRole(user.role()) != TicketScope.ALL) {
+            spec = spec.bind("userId", user.id());
+        }
+        if (filter.search() != null) {
+            spec = spec.bind("search", "%" + filter.search().toLowerCase() + "%");
+        }
+        if (filter.status() != null) {
+            spec = spec.bind("status", filter.status().name());
+        }
+        if (filter.priority() != null) {
+            spec = spec.bind("priority", filter.priority().name());
+        }
+        return spec;
+    }
+
+    private static TicketDTO toTicketDTO(Readable row) {
+        TicketDTO dto = new TicketDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setTitle(row.get("title", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setCreationDate(toLocal(row.get("creation_date", LocalDateTime.class)));
+        dto.setStatus(toEnum(Status.class, row.get("status", String.class)));
+        dto.setCategory(toEnum(Category.class, row.get("category", String.class)));
+        dto.setPriority(toEnum(Priority.class, row.get("priority", String.class)));
+        dto.setAssignedAt(toLocal(row.get("assigned_at", LocalDateTime.class)));
+        Long commentCount = row.get("comment_count", Long.class);
+        dto.setCommentCount(commentCount != null ? commentCount : 0);
+        dto.setLastActivityAt(toLocal(row.get("last_activity_at", LocalDateTime.class)));
+        dto.setCreatedBy(toUser(row, "creator"));
+        dto.setAssignedTo(toUser(row, "assignee"));
+        dto.setAssignedBy(toUser(row, "assigner"));
+        return dto;
+    }
+
+    private static UserBasicDTO toUser(Readable row, String prefix) {
+        Long id = row.get(prefix + "_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        return new UserBasicDTO(id, row.get(prefix + "_email", String.class),
+                toEnum(UserRole.class, row.get(prefix + "_role", String.class)));
+    }
+
+    private static CommentDTO toCommentDTO(Readable row) {
+        CommentDTO dto = new CommentDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setContent(row.get("content", String.class));
+        dto.setCreatedAt(toLocal(row.get("created_at", LocalDateTime.class)));
+        Long authorId = row.get("author_id", Long.class);
+        if (authorId != null) {
+            dto.setAuthor(new CommentDTO.CommentAuthorDTO(authorId, row.get("author_email", String.class),
+                    toEnum(UserRole.class, row.get("author_role", String.class))));
+        }
+        return dto;
+    }
+
+    /*
+     * Hibernate writes the entities' Instants as UTC into the TIMESTAMP columns
+     * and the servlet DTOs show them in the JVM's zone, so the same conversion
+     * happens here.
+     */
+    private static LocalDateTime toLocal(LocalDateTime utc) {
+        return utc != null ? utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                : null;
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+}
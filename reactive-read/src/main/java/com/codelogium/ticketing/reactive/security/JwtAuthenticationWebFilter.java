@@ -0,0 +1,55 @@
+package com.codelogium.ticketing.reactive.security;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codelogium.ticketing.security.JwtTokens;
+
+import reactor.core.publisher.Mono;
+
+/*
+ * Reactive counterpart of JWTAuthorizationFilter. Verification is CPU only,
+ * so it runs inline on the event loop; the authentication is carried in the
+ * Reactor context instead of a thread-local.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JsonErrorWriter errorWriter;
+
+    JwtAuthenticationWebFilter(JsonErrorWriter errorWriter) {
+        this.errorWriter = errorWriter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!JwtTokens.isBearer(header)) {
+            return chain.filter(exchange);
+        }
+
+        DecodedJWT token;
+        try {
+            token = JwtTokens.verify(header);
+        } catch (JWTVerificationException e) {
+            return errorWriter.write(exchange, HttpStatus.FORBIDDEN, "JWT token is invalid or expired");
+        }
+
+        List<SimpleGrantedAuthority> authorities = JwtTokens.authorities(token).stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                token.getSubject(), token.getToken(), authorities);
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+}
@@ -0,0 +1,21 @@
+package com.codelogium.ticketing.reactive.service;
+
+import com.codelogium.ticketing.dto.CommentPage;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.reactive.repository.ReadUser;
+import com.codelogium.ticketing.reactive.repository.TicketFilter;
+import com.codelogium.ticketing.reactive.repository.TicketPage;
+
+import reactor.core.publisher.Mono;
+
+public interface TicketReadService {
+
+    Mono<ReadUser> retrieveUser(String email);
+
+    Mono<TicketPage> retrieveTickets(ReadUser user, TicketFilter filter, String sortBy, String sortDir, int page,
+            int size);
+
+    Mono<TicketDTO> retrieveTicket(Long ticketId, ReadUser user);
+
+    Mono<CommentPage> retrieveComments(Long ticketId, ReadUser user, Integer limit, String after);
+}
@@ -0,0 +1,91 @@
+package com.codelogium.ticketing.reactive.service;
+
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.CommentPage;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+import com.codelogium.ticketing.reactive.repository.ReadUser;
+import com.codelogium.ticketing.reactive.repository.TicketFilter;
+import com.codelogium.ticketing.reactive.repository.TicketPage;
+import com.codelogium.ticketing.reactive.repository.TicketReadRepository;
+import com.codelogium.ticketing.security.rbac.TicketScope;
+import com.codelogium.ticketing.service.CommentCursor;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@Service
+@AllArgsConstructor
+public class TicketReadServiceImp implements TicketReadService {
+
+    // Same cap as the servlet CommentServiceImp
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final TicketReadRepository ticketReadRepository;
+
+    @Override
+    public Mono<ReadUser> retrieveUser(String email) {
+        return ticketReadRepository.findUserByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User with email " + email + " not found")));
+    }
+
+    @Override
+    public Mono<TicketPage> retrieveTickets(ReadUser user, TicketFilter filter, String sortBy, String sortDir,
+            int page, int size) {
+        String sortColumn = TicketReadRepository.SORT_COLUMNS.get(sortBy);
+        if (sortColumn == null) {
+            return Mono.error(new IllegalArgumentException("Tickets cannot be sorted by " + sortBy));
+        }
+        if (page < 0 || size < 1) {
+            return Mono.error(new IllegalArgumentException("Page must not be negative and size must be at least 1"));
+        }
+        return ticketReadRepository.findTickets(user, filter, sortColumn, sortDir.equalsIgnoreCase("desc"), page,
+                size);
+    }
+
+    // Admins and support agents read any ticket, users get a 404 for tickets that are not theirs
+    @Override
+    public Mono<TicketDTO> retrieveTicket(Long ticketId, ReadUser user) {
+        return ticketReadRepository.findTicket(ticketId)
+                .filter(ticket -> TicketScope.canRead(user.role(), user.id(),
+                        ticket.getCreatedBy() != null ? ticket.getCreatedBy().getId() : null))
+                .switchIfEmpty(Mono.error(() -> ticketNotFound(ticketId)));
+    }
+
+    @Override
+    public Mono<CommentPage> retrieveComments(Long ticketId, ReadUser user, Integer limit, String after) {
+        // Decoded before any query, a bad cursor is a 400 whatever the ticket
+        CommentCursor cursor = after == null || after.isBlank() ? null : CommentCursor.decode(after);
+        // One extra row tells whether another page follows without a count query
+        Integer pageSize = limit == null ? null : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE) + 1;
+
+        return ticketReadRepository.findCreatorId(ticketId)
+                .filter(creatorId -> TicketScope.canRead(user.role(), user.id(), creatorId.orElse(null)))
+                .switchIfEmpty(Mono.error(() -> ticketNotFound(ticketId)))
+                .flatMap(creatorId -> ticketReadRepository.findComments(ticketId,
+                        cursor != null ? cursor.createdAt() : null, cursor != null ? cursor.id() : null, pageSize)
+                        .collectList())
+                .map(comments -> toPage(comments, pageSize));
+    }
+
+    private static CommentPage toPage(List<CommentDTO> comments, Integer pageSize) {
+        if (pageSize == null || comments.size() < pageSize) {
+            return new CommentPage(comments, null);
+        }
+        comments = comments.subList(0, comments.size() - 1);
+        CommentDTO last = comments.get(comments.size() - 1);
+        String nextCursor = new CommentCursor(last.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant(),
+                last.getId()).encode();
+        return new CommentPage(comments, nextCursor);
+    }
+
+    private static ResourceNotFoundException ticketNotFound(Long ticketId) {
+        // The servlet app builds this message from the Ticket entity, which is not on this classpath
+        return new ResourceNotFoundException("The ticket with the id " + ticketId + " is not found");
+    }
+}
@@ -0,0 +1,34 @@
+package com.codelogium.ticketing.reactive.web;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.codelogium.ticketing.exception.ErrorResponse;
+import com.codelogium.ticketing.exception.InvalidCursorException;
+import com.codelogium.ticketing.exception.ResourceNotFoundException;
+
+// The servlet ApplicationExceptionHandler's responses for the errors a read can raise
+@RestControllerAdvice
+public class ReadExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(List.of(e.getMessage())));
+    }
+
+    @ExceptionHandler({ InvalidCursorException.class, IllegalArgumentException.class })
+    public ResponseEntity<ErrorResponse> handleBadRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(List.of(e.getMessage())));
+    }
+
+    // Unparsable page, size, status or priority parameters
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(List.of(e.getReason())));
+    }
+}
@@ -0,0 +1,81 @@
+package com.codelogium.ticketing.reactive.web;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.dto.TicketDTO;
+import com.codelogium.ticketing.entity.enums.Priority;
+import com.codelogium.ticketing.entity.enums.Status;
+import com.codelogium.ticketing.reactive.repository.TicketFilter;
+import com.codelogium.ticketing.reactive.service.TicketReadService;
+
+import lombok.AllArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/*
+ * Reactive versions of the servlet app's ticket reads, same paths, parameters
+ * and response bodies, so a proxy can send GET traffic here unchanged.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/tickets", produces = MediaType.APPLICATION_JSON_VALUE)
+public class TicketReadController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final TicketReadService ticketReadService;
+
+    @GetMapping
+    public Mono<Map<String, Object>> getTickets(
+            Principal principal,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Priority priority) {
+        TicketFilter filter = new TicketFilter(search, status, priority);
+        return ticketReadService.retrieveUser(principal.getName())
+                .flatMap(user -> ticketReadService.retrieveTickets(user, filter, sortBy, sortDir, page, size))
+                .map(ticketPage -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("tickets", ticketPage.tickets());
+                    response.put("currentPage", ticketPage.page());
+                    response.put("totalItems", ticketPage.totalItems());
+                    response.put("totalPages", ticketPage.totalPages());
+                    response.put("size", ticketPage.size());
+                    response.put("hasNext", ticketPage.hasNext());
+                    response.put("hasPrevious", ticketPage.hasPrevious());
+                    return response;
+                });
+    }
+
+    @GetMapping("/{ticketId}")
+    public Mono<TicketDTO> getTicket(Principal principal, @PathVariable Long ticketId) {
+        return ticketReadService.retrieveUser(principal.getName())
+                .flatMap(user -> ticketReadService.retrieveTicket(ticketId, user));
+    }
+
+    @GetMapping("/{ticketId}/comments")
+    public Mono<ResponseEntity<List<CommentDTO>>> getAllComments(Principal principal, @PathVariable Long ticketId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return ticketReadService.retrieveUser(principal.getName())
+                .flatMap(user -> ticketReadService.retrieveComments(ticketId, user, limit, after))
+                .map(page -> page.nextCursor() == null
+                        ? ResponseEntity.ok(page.comments())
+                        : ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.nextCursor()).body(page.comments()));
+    }
+}
@@ -0,0 +1,154 @@
+package com.codelogium.ticketing.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codelogium.ticketing.security.SecurityConstants;
+
+/*
+ * Loads the servlet app and this module, both already running against the
+ * same database, with 10,000 concurrent keep-alive clients. Reports p50 and
+ * p99 latency, and the JVM memory and live threads each server gained per
+ * open connection, read from /actuator/metrics with an admin token.
+ *
+ *   -Dbenchmark.servlet-url   (default http://localhost:8080)
+ *   -Dbenchmark.reactive-url  (default http://localhost:8081)
+ *   -Dbenchmark.email         admin to sign the token for (default admin@ticketing.com)
+ *   -Dbenchmark.clients, -Dbenchmark.requests-per-client, -Dbenchmark.path
+ *
+ * Both servers and this JVM need a file descriptor limit above the client count (ulimit -n).
+ */
+@Tag("benchmark")
+public class KeepAliveLoadTest {
+
+    private static final String SERVLET_URL = System.getProperty("benchmark.servlet-url", "http://localhost:8080");
+    private static final String REACTIVE_URL = System.getProperty("benchmark.reactive-url", "http://localhost:8081");
+    private static final String EMAIL = System.getProperty("benchmark.email", "admin@ticketing.com");
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 10_000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests-per-client", 10);
+    private static final String PATH = System.getProperty("benchmark.path", "/tickets?size=20");
+
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"statistic\":\"VALUE\",\"value\":([0-9.E+-]+)");
+
+    // Run with: mvn test -Pbenchmark, after starting both apps
+    @Test
+    void benchmarkKeepAliveClients() {
+        String token = SecurityConstants.BEARER + JWT.create()
+                .withSubject(EMAIL)
+                .withClaim("authorities", List.of("ADMIN"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.TOKEN_EXPIRATION))
+                .sign(Algorithm.HMAC512(SecurityConstants.SECRET_KEY));
+
+        Result servlet = measure("servlet", SERVLET_URL, token);
+        Result reactive = measure("reactive", REACTIVE_URL, token);
+
+        System.out.printf("%d keep-alive clients x %d requests on %s%n", CLIENTS, REQUESTS_PER_CLIENT, PATH);
+        System.out.printf("%-10s %8s %8s %8s %14s %14s %8s%n", "server", "ok", "p50 ms", "p99 ms", "bytes/conn",
+                "threads/conn", "failed");
+        for (Result result : List.of(servlet, reactive)) {
+            System.out.printf("%-10s %8d %8.1f %8.1f %14.0f %14.3f %8d%n", result.server(), result.succeeded(),
+                    result.p50Millis(), result.p99Millis(), result.bytesPerConnection(), result.threadsPerConnection(),
+                    result.failed());
+        }
+    }
+
+    private Result measure(String server, String baseUrl, String token) {
+        // One client per server, its pool keeps every connection open between requests
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATH))
+                .header(SecurityConstants.AUTHORIZATION, token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        assertEquals(200, client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).join().statusCode(),
+                server + " did not answer " + baseUrl + PATH);
+
+        run(client, request, 200, REQUESTS_PER_CLIENT);
+        double memoryBefore = metric(client, baseUrl, "jvm.memory.used", token);
+        double threadsBefore = metric(client, baseUrl, "jvm.threads.live", token);
+
+        Run run = run(client, request, CLIENTS, REQUESTS_PER_CLIENT);
+
+        // Sampled while the clients' connections are still open and idle
+        double memoryAfter = metric(client, baseUrl, "jvm.memory.used", token);
+        double threadsAfter = metric(client, baseUrl, "jvm.threads.live", token);
+        long[] latencies = Arrays.copyOf(run.latencies(), run.succeeded());
+        Arrays.sort(latencies);
+        assertTrue(latencies.length > 0, server + " answered no request");
+        return new Result(server, run.succeeded(), run.failed(), percentile(latencies, 0.50),
+                percentile(latencies, 0.99), (memoryAfter - memoryBefore) / CLIENTS,
+                (threadsAfter - threadsBefore) / CLIENTS);
+    }
+
+    // Every client sends its requests one after another on its own connection, all clients at the same time
+    private Run run(HttpClient client, HttpRequest request, int clients, int requestsPerClient) {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] clientRuns = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            clientRuns[i] = send(client, request, requestsPerClient, latencies, succeeded, failed);
+        }
+        CompletableFuture.allOf(clientRuns).join();
+        return new Run(latencies, succeeded.get(), failed.get());
+    }
+
+    private CompletableFuture<Void> send(HttpClient client, HttpRequest request, int remaining, long[] latencies,
+            AtomicInteger succeeded, AtomicInteger failed) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (error == null && response.statusCode() == 200) {
+                        latencies[succeeded.getAndIncrement()] = System.nanoTime() - start;
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> send(client, request, remaining - 1, latencies, succeeded, failed));
+    }
+
+    private double metric(HttpClient client, String baseUrl, String name, String token) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name))
+                .header(SecurityConstants.AUTHORIZATION, token)
+                .build();
+        HttpResponse<String> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).join();
+        Matcher matcher = METRIC_VALUE.matcher(response.body());
+        assertTrue(matcher.find(), "no " + name + " from " + baseUrl + ": " + response.statusCode());
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Run(long[] latencies, int succeeded, int failed) {
+    }
+
+    private record Result(String server, int succeeded, int failed, double p50Millis, double p99Millis,
+            double bytesPerConnection, double threadsPerConnection) {
+    }
+}
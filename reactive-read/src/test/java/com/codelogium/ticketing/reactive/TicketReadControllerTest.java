@@ -0,0 +1,244 @@
+package com.codelogium.ticketing.reactive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codelogium.ticketing.dto.CommentDTO;
+import com.codelogium.ticketing.security.SecurityConstants;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+
+// Runs the servlet app's Flyway migrations on H2 in PostgreSQL mode, so the SQL is checked against the real schema
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        ReactiveReadApplication.CONFIG_NAME,
+        "spring.r2dbc.url=r2dbc:h2:mem:///reads;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/migration/V1__Initial_schema.sql,"
+                + "classpath:db/migration/V2__Audit_contents.sql,classpath:db/migration/V3__User_deletion_jobs.sql,"
+                + "classpath:db/migration/V4__Comment_pagination_index.sql,classpath:db/migration/V5__Ticket_activity.sql,"
+                + "classpath:db/migration/V7__Ticket_version.sql,classpath:db/migration/V8__Align_schema_with_entities.sql,"
+                + "classpath:db/migration/V9__Query_indexes.sql"
+})
+// Closes the context after the class, so the Netty server and client loops are disposed with it
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TicketReadControllerTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    private Long reporterId;
+    private Long otherId;
+    private Long agentId;
+    private Long reporterTicketId;
+    private Long otherTicketId;
+
+    @BeforeEach
+    void setUp() {
+        execute("DELETE FROM comments");
+        execute("DELETE FROM tickets");
+        execute("DELETE FROM users");
+        reporterId = insertUser("reporter@example.com", "USER");
+        otherId = insertUser("other@example.com", "USER");
+        agentId = insertUser("agent@example.com", "SUPPORT_AGENT");
+        insertUser("admin@example.com", "ADMIN");
+
+        reporterTicketId = insertTicket("Printer jammed", reporterId, agentId);
+        insertTicket("Monitor flickers", reporterId, null);
+        otherTicketId = insertTicket("VPN drops", otherId, null);
+        for (int i = 0; i < 5; i++) {
+            execute("INSERT INTO comments (content, created_at, ticket_id, user_id) VALUES ('Update " + i + "', '"
+                    + CREATED.plusMinutes(i) + "', " + reporterTicketId + ", " + agentId + ")");
+        }
+    }
+
+    // DB_CLOSE_DELAY keeps the in-memory database open past its last connection, so drop it explicitly
+    @AfterAll
+    void releaseDatabase() {
+        execute("SHUTDOWN");
+        if (connectionFactory instanceof ConnectionPool pool) {
+            pool.dispose();
+        }
+    }
+
+    @Test
+    void shouldScopeTheListToTheRole() {
+        assertEquals(2, totalItems("reporter@example.com", "USER"));
+        assertEquals(1, totalItems("agent@example.com", "SUPPORT_AGENT"));
+        assertEquals(3, totalItems("admin@example.com", "ADMIN"));
+    }
+
+    @Test
+    void shouldPageAndFilterLikeTheServletApi() {
+        webTestClient.get().uri("/tickets?size=1&sortBy=title&sortDir=asc")
+                .header(SecurityConstants.AUTHORIZATION, bearer("reporter@example.com", "USER"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.tickets.length()").isEqualTo(1)
+                .jsonPath("$.tickets[0].title").isEqualTo("Monitor flickers")
+                .jsonPath("$.tickets[0].createdBy.email").isEqualTo("reporter@example.com")
+                .jsonPath("$.totalPages").isEqualTo(2)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.hasPrevious").isEqualTo(false);
+
+        webTestClient.get().uri("/tickets?search=PRINTER&status=NEW")
+                .header(SecurityConstants.AUTHORIZATION, bearer("admin@example.com", "ADMIN"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalItems").isEqualTo(1)
+                .jsonPath("$.tickets[0].assignedTo.email").isEqualTo("agent@example.com");
+    }
+
+    @Test
+    void shouldRejectUnknownSortProperties() {
+        webTestClient.get().uri("/tickets?sortBy=password")
+                .header(SecurityConstants.AUTHORIZATION, bearer("admin@example.com", "ADMIN"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.messages[0]").isEqualTo("Tickets cannot be sorted by password");
+    }
+
+    @Test
+    void shouldHideOtherUsersTickets() {
+        webTestClient.get().uri("/tickets/{id}", reporterTicketId)
+                .header(SecurityConstants.AUTHORIZATION, bearer("reporter@example.com", "USER"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Printer jammed")
+                // Stored as UTC, rendered in the JVM's zone like the servlet DTOs
+                .jsonPath("$.creationDate").isEqualTo(CREATED.atOffset(ZoneOffset.UTC)
+                        .atZoneSameInstant(ZoneId.systemDefault()).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        webTestClient.get().uri("/tickets/{id}", otherTicketId)
+                .header(SecurityConstants.AUTHORIZATION, bearer("reporter@example.com", "USER"))
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/tickets/{id}/comments", otherTicketId)
+                .header(SecurityConstants.AUTHORIZATION, bearer("reporter@example.com", "USER"))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get().uri("/tickets/{id}", otherTicketId)
+                .header(SecurityConstants.AUTHORIZATION, bearer("agent@example.com", "SUPPORT_AGENT"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void shouldPageCommentsWithTheCursor() {
+        EntityExchangeResult<List<CommentDTO>> first = comments("/tickets/{id}/comments?limit=3", reporterTicketId);
+        String cursor = first.getResponseHeaders().getFirst("X-Next-Cursor");
+        assertNotNull(cursor);
+        assertEquals(List.of("Update 0", "Update 1", "Update 2"), contents(first));
+
+        EntityExchangeResult<List<CommentDTO>> second = comments("/tickets/{id}/comments?limit=3&after=" + cursor,
+                reporterTicketId);
+        assertNull(second.getResponseHeaders().getFirst("X-Next-Cursor"));
+        assertEquals(List.of("Update 3", "Update 4"), contents(second));
+
+        webTestClient.get().uri("/tickets/{id}/comments?after=not-a-cursor", reporterTicketId)
+                .header(SecurityConstants.AUTHORIZATION, bearer("reporter@example.com", "USER"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldRequireAValidToken() {
+        webTestClient.get().uri("/tickets").exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.messages[0]").isEqualTo("Access denied: Authentication required");
+        webTestClient.get().uri("/tickets")
+                .header(SecurityConstants.AUTHORIZATION, SecurityConstants.BEARER + "not.a.token")
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.get().uri("/tickets")
+                .header(SecurityConstants.AUTHORIZATION, bearer("ghost@example.com", "USER"))
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/actuator/health").exchange().expectStatus().isOk();
+    }
+
+    private long totalItems(String email, String role) {
+        Map<String, Object> body = webTestClient.get().uri("/tickets")
+                .header(SecurityConstants.AUTHORIZATION, bearer(email, role))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .returnResult().getResponseBody();
+        return ((Number) body.get("totalItems")).longValue();
+    }
+
+    private EntityExchangeResult<List<CommentDTO>> comments(String uri, Long ticketId) {
+        return webTestClient.get().uri(uri, ticketId)
+                .header(SecurityConstants.AUTHORIZATION, bearer("reporter@example.com", "USER"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CommentDTO.class)
+                .returnResult();
+    }
+
+    private static List<String> contents(EntityExchangeResult<List<CommentDTO>> result) {
+        return result.getResponseBody().stream().map(CommentDTO::getContent).toList();
+    }
+
+    private static String bearer(String email, String role) {
+        return SecurityConstants.BEARER + JWT.create()
+                .withSubject(email)
+                .withClaim("authorities", List.of(role))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.TOKEN_EXPIRATION))
+                .sign(Algorithm.HMAC512(SecurityConstants.SECRET_KEY));
+    }
+
+    private Long insertUser(String email, String role) {
+        execute("INSERT INTO users (email, password, role, email_verified) VALUES ('" + email + "', 'secret1', '"
+                + role + "', true)");
+        return databaseClient.sql("SELECT id FROM users WHERE email = :email").bind("email", email)
+                .map(row -> row.get("id", Long.class)).one().block();
+    }
+
+    private Long insertTicket(String title, Long creatorId, Long assigneeId) {
+        execute("INSERT INTO tickets (title, description, creation_date, status, category, priority, user_id, "
+                + "assigned_to, comment_count, last_activity_at) VALUES ('" + title + "', 'Needs a look', '" + CREATED
+                + "', 'NEW', 'HARDWARE', 'LOW', " + creatorId + ", " + assigneeId + ", 0, '" + CREATED + "')");
+        return databaseClient.sql("SELECT id FROM tickets WHERE title = :title").bind("title", title)
+                .map(row -> row.get("id", Long.class)).one().block();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}